@@ -0,0 +1,52 @@
+package com.sdl.lt.lc.json.streaming;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+/**
+ * Holds the {@link NumericStatistics} of all the {@link NumericAggregation}'s computed in one pass by
+ * {@link ReadJsonProcessor#aggregate(java.util.List)}
+ *
+ * @author anegruti
+ * @since 11/10/2022
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class AggregationSummary {
+
+    private final Map<String, NumericStatistics> aggregations;
+
+    /**
+     * @throws IllegalArgumentException if two aggregations have the same name
+     */
+    static AggregationSummary of(Collection<NumericStatistics> statistics) {
+        Map<String, NumericStatistics> byName = new LinkedHashMap<>();
+        for (NumericStatistics aggregated : statistics) {
+            if (byName.putIfAbsent(aggregated.getName(), aggregated) != null) {
+                throw new IllegalArgumentException("Duplicate aggregation name " + aggregated.getName());
+            }
+        }
+
+        return new AggregationSummary(byName);
+    }
+
+    /**
+     * @param name the name of the aggregation
+     * @return the {@link NumericStatistics} of the aggregation with the provided name
+     * @throws NoSuchElementException if there is no aggregation with the provided name
+     */
+    public NumericStatistics get(String name) {
+        return Optional.ofNullable(aggregations.get(name))
+                .orElseThrow(() -> new NoSuchElementException("No aggregation named " + name));
+    }
+
+    public Collection<NumericStatistics> getAll() {
+        return aggregations.values();
+    }
+
+}
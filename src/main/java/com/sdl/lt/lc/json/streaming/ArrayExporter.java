@@ -0,0 +1,520 @@
+package com.sdl.lt.lc.json.streaming;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Exports the elements of an array as rows, one column for every relative path, either as CSV or in a simple columnar
+ * binary layout. Values are read straight from the tokens, elements are never bound. A value that is an object or an
+ * array is exported as its JSON text, a missing value as an empty cell.
+ *
+ * Column paths are field names separated by dots, such as "owner.username", starting from the element.
+ *
+ * In the columnar layout every column is written to its own {@link OutputStream} as a sequence of blocks. A block
+ * starts with its number of rows as an int, followed by one tag byte for every row and then by the values of the rows
+ * in order: 8 bytes for {@link #LONG} and {@link #DOUBLE}, the length as an int followed by the UTF-8 bytes for
+ * {@link #STRING}, {@link #BIG_NUMBER} and {@link #JSON}, nothing for the other tags. Blocks of different columns are
+ * encoded and written in parallel.
+ *
+ * @author anegruti
+ * @since 12/10/2022
+ */
+public class ArrayExporter {
+
+    public static final byte MISSING = 0;
+    public static final byte NULL = 1;
+    public static final byte TRUE = 2;
+    public static final byte FALSE = 3;
+    public static final byte LONG = 4;
+    public static final byte DOUBLE = 5;
+    public static final byte STRING = 6;
+    public static final byte BIG_NUMBER = 7;
+    public static final byte JSON = 8;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final List<String> columns;
+    private final Column root;
+    private final Writer csv;
+    private final char delimiter;
+    private final boolean header;
+    private final Function<String, OutputStream> columnOutputs;
+    private final int blockSize;
+    private final int parallelism;
+    private long rowCount = 0;
+
+    private ArrayExporter(Builder builder) {
+        this.columns = List.copyOf(builder.columns);
+        this.root = Column.of(columns);
+        this.csv = builder.csv;
+        this.delimiter = builder.delimiter;
+        this.header = builder.header;
+        this.columnOutputs = builder.columnOutputs;
+        this.blockSize = builder.blockSize;
+        this.parallelism = builder.parallelism;
+    }
+
+    /**
+     * @param columns the paths of the columns, starting from the element
+     */
+    public static Builder builder(List<String> columns) {
+        return new Builder(Objects.requireNonNull(columns));
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Starts exporting one array. Closing the run writes what is left and flushes the outputs, columnar outputs being
+     * closed as well.
+     */
+    Run start() {
+        return csv != null ? new CsvRun() : new ColumnarRun();
+    }
+
+    abstract class Run implements AutoCloseable {
+
+        final Row row = new Row(columns.size());
+
+        /**
+         * Exports the element the parser is on
+         *
+         * @implNote After the call the cursor of the parser is on the last token of the element
+         */
+        @SneakyThrows
+        void accept(JsonParser parser) {
+            row.clear();
+            if (parser.hasToken(JsonToken.START_OBJECT)) {
+                readObject(parser, root);
+            } else {
+                parser.skipChildren();
+            }
+
+            write(row);
+            rowCount++;
+        }
+
+        private void readObject(JsonParser parser, Column column) throws IOException {
+            while (JsonToken.FIELD_NAME.equals(parser.nextToken())) {
+                Column child = column.children.get(parser.getCurrentName());
+                JsonToken token = parser.nextToken();
+
+                if (child == null) {
+                    parser.skipChildren();
+                } else if (child.index >= 0) {
+                    read(parser, token, child.index);
+                } else if (JsonToken.START_OBJECT.equals(token)) {
+                    readObject(parser, child);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+
+        private void read(JsonParser parser, JsonToken token, int index) throws IOException {
+            switch (token) {
+                case VALUE_NULL:
+                    row.set(index, NULL, 0, null);
+                    break;
+                case VALUE_TRUE:
+                    row.set(index, TRUE, 0, null);
+                    break;
+                case VALUE_FALSE:
+                    row.set(index, FALSE, 0, null);
+                    break;
+                case VALUE_STRING:
+                    row.set(index, STRING, 0, parser.getText());
+                    break;
+                case VALUE_NUMBER_INT:
+                case VALUE_NUMBER_FLOAT:
+                    readNumber(parser, token, index);
+                    break;
+                default:
+                    row.set(index, JSON, 0, jsonOf(parser));
+            }
+        }
+
+        void readNumber(JsonParser parser, JsonToken token, int index) throws IOException {
+            row.set(index, BIG_NUMBER, 0, parser.getText());
+        }
+
+        abstract void write(Row row) throws IOException;
+
+        @Override
+        public abstract void close();
+
+    }
+
+    private static String jsonOf(JsonParser parser) throws IOException {
+        StringWriter json = new StringWriter();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(json)) {
+            generator.copyCurrentStructure(parser);
+        }
+
+        return json.toString();
+    }
+
+    /**
+     * Writes every row as a line of CSV, numbers keeping the notation they had in the JSON
+     */
+    private class CsvRun extends Run {
+
+        private final StringBuilder line = new StringBuilder();
+
+        @SneakyThrows
+        private CsvRun() {
+            if (header) {
+                line.setLength(0);
+                for (int i = 0; i < columns.size(); i++) {
+                    appendCell(i, columns.get(i));
+                }
+                csv.write(line.append("\r\n").toString());
+            }
+        }
+
+        @Override
+        void write(Row row) throws IOException {
+            line.setLength(0);
+            for (int i = 0; i < columns.size(); i++) {
+                appendCell(i, row.tags[i] == STRING || row.tags[i] == JSON || row.tags[i] == BIG_NUMBER ? row.texts[i] : textOf(row.tags[i]));
+            }
+            csv.write(line.append("\r\n").toString());
+        }
+
+        private String textOf(byte tag) {
+            switch (tag) {
+                case TRUE:
+                    return "true";
+                case FALSE:
+                    return "false";
+                default:
+                    return "";
+            }
+        }
+
+        /**
+         * @implNote Cells holding the delimiter, a quote or a line break are quoted, quotes being doubled
+         */
+        private void appendCell(int index, String text) {
+            if (index > 0) {
+                line.append(delimiter);
+            }
+
+            boolean quoted = text.indexOf(delimiter) >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0;
+            if (quoted) {
+                line.append('"').append(text.replace("\"", "\"\"")).append('"');
+            } else {
+                line.append(text);
+            }
+        }
+
+        @Override
+        @SneakyThrows
+        public void close() {
+            csv.flush();
+        }
+
+    }
+
+    /**
+     * Gathers the rows column by column into blocks. A full block of every column is handed to the executor, the blocks
+     * of one column being chained so that they are written in order.
+     *
+     * @implNote A column has at most two blocks in memory: the one being filled and the one being written, filling
+     * waits for the previous block of the column to be written before handing over the next one
+     */
+    private class ColumnarRun extends Run {
+
+        private final ExecutorService executor = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread thread = new Thread(r, "json-column-writer-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        private final List<DataOutputStream> outputs = new ArrayList<>();
+        private final List<CompletableFuture<Void>> writes = new ArrayList<>();
+        private List<Block> blocks = newBlocks();
+        private int blockRows = 0;
+
+        private ColumnarRun() {
+            for (String column : columns) {
+                outputs.add(new DataOutputStream(new BufferedOutputStream(columnOutputs.apply(column))));
+                writes.add(CompletableFuture.completedFuture(null));
+            }
+        }
+
+        @Override
+        void readNumber(JsonParser parser, JsonToken token, int index) throws IOException {
+            JsonParser.NumberType type = parser.getNumberType();
+
+            if (JsonToken.VALUE_NUMBER_INT.equals(token) && type != JsonParser.NumberType.BIG_INTEGER) {
+                row.set(index, LONG, parser.getLongValue(), null);
+            } else if (JsonToken.VALUE_NUMBER_FLOAT.equals(token)) {
+                row.set(index, DOUBLE, Double.doubleToRawLongBits(parser.getDoubleValue()), null);
+            } else {
+                super.readNumber(parser, token, index);
+            }
+        }
+
+        @Override
+        void write(Row row) {
+            for (int i = 0; i < columns.size(); i++) {
+                blocks.get(i).add(blockRows, row.tags[i], row.numbers[i], row.texts[i]);
+            }
+
+            if (++blockRows == blockSize) {
+                handOver();
+            }
+        }
+
+        private void handOver() {
+            List<Block> full = blocks;
+            int rows = blockRows;
+
+            for (int i = 0; i < columns.size(); i++) {
+                DataOutputStream output = outputs.get(i);
+                Block block = full.get(i);
+
+                await(writes.get(i));
+                writes.set(i, CompletableFuture.runAsync(() -> block.writeTo(output, rows), executor));
+            }
+
+            blocks = newBlocks();
+            blockRows = 0;
+        }
+
+        private List<Block> newBlocks() {
+            List<Block> newBlocks = new ArrayList<>();
+            for (int i = 0; i < columns.size(); i++) {
+                newBlocks.add(new Block(blockSize));
+            }
+
+            return newBlocks;
+        }
+
+        @Override
+        @SneakyThrows
+        public void close() {
+            try {
+                if (blockRows > 0) {
+                    handOver();
+                }
+                for (CompletableFuture<Void> write : writes) {
+                    await(write);
+                }
+            } finally {
+                executor.shutdownNow();
+                for (DataOutputStream output : outputs) {
+                    output.close();
+                }
+            }
+        }
+
+        @SneakyThrows
+        private void await(CompletableFuture<Void> write) {
+            try {
+                write.join();
+            } catch (CompletionException e) {
+                throw e.getCause();
+            }
+        }
+
+    }
+
+    /**
+     * The values of one element, by column
+     */
+    private static class Row {
+
+        private final byte[] tags;
+        private final long[] numbers;
+        private final String[] texts;
+
+        private Row(int columnCount) {
+            this.tags = new byte[columnCount];
+            this.numbers = new long[columnCount];
+            this.texts = new String[columnCount];
+        }
+
+        private void clear() {
+            Arrays.fill(tags, MISSING);
+            Arrays.fill(texts, null);
+        }
+
+        private void set(int index, byte tag, long number, String text) {
+            tags[index] = tag;
+            numbers[index] = number;
+            texts[index] = text;
+        }
+
+    }
+
+    /**
+     * The values of one column for a block of rows, held in primitive arrays
+     */
+    private static class Block {
+
+        private final byte[] tags;
+        private final long[] numbers;
+        private final String[] texts;
+
+        private Block(int size) {
+            this.tags = new byte[size];
+            this.numbers = new long[size];
+            this.texts = new String[size];
+        }
+
+        private void add(int row, byte tag, long number, String text) {
+            tags[row] = tag;
+            numbers[row] = number;
+            texts[row] = text;
+        }
+
+        @SneakyThrows
+        private void writeTo(DataOutputStream output, int rows) {
+            output.writeInt(rows);
+            output.write(tags, 0, rows);
+
+            for (int row = 0; row < rows; row++) {
+                if (tags[row] == LONG || tags[row] == DOUBLE) {
+                    output.writeLong(numbers[row]);
+                } else if (texts[row] != null) {
+                    byte[] text = texts[row].getBytes(StandardCharsets.UTF_8);
+                    output.writeInt(text.length);
+                    output.write(text);
+                }
+            }
+        }
+
+    }
+
+    /**
+     * A node of the tree of column paths, a leaf knowing the index of its column
+     */
+    private static class Column {
+
+        private final Map<String, Column> children = new HashMap<>();
+        private int index = -1;
+
+        private static Column of(List<String> paths) {
+            Column root = new Column();
+
+            for (int i = 0; i < paths.size(); i++) {
+                Column column = root;
+                for (String fieldName : paths.get(i).split("\\.")) {
+                    if (column.index >= 0) {
+                        throw new IllegalArgumentException("Column " + paths.get(i) + " is inside another column");
+                    }
+                    column = column.children.computeIfAbsent(fieldName, name -> new Column());
+                }
+                if (column.index >= 0 || !column.children.isEmpty()) {
+                    throw new IllegalArgumentException("Column " + paths.get(i) + " is repeated or holds another column");
+                }
+                column.index = i;
+            }
+
+            return root;
+        }
+
+    }
+
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class Builder {
+
+        private final List<String> columns;
+        private Writer csv;
+        private char delimiter = ',';
+        private boolean header = true;
+        private Function<String, OutputStream> columnOutputs;
+        private int blockSize = 4096;
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * Writes the rows as CSV to the provided {@link Writer}, which is flushed but not closed
+         */
+        public Builder csv(Writer writer) {
+            this.csv = Objects.requireNonNull(writer);
+            return this;
+        }
+
+        public Builder delimiter(char delimiter) {
+            this.delimiter = delimiter;
+            return this;
+        }
+
+        /**
+         * Leaves out the line holding the column paths, written first by default
+         */
+        public Builder withoutHeader() {
+            this.header = false;
+            return this;
+        }
+
+        /**
+         * Writes every column in the columnar layout to the {@link OutputStream} returned for its path, closed once
+         * the array is exported
+         */
+        public Builder columnar(Function<String, OutputStream> columnOutputs) {
+            this.columnOutputs = Objects.requireNonNull(columnOutputs);
+            return this;
+        }
+
+        /**
+         * Number of rows of a columnar block. Defaults to 4096.
+         */
+        public Builder blockSize(int blockSize) {
+            this.blockSize = blockSize;
+            return this;
+        }
+
+        /**
+         * Number of threads writing columnar blocks. Defaults to the number of processors.
+         */
+        public Builder parallelism(int parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        public ArrayExporter build() {
+            if (columns.isEmpty()) {
+                throw new IllegalArgumentException("At least one column is needed");
+            }
+            if ((csv == null) == (columnOutputs == null)) {
+                throw new IllegalArgumentException("Exactly one of csv and columnar has to be chosen");
+            }
+            if (blockSize <= 0 || parallelism <= 0) {
+                throw new IllegalArgumentException("Block size and parallelism have to be positive");
+            }
+
+            return new ArrayExporter(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.sdl.lt.lc.json.streaming;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Enriches the elements of an array with the elements of a {@link JoinIndex} sharing their key.
+ * By default the fields of the indexed element are added to the element, replacing the fields of the same name.
+ * When a field name is provided the indexed element is added as the value of that field instead.
+ *
+ * With a left join elements without a match are kept as they are, with an inner join they are left out.
+ * Only objects are enriched, any other element being kept as it is.
+ *
+ * @author anegruti
+ * @since 12/8/2022
+ */
+public class ArrayJoiner {
+
+    private final List<String> keyPath;
+    private final JoinIndex index;
+    private final boolean inner;
+    private final String fieldName;
+    private long matchedCount = 0;
+    private long unmatchedCount = 0;
+
+    private ArrayJoiner(Builder builder) {
+        this.keyPath = builder.keyPath;
+        this.index = builder.index;
+        this.inner = builder.inner;
+        this.fieldName = builder.fieldName;
+    }
+
+    /**
+     * @param keyPath the field names leading to the key, starting from the element
+     * @param index the {@link JoinIndex} of the secondary source
+     */
+    public static Builder builder(List<String> keyPath, JoinIndex index) {
+        return new Builder(Objects.requireNonNull(keyPath), Objects.requireNonNull(index));
+    }
+
+    public long getMatchedCount() {
+        return matchedCount;
+    }
+
+    public long getUnmatchedCount() {
+        return unmatchedCount;
+    }
+
+    /**
+     * Writes the element enriched with its match, as it is or not at all when there is none
+     */
+    void join(JsonElementBuffer element, JsonWriter writer) {
+        JsonNode match = index.get(element.valueAt(keyPath));
+
+        if (match == null) {
+            unmatchedCount++;
+            if (!inner) {
+                writer.write(element);
+            }
+            return;
+        }
+
+        matchedCount++;
+        writer.write(element, fieldsOf(match));
+    }
+
+    private ObjectNode fieldsOf(JsonNode match) {
+        if (fieldName == null && match.isObject()) {
+            return (ObjectNode) match;
+        }
+
+        ObjectNode fields = JsonNodeFactory.instance.objectNode();
+        if (fieldName != null) {
+            fields.set(fieldName, match);
+        }
+        return fields;
+    }
+
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class Builder {
+
+        private final List<String> keyPath;
+        private final JoinIndex index;
+        private boolean inner = false;
+        private String fieldName;
+
+        /**
+         * Leaves out the elements without a match
+         */
+        public Builder inner() {
+            this.inner = true;
+            return this;
+        }
+
+        /**
+         * Adds the indexed element as the value of the provided field instead of adding its fields
+         */
+        public Builder into(String fieldName) {
+            this.fieldName = Objects.requireNonNull(fieldName);
+            return this;
+        }
+
+        public ArrayJoiner build() {
+            return new ArrayJoiner(this);
+        }
+
+    }
+
+}
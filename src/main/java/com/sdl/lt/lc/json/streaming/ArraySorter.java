@@ -0,0 +1,288 @@
+package com.sdl.lt.lc.json.streaming;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * Sorts the elements of an array by the value found at a key path, whatever the size of the array.
+ * Elements are kept as raw JSON bytes, they are never bound. Elements are gathered in memory up to the memory budget,
+ * then sorted and written to a temporary file as a sorted run. Once the whole array was read the runs are merged back.
+ *
+ * Numeric keys are compared as numbers, any other key by its text. Numbers come before texts, elements without a key
+ * come last. The sort is stable, elements with equal keys keep their original order.
+ *
+ * @author anegruti
+ * @since 11/25/2022
+ */
+public class ArraySorter {
+
+    private static final long ENTRY_OVERHEAD = 64;
+
+    private final List<String> keyPath;
+    private final boolean descending;
+    private final long memoryBudget;
+    private final Path tempDirectory;
+    private int spilledRunCount = 0;
+
+    private ArraySorter(Builder builder) {
+        this.keyPath = builder.keyPath;
+        this.descending = builder.descending;
+        this.memoryBudget = builder.memoryBudget;
+        this.tempDirectory = builder.tempDirectory;
+    }
+
+    /**
+     * @param keyPath the field names leading to the sort key, starting from the element
+     */
+    public static Builder builder(List<String> keyPath) {
+        return new Builder(Objects.requireNonNull(keyPath));
+    }
+
+    /**
+     * @return the number of sorted runs written to temporary files so far, 0 when every array fitted in memory
+     */
+    public int getSpilledRunCount() {
+        return spilledRunCount;
+    }
+
+    Run start() {
+        return new Run();
+    }
+
+    /**
+     * Sorts the elements of one array
+     *
+     * @implNote Every run file holds entries made of the key kind, the key, the length of the element and its bytes.
+     * Merging keeps one entry per run in a priority queue, ties being broken by the run order to keep the sort stable.
+     * Closing the run deletes its files.
+     */
+    class Run implements AutoCloseable {
+
+        private final List<Entry> entries = new ArrayList<>();
+        private final List<Path> runFiles = new ArrayList<>();
+        private final Comparator<Entry> order = Comparator.comparing(entry -> entry.key, SortKey.order(descending));
+        private long entriesSize = 0;
+
+        void add(JsonElementBuffer element) {
+            Entry entry = new Entry(SortKey.of(element.valueAt(keyPath)), element.toBytes());
+
+            entries.add(entry);
+            entriesSize += entry.size();
+
+            if (entriesSize >= memoryBudget) {
+                spill();
+            }
+        }
+
+        /**
+         * Hands the bytes of every element to the provided {@link Consumer}, in sorted order
+         */
+        @SneakyThrows
+        void forEachSorted(Consumer<byte[]> consumer) {
+            entries.sort(order);
+
+            if (runFiles.isEmpty()) {
+                entries.forEach(entry -> consumer.accept(entry.element));
+                return;
+            }
+
+            spill();
+            merge(consumer);
+        }
+
+        @SneakyThrows
+        private void spill() {
+            entries.sort(order);
+            Path runFile = Files.createTempFile(tempDirectory, "json-sort-run", ".bin");
+            runFiles.add(runFile);
+
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(runFile)))) {
+                for (Entry entry : entries) {
+                    entry.writeTo(output);
+                }
+            }
+
+            entries.clear();
+            entriesSize = 0;
+            spilledRunCount++;
+        }
+
+        private void merge(Consumer<byte[]> consumer) throws IOException {
+            List<RunReader> readers = new ArrayList<>();
+            PriorityQueue<RunReader> queue = new PriorityQueue<>(
+                    Comparator.<RunReader, Entry>comparing(reader -> reader.current, order)
+                            .thenComparingInt(reader -> reader.index)
+            );
+
+            try {
+                for (Path runFile : runFiles) {
+                    RunReader reader = new RunReader(readers.size(), runFile);
+                    readers.add(reader);
+                    if (reader.advance()) {
+                        queue.add(reader);
+                    }
+                }
+
+                while (!queue.isEmpty()) {
+                    RunReader reader = queue.poll();
+                    consumer.accept(reader.current.element);
+
+                    if (reader.advance()) {
+                        queue.add(reader);
+                    }
+                }
+            } finally {
+                for (RunReader reader : readers) {
+                    reader.input.close();
+                }
+            }
+        }
+
+        @Override
+        @SneakyThrows
+        public void close() {
+            entries.clear();
+            for (Path runFile : runFiles) {
+                Files.deleteIfExists(runFile);
+            }
+        }
+
+    }
+
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    private static class Entry {
+
+        private final SortKey key;
+        private final byte[] element;
+
+        long size() {
+            return ENTRY_OVERHEAD + element.length + key.size();
+        }
+
+        void writeTo(DataOutputStream output) throws IOException {
+            output.writeByte(key.getKind());
+            if (key.getKind() == SortKey.NUMBER) {
+                output.writeDouble(key.getNumber());
+            } else if (key.getKind() == SortKey.TEXT) {
+                byte[] text = key.getText().getBytes(StandardCharsets.UTF_8);
+                output.writeInt(text.length);
+                output.write(text);
+            }
+
+            output.writeInt(element.length);
+            output.write(element);
+        }
+
+        /**
+         * @return the next entry of the run or null once the end of the run is reached
+         */
+        static Entry readFrom(DataInputStream input) throws IOException {
+            int kind = input.read();
+            if (kind == -1) {
+                return null;
+            }
+
+            double number = 0;
+            String text = null;
+            if (kind == SortKey.NUMBER) {
+                number = input.readDouble();
+            } else if (kind == SortKey.TEXT) {
+                text = new String(readBytes(input), StandardCharsets.UTF_8);
+            }
+
+            return new Entry(new SortKey((byte) kind, number, text), readBytes(input));
+        }
+
+        private static byte[] readBytes(DataInputStream input) throws IOException {
+            byte[] bytes = new byte[input.readInt()];
+            input.readFully(bytes);
+
+            return bytes;
+        }
+
+    }
+
+    private static class RunReader {
+
+        private final int index;
+        private final DataInputStream input;
+        private Entry current;
+
+        private RunReader(int index, Path runFile) throws IOException {
+            this.index = index;
+            this.input = new DataInputStream(new BufferedInputStream(Files.newInputStream(runFile)));
+        }
+
+        boolean advance() throws IOException {
+            try {
+                current = Entry.readFrom(input);
+            } catch (EOFException e) {
+                throw new IOException("Sorted run ended in the middle of an entry", e);
+            }
+
+            return current != null;
+        }
+
+    }
+
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class Builder {
+
+        private final List<String> keyPath;
+        private boolean descending = false;
+        private long memoryBudget = 64L * 1024 * 1024;
+        private Path tempDirectory = Path.of(System.getProperty("java.io.tmpdir"));
+
+        /**
+         * Sorts in descending order of the key, elements without a key still coming last
+         */
+        public Builder descending() {
+            this.descending = true;
+            return this;
+        }
+
+        /**
+         * Approximate number of bytes of elements held in memory before a sorted run is written to a temporary file.
+         * Defaults to 64 MB.
+         */
+        public Builder memoryBudget(long memoryBudget) {
+            this.memoryBudget = memoryBudget;
+            return this;
+        }
+
+        /**
+         * Directory of the temporary files holding the sorted runs, the default temporary directory if not provided
+         */
+        public Builder tempDirectory(Path tempDirectory) {
+            this.tempDirectory = Objects.requireNonNull(tempDirectory);
+            return this;
+        }
+
+        public ArraySorter build() {
+            if (memoryBudget <= 0) {
+                throw new IllegalArgumentException("Memory budget has to be positive");
+            }
+
+            return new ArraySorter(this);
+        }
+
+    }
+
+}
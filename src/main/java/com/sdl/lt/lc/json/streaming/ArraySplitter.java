@@ -0,0 +1,311 @@
+package com.sdl.lt.lc.json.streaming;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Splits the elements of an array into many smaller JSON arrays, called shards.
+ * A shard is closed and the next one is opened as soon as it holds the maximum number of elements or reaches the
+ * maximum number of bytes, whichever comes first.
+ * Elements are copied as raw tokens, they are never bound.
+ *
+ * When partitioning by a key field every element goes to the partition given by the hash of its key, each partition
+ * rotating its own shards. Every partition is written by its own thread, fed through a bounded queue.
+ *
+ * @author anegruti
+ * @since 11/11/2022
+ */
+public class ArraySplitter {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    private static final Object END_OF_RUN = new Object();
+    private static final long QUEUE_POLL_MILLIS = 100;
+
+    private final ShardSupplier shardSupplier;
+    private final long maxElements;
+    private final long maxBytes;
+    private final List<String> keyPath;
+    private final int partitions;
+    private final int queueCapacity;
+    private final int[] shardSequences;
+    private final AtomicLong elementCount = new AtomicLong();
+    private final AtomicInteger shardCount = new AtomicInteger();
+
+    private ArraySplitter(Builder builder) {
+        this.shardSupplier = builder.shardSupplier;
+        this.maxElements = builder.maxElements;
+        this.maxBytes = builder.maxBytes;
+        this.keyPath = builder.keyPath;
+        this.partitions = builder.partitions;
+        this.queueCapacity = builder.queueCapacity;
+        this.shardSequences = new int[builder.partitions];
+    }
+
+    public static Builder builder(ShardSupplier shardSupplier) {
+        return new Builder(shardSupplier);
+    }
+
+    public long getElementCount() {
+        return elementCount.get();
+    }
+
+    public int getShardCount() {
+        return shardCount.get();
+    }
+
+    /**
+     * Starts the partition writers for one array. Subsequent runs continue the shard numbering of the previous ones.
+     */
+    Run start() {
+        return new Run();
+    }
+
+    /**
+     * Feeds the elements of one array to the partition writers.
+     * Closing the run waits for all the queued elements to be written and closes the last shard of every partition.
+     * Any failure of a writer is rethrown on the parsing thread.
+     */
+    class Run implements AutoCloseable {
+
+        private final ExecutorService executor = Executors.newFixedThreadPool(partitions, r -> {
+            Thread thread = new Thread(r, "json-shard-writer-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        private final List<BlockingQueue<Object>> queues = new ArrayList<>();
+        private final List<Future<?>> writers = new ArrayList<>();
+
+        private Run() {
+            for (int partition = 0; partition < partitions; partition++) {
+                BlockingQueue<Object> queue = new ArrayBlockingQueue<>(queueCapacity);
+                PartitionWriter writer = new PartitionWriter(partition, queue);
+
+                queues.add(queue);
+                writers.add(executor.submit(writer::run));
+            }
+        }
+
+        void accept(JsonElementBuffer element) {
+            put(partitionOf(element), element);
+        }
+
+        /**
+         * Waits for room in the queue of the partition, failing as soon as its writer has stopped
+         */
+        @SneakyThrows
+        private void put(int partition, Object element) {
+            Future<?> writer = writers.get(partition);
+
+            while (!queues.get(partition).offer(element, QUEUE_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (writer.isDone()) {
+                    await(writer);
+                    throw new IllegalStateException("Writer of partition " + partition + " stopped before the end of the array");
+                }
+            }
+        }
+
+        private int partitionOf(JsonElementBuffer element) {
+            if (partitions == 1) {
+                return 0;
+            }
+
+            JsonNode key = element.valueAt(keyPath);
+            int hash = key == null ? 0 : (key.isValueNode() ? key.asText() : key.toString()).hashCode();
+
+            return Math.floorMod(hash ^ (hash >>> 16), partitions);
+        }
+
+        @Override
+        @SneakyThrows
+        public void close() {
+            try {
+                for (int partition = 0; partition < partitions; partition++) {
+                    put(partition, END_OF_RUN);
+                }
+
+                for (Future<?> writer : writers) {
+                    await(writer);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        @SneakyThrows
+        private void await(Future<?> writer) {
+            try {
+                writer.get();
+            } catch (ExecutionException e) {
+                throw e.getCause();
+            }
+        }
+
+    }
+
+    /**
+     * Writes the elements of one partition, rotating its shards
+     */
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    private class PartitionWriter {
+
+        private final int partition;
+        private final BlockingQueue<Object> queue;
+        private CountingOutputStream output;
+        private JsonGenerator generator;
+        private long shardElements;
+
+        @SneakyThrows
+        void run() {
+            try {
+                while (true) {
+                    Object element = queue.take();
+                    if (element == END_OF_RUN) {
+                        break;
+                    }
+                    write((JsonElementBuffer) element);
+                }
+            } finally {
+                closeShard();
+            }
+        }
+
+        private void write(JsonElementBuffer element) throws IOException {
+            if (generator == null) {
+                openShard();
+            }
+
+            element.writeTo(generator);
+            shardElements++;
+            elementCount.incrementAndGet();
+
+            if (shardElements >= maxElements || output.count + generator.getOutputBuffered() >= maxBytes) {
+                closeShard();
+            }
+        }
+
+        private void openShard() throws IOException {
+            int shard;
+            synchronized (shardSequences) {
+                shard = shardSequences[partition]++;
+            }
+
+            output = new CountingOutputStream(shardSupplier.open(partition, shard));
+            generator = JSON_FACTORY.createGenerator(output);
+            generator.writeStartArray();
+            shardElements = 0;
+            shardCount.incrementAndGet();
+        }
+
+        private void closeShard() throws IOException {
+            if (generator == null) {
+                return;
+            }
+
+            generator.writeEndArray();
+            generator.close();
+            generator = null;
+        }
+
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+    }
+
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class Builder {
+
+        private final ShardSupplier shardSupplier;
+        private long maxElements = Long.MAX_VALUE;
+        private long maxBytes = Long.MAX_VALUE;
+        private List<String> keyPath = Collections.emptyList();
+        private int partitions = 1;
+        private int queueCapacity = 1024;
+
+        /**
+         * Maximum number of elements written to one shard
+         */
+        public Builder maxElements(long maxElements) {
+            this.maxElements = maxElements;
+            return this;
+        }
+
+        /**
+         * Number of bytes after which a shard is closed. The element crossing the limit is still written to the shard.
+         */
+        public Builder maxBytes(long maxBytes) {
+            this.maxBytes = maxBytes;
+            return this;
+        }
+
+        /**
+         * Distributes the elements over the given number of partitions by the hash of the value found at the key path
+         *
+         * @param keyPath the field names leading to the key, starting from the element
+         * @param partitions the number of partitions, each written by its own thread
+         */
+        public Builder partitionBy(List<String> keyPath, int partitions) {
+            this.keyPath = Objects.requireNonNull(keyPath);
+            this.partitions = partitions;
+            return this;
+        }
+
+        /**
+         * Number of elements that can wait to be written for each partition before the parsing thread blocks
+         */
+        public Builder queueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        public ArraySplitter build() {
+            if (maxElements <= 0 || maxBytes <= 0 || partitions <= 0 || queueCapacity <= 0) {
+                throw new IllegalArgumentException("Shard limits, partitions and queue capacity have to be positive");
+            }
+
+            return new ArraySplitter(this);
+        }
+
+    }
+
+}
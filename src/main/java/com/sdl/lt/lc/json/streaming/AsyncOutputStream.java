@@ -0,0 +1,290 @@
+package com.sdl.lt.lc.json.streaming;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An {@link OutputStream} whose bytes are written to the sink by another thread, so that a slow sink does not stall
+ * the thread producing the JSON. Bytes are gathered in a fixed pool of buffers, a full buffer being handed to the
+ * writing thread and recycled once written. When every buffer is in flight the producing thread waits, which bounds the
+ * memory used and slows the producer down to the pace of the sink.
+ *
+ * {@link #flush()} returns once every byte written so far reached the sink and the sink was flushed. {@link #close()}
+ * does the same and closes the sink. A failure of the sink is reported by the next write, flush or close.
+ *
+ * Used as the {@link OutputStream} of {@link JsonProcessorBuilder#initBuilder(java.io.InputStream, OutputStream)},
+ * closing the processor flushes and closes it.
+ *
+ * @author anegruti
+ * @since 12/1/2022
+ */
+public class AsyncOutputStream extends OutputStream {
+
+    private static final long FAILURE_CHECK_MILLIS = 100;
+
+    private final OutputStream sink;
+    private final BlockingQueue<byte[]> freeBuffers;
+    private final BlockingQueue<Chunk> chunks = new LinkedBlockingQueue<>();
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private volatile Throwable failure;
+    private byte[] current;
+    private int position = 0;
+    private boolean closed = false;
+
+    private AsyncOutputStream(Builder builder) {
+        this.sink = builder.sink;
+        this.freeBuffers = new ArrayBlockingQueue<>(builder.bufferCount);
+        for (int i = 0; i < builder.bufferCount; i++) {
+            freeBuffers.add(new byte[builder.bufferSize]);
+        }
+
+        Executor executor = builder.executor != null ? builder.executor : AsyncOutputStream::startDaemon;
+        executor.execute(this::drain);
+    }
+
+    /**
+     * @return an {@link AsyncOutputStream} with 4 buffers of 64 KB, written by a new daemon thread
+     */
+    public static AsyncOutputStream wrap(OutputStream sink) {
+        return builder(sink).build();
+    }
+
+    public static Builder builder(OutputStream sink) {
+        return new Builder(Objects.requireNonNull(sink));
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        if (current == null) {
+            current = takeFreeBuffer();
+        }
+
+        current[position++] = (byte) b;
+        if (position == current.length) {
+            handOff();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        ensureOpen();
+
+        while (len > 0) {
+            if (current == null) {
+                current = takeFreeBuffer();
+            }
+
+            int copied = Math.min(len, current.length - position);
+            System.arraycopy(b, off, current, position, copied);
+            position += copied;
+            off += copied;
+            len -= copied;
+
+            if (position == current.length) {
+                handOff();
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        handOff();
+        await(Chunk.marker(false));
+    }
+
+    /**
+     * Waits for every byte to be written, flushes and closes the sink
+     *
+     * @implNote The sink is closed even if writing failed, the failure being thrown afterwards
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            handOff();
+        } finally {
+            try {
+                await(Chunk.marker(true));
+            } finally {
+                sink.close();
+            }
+        }
+    }
+
+    private void handOff() throws IOException {
+        throwIfFailed();
+        if (current == null || position == 0) {
+            return;
+        }
+
+        chunks.add(new Chunk(current, position, null, false));
+        current = null;
+        position = 0;
+    }
+
+    private void await(Chunk marker) throws IOException {
+        chunks.add(marker);
+        try {
+            while (!marker.done.await(FAILURE_CHECK_MILLIS, TimeUnit.MILLISECONDS)) {
+                ensureWriterRunning();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the output to be written");
+        }
+        throwIfFailed();
+    }
+
+    private byte[] takeFreeBuffer() throws IOException {
+        try {
+            byte[] buffer;
+            while ((buffer = freeBuffers.poll(FAILURE_CHECK_MILLIS, TimeUnit.MILLISECONDS)) == null) {
+                ensureWriterRunning();
+            }
+            return buffer;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a free output buffer");
+        }
+    }
+
+    /**
+     * Runs on the writing thread until the closing marker is reached. After a failure chunks are only recycled, so
+     * that the producing thread is never left waiting.
+     */
+    private void drain() {
+        try {
+            Chunk chunk;
+            do {
+                chunk = chunks.take();
+                write(chunk);
+            } while (!chunk.last);
+        } catch (InterruptedException e) {
+            failure = e;
+            Thread.currentThread().interrupt();
+        } finally {
+            stopped.countDown();
+        }
+    }
+
+    private void write(Chunk chunk) {
+        try {
+            if (failure == null && chunk.buffer != null) {
+                sink.write(chunk.buffer, 0, chunk.length);
+            } else if (failure == null) {
+                sink.flush();
+            }
+        } catch (Throwable e) {
+            failure = e;
+        } finally {
+            if (chunk.buffer != null) {
+                freeBuffers.add(chunk.buffer);
+            } else {
+                chunk.done.countDown();
+            }
+        }
+    }
+
+    private void ensureWriterRunning() throws IOException {
+        if (stopped.getCount() == 0) {
+            throwIfFailed();
+            throw new IOException("Output writer is not running");
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    private void throwIfFailed() throws IOException {
+        Throwable cause = failure;
+        if (cause != null) {
+            throw new IOException("Writing the output failed", cause);
+        }
+    }
+
+    private static void startDaemon(Runnable runnable) {
+        Thread thread = new Thread(runnable, "json-async-output");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Either a filled buffer or a marker asking the writing thread to flush the sink, and to stop for the last one
+     */
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    private static class Chunk {
+
+        private final byte[] buffer;
+        private final int length;
+        private final CountDownLatch done;
+        private final boolean last;
+
+        static Chunk marker(boolean last) {
+            return new Chunk(null, 0, new CountDownLatch(1), last);
+        }
+
+    }
+
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class Builder {
+
+        private final OutputStream sink;
+        private int bufferSize = 64 * 1024;
+        private int bufferCount = 4;
+        private Executor executor;
+
+        public Builder bufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        /**
+         * Number of buffers in the pool, which is the maximum number of buffers waiting to be written. At least 2, so that
+         * one buffer is filled while another one is written.
+         */
+        public Builder bufferCount(int bufferCount) {
+            this.bufferCount = bufferCount;
+            return this;
+        }
+
+        /**
+         * The {@link Executor} running the writing task, which lasts until the stream is closed. A new daemon thread is
+         * started when none is provided.
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public AsyncOutputStream build() {
+            if (bufferSize <= 0 || bufferCount < 2) {
+                throw new IllegalArgumentException("Buffer size has to be positive and there have to be at least 2 buffers");
+            }
+
+            return new AsyncOutputStream(this);
+        }
+
+    }
+
+}
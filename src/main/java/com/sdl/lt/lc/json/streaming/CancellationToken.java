@@ -0,0 +1,23 @@
+package com.sdl.lt.lc.json.streaming;
+
+/**
+ * Allows stopping a processing run from another thread.
+ * The run notices the cancellation the next time {@link ProcessingLimits} are checked and fails with a
+ * {@link ProcessingLimitExceededException}.
+ *
+ * @author anegruti
+ * @since 11/16/2022
+ */
+public class CancellationToken {
+
+    private volatile boolean cancelled;
+
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+}
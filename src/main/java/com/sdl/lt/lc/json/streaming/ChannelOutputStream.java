@@ -0,0 +1,79 @@
+package com.sdl.lt.lc.json.streaming;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.WritableByteChannel;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * @author anegruti
+ * @since 12/2/2022
+ */
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+class ChannelOutputStream extends OutputStream {
+
+    private static final long RETRY_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final WritableByteChannel channel;
+    private Selector selector;
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    /**
+     * @implNote A non-blocking channel may accept only part of the bytes, the remaining is written again until done.
+     * When a write accepts nothing the stream waits for the channel to become writable instead of spinning.
+     */
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        ByteBuffer buffer = ByteBuffer.wrap(b, off, len);
+
+        while (buffer.hasRemaining()) {
+            if (channel.write(buffer) == 0) {
+                awaitWritable();
+            }
+        }
+    }
+
+    /**
+     * Waits on a {@link Selector} of its own for a non-blocking {@link SelectableChannel}, registered the first time it
+     * is needed. Any other channel is retried after a short pause.
+     */
+    private void awaitWritable() throws IOException {
+        if (!(channel instanceof SelectableChannel) || ((SelectableChannel) channel).isBlocking()) {
+            LockSupport.parkNanos(RETRY_NANOS);
+            return;
+        }
+
+        if (selector == null) {
+            selector = Selector.open();
+            ((SelectableChannel) channel).register(selector, SelectionKey.OP_WRITE);
+        }
+        selector.select();
+        selector.selectedKeys().clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (selector != null) {
+                selector.close();
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+}
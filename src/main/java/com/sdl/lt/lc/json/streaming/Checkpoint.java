@@ -0,0 +1,107 @@
+package com.sdl.lt.lc.json.streaming;
+
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.sdl.lt.lc.json.streaming.element.JsonPathElement;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A safe point reached while streaming the elements of an array, taken between two elements.
+ * Holds the byte offset of the input right after the last element read, the number of elements read so far and the
+ * path leading to the array, which is all that is needed to continue reading the same input from that point.
+ *
+ * Checkpoints are plain values that can be persisted with an {@link com.fasterxml.jackson.databind.ObjectMapper}.
+ *
+ * @author anegruti
+ * @since 11/18/2022
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class Checkpoint {
+
+    private static final byte[] PLACEHOLDER_ELEMENT = "null".getBytes(StandardCharsets.UTF_8);
+
+    private long byteOffset;
+    private long elementIndex;
+    private List<PathSegment> path;
+
+    /**
+     * Captures the current state of the provided path, the innermost element being the array that is iterated
+     */
+    static Checkpoint of(long byteOffset, long elementIndex, JsonPathHolder pathHolder) {
+        List<PathSegment> path = new ArrayList<>();
+        Iterator<JsonPathElement> elements = pathHolder.getCurrentPath().descendingIterator();
+
+        while (elements.hasNext()) {
+            JsonPathElement element = elements.next();
+            path.add(new PathSegment(element.hasToken(JsonToken.START_ARRAY), element.getFieldName()));
+        }
+
+        return new Checkpoint(byteOffset, elementIndex, path);
+    }
+
+    /**
+     * Builds the JSON that reopens every structure of the path, so that the input found at the byte offset can be
+     * parsed as the remaining of a valid document.
+     *
+     * @param separatorNeeded true if the input at the byte offset does not start with a comma or with the end of the array
+     * @return the prefix, ending with a placeholder element of the array that has to be skipped
+     *
+     * @implNote The placeholder element lets the input continue with either a comma or the end of the array
+     */
+    byte[] resumePrefix(boolean separatorNeeded) {
+        ByteArrayOutputStream prefix = new ByteArrayOutputStream();
+
+        for (PathSegment segment : path) {
+            if (segment.isArray()) {
+                prefix.write('[');
+                continue;
+            }
+
+            prefix.write('{');
+            if (segment.getFieldName() != null) {
+                prefix.write('"');
+                prefix.writeBytes(JsonStringEncoder.getInstance().quoteAsUTF8(segment.getFieldName()));
+                prefix.write('"');
+                prefix.write(':');
+            }
+        }
+
+        prefix.writeBytes(PLACEHOLDER_ELEMENT);
+        if (separatorNeeded) {
+            prefix.write(',');
+        }
+
+        return prefix.toByteArray();
+    }
+
+    /**
+     * One structure of the path: either an array or an object together with the field currently read in it
+     */
+    @Getter
+    @ToString
+    @EqualsAndHashCode
+    @AllArgsConstructor(access = AccessLevel.PACKAGE)
+    @NoArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class PathSegment {
+
+        private boolean array;
+        private String fieldName;
+
+    }
+
+}
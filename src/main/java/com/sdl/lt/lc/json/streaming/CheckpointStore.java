@@ -0,0 +1,35 @@
+package com.sdl.lt.lc.json.streaming;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Keeps the last {@link Checkpoint} committed by a {@link FollowJsonProcessor} so that a later run continues from it
+ *
+ * @author anegruti
+ * @since 11/21/2022
+ */
+public interface CheckpointStore {
+
+    /**
+     * @return the last saved {@link Checkpoint}, empty if nothing was saved yet
+     */
+    Optional<Checkpoint> load();
+
+    void save(Checkpoint checkpoint);
+
+    /**
+     * Returns a {@link CheckpointStore} keeping the checkpoint as JSON in the provided file.
+     * Every save is forced to the storage device before it replaces the file atomically, so that neither a crash nor a
+     * power loss leaves a partially written checkpoint behind.
+     *
+     * @param path the {@link Path} of the file holding the checkpoint
+     * @return the {@link CheckpointStore}
+     */
+    static CheckpointStore file(Path path) {
+        return new FileCheckpointStore(path, new ObjectMapper());
+    }
+
+}
@@ -0,0 +1,247 @@
+package com.sdl.lt.lc.json.streaming;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Computes a stable 64-bit fingerprint of the content of array elements straight from their tokens, nothing is bound.
+ * Two elements holding the same data get the same fingerprint whatever the order of their fields and the format of
+ * their numbers: 1, 1.0 and 1e0 are the same number, decimals being compared as doubles. The order of array elements
+ * does matter.
+ *
+ * The fingerprints of a previous run can be provided as known, elements whose fingerprint is known being left out
+ * by {@link JsonProcessorBuilder#skipUnchanged}. Every fingerprint computed is also handed to an optional listener,
+ * to be kept for the next run.
+ *
+ * @implNote Members of an object are hashed separately and added up, which makes the result independent of their
+ * order. Being 64 bits long, two different elements get the same fingerprint with a probability of about 2^-64.
+ *
+ * @author anegruti
+ * @since 12/6/2022
+ */
+public class ContentFingerprinter {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long OBJECT_SEED = 0x1f83d9abfb41bd6bL;
+    private static final long ARRAY_SEED = 0x5be0cd19137e2179L;
+    private static final long STRING_SEED = 0x9b05688c2b3e6c1fL;
+    private static final long NUMBER_SEED = 0x510e527fade682d1L;
+    private static final long TEXT_NUMBER_SEED = 0x3c6ef372fe94f82bL;
+    private static final long FLOAT_SEED = 0x9b05688c2b3e6c1eL;
+    private static final double EXACT_DOUBLE_RANGE = 0x1p53;
+    private static final long TRUE_HASH = 0xa54ff53a5f1d36f1L;
+    private static final long FALSE_HASH = 0x6a09e667f3bcc908L;
+    private static final long NULL_HASH = 0xbb67ae8584caa73bL;
+
+    private final List<String> keyPath;
+    private final Set<Long> known;
+    private final Consumer<ElementFingerprint> listener;
+
+    private ContentFingerprinter(Builder builder) {
+        this.keyPath = builder.keyPath;
+        this.known = builder.known;
+        this.listener = builder.listener;
+    }
+
+    /**
+     * @param keyPath the field names leading to the key of every element, starting from the element
+     */
+    public static Builder builder(List<String> keyPath) {
+        return new Builder(Objects.requireNonNull(keyPath));
+    }
+
+    /**
+     * Fingerprints the element the parser is on, reporting it to the listener
+     *
+     * @implNote After the call the cursor of the parser is on the last token of the element
+     */
+    @SneakyThrows
+    ElementFingerprint fingerprint(JsonParser parser) {
+        Element element = new Element();
+        long hash = element.hash(parser, 0);
+        ElementFingerprint fingerprint = new ElementFingerprint(element.key, hash);
+
+        listener.accept(fingerprint);
+        return fingerprint;
+    }
+
+    /**
+     * @return true if the fingerprint of the buffered element is not one of the known fingerprints
+     */
+    boolean isChanged(JsonElementBuffer element) {
+        try (JsonParser parser = element.asParser()) {
+            return !known.contains(fingerprint(parser).getFingerprint());
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read buffered element", e);
+        }
+    }
+
+    /**
+     * Hashes one element, capturing the key on the way
+     */
+    private class Element {
+
+        private String key;
+
+        /**
+         * @param keyDepth the number of field names of the key path matched so far, -1 once off the key path
+         */
+        private long hash(JsonParser parser, int keyDepth) throws IOException {
+            JsonToken token = parser.currentToken();
+
+            if (keyDepth == keyPath.size() && token.isScalarValue()) {
+                key = parser.getText();
+            }
+
+            switch (token) {
+                case START_OBJECT:
+                    return hashObject(parser, keyDepth);
+                case START_ARRAY:
+                    return hashArray(parser);
+                case VALUE_STRING:
+                    return mix(STRING_SEED ^ hashText(parser.getText()));
+                case VALUE_NUMBER_INT:
+                case VALUE_NUMBER_FLOAT:
+                    return hashNumber(parser);
+                case VALUE_TRUE:
+                    return TRUE_HASH;
+                case VALUE_FALSE:
+                    return FALSE_HASH;
+                case VALUE_NULL:
+                    return NULL_HASH;
+                default:
+                    throw new IllegalStateException("Unexpected token in element: " + token);
+            }
+        }
+
+        private long hashObject(JsonParser parser, int keyDepth) throws IOException {
+            long sum = 0;
+            long count = 0;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                boolean onKeyPath = keyDepth >= 0 && keyDepth < keyPath.size() && keyPath.get(keyDepth).equals(fieldName);
+
+                parser.nextToken();
+                long value = hash(parser, onKeyPath ? keyDepth + 1 : -1);
+                sum += mix(hashText(fieldName) * FNV_PRIME + value);
+                count++;
+            }
+
+            return mix(OBJECT_SEED ^ sum ^ (count * FNV_PRIME));
+        }
+
+        private long hashArray(JsonParser parser) throws IOException {
+            long hash = ARRAY_SEED;
+            long count = 0;
+
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                hash = mix(hash * FNV_PRIME + hash(parser, -1));
+                count++;
+            }
+
+            return mix(hash ^ count);
+        }
+
+        /**
+         * @implNote Integers that fit in a long are hashed as longs, and so are floating point numbers holding a whole
+         * value in that range. Whole numbers beyond it, integers or floating point, are hashed by their plain decimal
+         * text, so that 1e23 and 100000000000000000000000 are the same number. Other floating point numbers are hashed
+         * as doubles. Beyond 2^53 a double no longer holds every whole number, so floating point numbers that large
+         * are checked and hashed from their exact decimal value instead.
+         */
+        private long hashNumber(JsonParser parser) throws IOException {
+            JsonParser.NumberType type = parser.getNumberType();
+
+            if (type == JsonParser.NumberType.BIG_INTEGER) {
+                return hashWholeNumber(new BigDecimal(parser.getBigIntegerValue()));
+            }
+            if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+                return mix(NUMBER_SEED ^ parser.getLongValue());
+            }
+
+            double number = parser.getDoubleValue();
+            if (!Double.isFinite(number) || Math.abs(number) < EXACT_DOUBLE_RANGE) {
+                return Double.isFinite(number) && number == Math.rint(number)
+                        ? mix(NUMBER_SEED ^ (long) number)
+                        : mix(FLOAT_SEED ^ Double.doubleToLongBits(number));
+            }
+
+            BigDecimal decimal = parser.getDecimalValue().stripTrailingZeros();
+            if (decimal.scale() > 0) {
+                return mix(FLOAT_SEED ^ Double.doubleToLongBits(number));
+            }
+
+            BigInteger whole = decimal.toBigIntegerExact();
+            return whole.bitLength() < Long.SIZE ? mix(NUMBER_SEED ^ whole.longValue()) : hashWholeNumber(decimal);
+        }
+
+        private long hashWholeNumber(BigDecimal number) {
+            return mix(TEXT_NUMBER_SEED ^ hashText(number.stripTrailingZeros().toPlainString()));
+        }
+
+    }
+
+    private static long hashText(String text) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < text.length(); i++) {
+            hash ^= text.charAt(i);
+            hash *= FNV_PRIME;
+        }
+
+        return hash;
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+
+        return value;
+    }
+
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class Builder {
+
+        private final List<String> keyPath;
+        private Set<Long> known = Set.of();
+        private Consumer<ElementFingerprint> listener = fingerprint -> {
+        };
+
+        /**
+         * Fingerprints of elements that did not change, usually the ones reported during a previous run
+         */
+        public Builder known(Set<Long> known) {
+            this.known = Objects.requireNonNull(known);
+            return this;
+        }
+
+        /**
+         * Called with the key and the fingerprint of every element, in the order of the array
+         */
+        public Builder onFingerprint(Consumer<ElementFingerprint> listener) {
+            this.listener = Objects.requireNonNull(listener);
+            return this;
+        }
+
+        public ContentFingerprinter build() {
+            return new ContentFingerprinter(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,171 @@
+package com.sdl.lt.lc.json.streaming;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Recognises the elements of an array whose key was already seen, so that only the first occurrence of every key is kept.
+ * Keys are reduced to 64-bit fingerprints, memory stays proportional to the number of distinct keys whatever the size
+ * of the elements. Elements without a key are always kept.
+ *
+ * By default fingerprints are kept in a compact table on heap. With a memory budget the table is moved to a memory
+ * mapped temporary file once it would exceed the budget. In probabilistic mode a Bloom filter of fixed size is used
+ * instead, at the cost of dropping a small share of elements whose key was never seen.
+ *
+ * @implNote Two distinct keys sharing a fingerprint are treated as duplicates. With 64-bit fingerprints this is
+ * negligible below billions of keys
+ *
+ * @author anegruti
+ * @since 11/24/2022
+ */
+public class Deduplicator {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final List<String> keyPath;
+    private final long expectedKeys;
+    private final double falsePositiveRate;
+    private final long memoryBudget;
+    private final Path spillDirectory;
+    private long distinctCount = 0;
+    private long duplicateCount = 0;
+
+    private Deduplicator(Builder builder) {
+        this.keyPath = builder.keyPath;
+        this.expectedKeys = builder.expectedKeys;
+        this.falsePositiveRate = builder.falsePositiveRate;
+        this.memoryBudget = builder.memoryBudget;
+        this.spillDirectory = builder.spillDirectory;
+    }
+
+    /**
+     * @param keyPath the field names leading to the key, starting from the element
+     */
+    public static Builder builder(List<String> keyPath) {
+        return new Builder(Objects.requireNonNull(keyPath));
+    }
+
+    public long getDistinctCount() {
+        return distinctCount;
+    }
+
+    public long getDuplicateCount() {
+        return duplicateCount;
+    }
+
+    /**
+     * Starts deduplicating one array, keys seen in previous arrays are not remembered
+     */
+    Run start() {
+        if (expectedKeys > 0) {
+            return new Run(FingerprintSet.bloom(expectedKeys, falsePositiveRate));
+        }
+        if (memoryBudget < Long.MAX_VALUE) {
+            return new Run(FingerprintSet.spilling(memoryBudget, spillDirectory));
+        }
+
+        return new Run(FingerprintSet.heap());
+    }
+
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    class Run implements AutoCloseable {
+
+        private final FingerprintSet fingerprints;
+
+        /**
+         * @return true if the key of the element was not seen before in this array or if the element has no key
+         */
+        boolean isFirstOccurrence(JsonElementBuffer element) {
+            JsonNode key = element.valueAt(keyPath);
+            if (key == null || key.isMissingNode()) {
+                return true;
+            }
+
+            if (fingerprints.add(fingerprint(key))) {
+                distinctCount++;
+                return true;
+            }
+
+            duplicateCount++;
+            return false;
+        }
+
+        @Override
+        @SneakyThrows
+        public void close() {
+            fingerprints.close();
+        }
+
+    }
+
+    /**
+     * FNV-1a over the characters of the key, scalar keys being taken by their text so that "1" and 1 are the same key
+     */
+    private static long fingerprint(JsonNode key) {
+        String text = key.isValueNode() ? key.asText() : key.toString();
+        long hash = FNV_OFFSET_BASIS;
+
+        for (int i = 0; i < text.length(); i++) {
+            hash ^= text.charAt(i);
+            hash *= FNV_PRIME;
+        }
+
+        return hash;
+    }
+
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class Builder {
+
+        private final List<String> keyPath;
+        private long expectedKeys = 0;
+        private double falsePositiveRate;
+        private long memoryBudget = Long.MAX_VALUE;
+        private Path spillDirectory = Path.of(System.getProperty("java.io.tmpdir"));
+
+        /**
+         * Uses a Bloom filter sized for the expected number of distinct keys instead of an exact set
+         *
+         * @param expectedKeys the number of distinct keys expected in one array
+         * @param falsePositiveRate the probability of dropping an element whose key was never seen
+         */
+        public Builder probabilistic(long expectedKeys, double falsePositiveRate) {
+            this.expectedKeys = expectedKeys;
+            this.falsePositiveRate = falsePositiveRate;
+            return this;
+        }
+
+        /**
+         * Number of bytes of heap the fingerprints may take before being moved to a memory mapped file
+         */
+        public Builder memoryBudget(long memoryBudget) {
+            this.memoryBudget = memoryBudget;
+            return this;
+        }
+
+        /**
+         * Directory of the temporary file holding the fingerprints once the memory budget is exceeded,
+         * the default temporary directory if not provided
+         */
+        public Builder spillDirectory(Path spillDirectory) {
+            this.spillDirectory = Objects.requireNonNull(spillDirectory);
+            return this;
+        }
+
+        public Deduplicator build() {
+            if (memoryBudget <= 0) {
+                throw new IllegalArgumentException("Memory budget has to be positive");
+            }
+
+            return new Deduplicator(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.sdl.lt.lc.json.streaming;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * Copies the output into a fixed pool of direct {@link ByteBuffer}'s handed to a consumer as they fill, see
+ * {@link OutputSinks#directBuffers(int, int, Consumer)}.
+ * When every buffer is held by the consumer writing waits for one to be released.
+ *
+ * @author anegruti
+ * @since 12/2/2022
+ */
+public class DirectBufferOutputStream extends OutputStream {
+
+    private final BlockingQueue<ByteBuffer> freeBuffers;
+    private final Consumer<ByteBuffer> consumer;
+    private ByteBuffer current;
+    private boolean closed = false;
+
+    DirectBufferOutputStream(int bufferSize, int bufferCount, Consumer<ByteBuffer> consumer) {
+        if (bufferSize <= 0 || bufferCount <= 0) {
+            throw new IllegalArgumentException("Buffer size and buffer count have to be positive");
+        }
+
+        this.consumer = Objects.requireNonNull(consumer);
+        this.freeBuffers = new ArrayBlockingQueue<>(bufferCount);
+        for (int i = 0; i < bufferCount; i++) {
+            freeBuffers.add(ByteBuffer.allocateDirect(bufferSize));
+        }
+    }
+
+    /**
+     * Gives a buffer back to the pool, from any thread
+     *
+     * @param buffer a buffer received by the consumer
+     */
+    public void release(ByteBuffer buffer) {
+        buffer.clear();
+        freeBuffers.add(buffer);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureBuffer().put((byte) b);
+        if (!current.hasRemaining()) {
+            handOff();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+
+        while (len > 0) {
+            ByteBuffer buffer = ensureBuffer();
+            int copied = Math.min(len, buffer.remaining());
+            buffer.put(b, off, copied);
+            off += copied;
+            len -= copied;
+
+            if (!buffer.hasRemaining()) {
+                handOff();
+            }
+        }
+    }
+
+    /**
+     * Hands the buffer being filled to the consumer, even if it is not full
+     */
+    @Override
+    public void flush() {
+        if (current != null && current.position() > 0) {
+            handOff();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            flush();
+            closed = true;
+        }
+    }
+
+    private ByteBuffer ensureBuffer() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        if (current == null) {
+            try {
+                current = freeBuffers.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for a buffer to be released");
+            }
+        }
+
+        return current;
+    }
+
+    private void handOff() {
+        ByteBuffer filled = current;
+        current = null;
+
+        filled.flip();
+        consumer.accept(filled);
+    }
+
+}
@@ -0,0 +1,167 @@
+package com.sdl.lt.lc.json.streaming;
+
+import com.fasterxml.jackson.core.JsonToken;
+import lombok.Getter;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The shape of a document read once by {@link ReadJsonProcessor#profile(int)}: a {@link PathProfile} for every distinct
+ * path, in the order the paths were first found, which tells where the bytes are before writing any
+ * {@link com.sdl.lt.lc.json.streaming.matchers.PathMatcher}.
+ *
+ * Memory is bounded by the maximum number of paths. Once it is reached, values found at new paths are only counted as
+ * untracked, together with everything nested in them.
+ *
+ * @author anegruti
+ * @since 11/29/2022
+ */
+public class DocumentProfile {
+
+    static final String ROOT = "$";
+
+    private final int maxPaths;
+    private final Map<String, PathProfile> paths = new LinkedHashMap<>();
+    private final Deque<Frame> frames = new ArrayDeque<>();
+    @Getter
+    private long untrackedCount = 0;
+    @Getter
+    private int maxDepth = 0;
+
+    DocumentProfile(int maxPaths) {
+        if (maxPaths <= 0) {
+            throw new IllegalArgumentException("Maximum number of paths has to be positive");
+        }
+        this.maxPaths = maxPaths;
+    }
+
+    public Collection<PathProfile> getPaths() {
+        return Collections.unmodifiableCollection(paths.values());
+    }
+
+    /**
+     * @param path the path, for example "$.records[].id"
+     */
+    public Optional<PathProfile> get(String path) {
+        return Optional.ofNullable(paths.get(path));
+    }
+
+    /**
+     * @return true if some paths were not profiled because the maximum number of paths was reached
+     */
+    public boolean isTruncated() {
+        return untrackedCount > 0;
+    }
+
+    void field(String fieldName) {
+        Frame frame = frames.peek();
+        if (frame != null) {
+            frame.fieldName = fieldName;
+        }
+    }
+
+    /**
+     * Records a token other than a field name
+     *
+     * @param start the offset of the first byte of the token
+     * @param end the offset of the byte right after the token
+     */
+    void token(JsonToken token, long start, long end) {
+        if (token.isStructEnd()) {
+            leave(end);
+            return;
+        }
+
+        Frame parent = frames.peek();
+        PathProfile profile = childOf(parent);
+        if (parent != null) {
+            parent.length++;
+        }
+        if (profile == null) {
+            untrackedCount++;
+        }
+
+        if (token.isStructStart()) {
+            frames.push(new Frame(profile, start, token == JsonToken.START_ARRAY));
+            maxDepth = Math.max(maxDepth, frames.size());
+        } else if (profile != null) {
+            profile.add(PathProfile.ValueType.of(token), end - start);
+        }
+    }
+
+    /**
+     * @implNote A structure whose start was read before profiling began has no frame, its end is ignored
+     */
+    private void leave(long end) {
+        Frame frame = frames.poll();
+        if (frame == null || frame.profile == null) {
+            return;
+        }
+
+        if (frame.isArray) {
+            frame.profile.addArray(end - frame.start, frame.length);
+        } else {
+            frame.profile.add(PathProfile.ValueType.OBJECT, end - frame.start);
+        }
+    }
+
+    /**
+     * @return the profile of the value read in the parent structure, null when it is not tracked
+     */
+    private PathProfile childOf(Frame parent) {
+        if (parent == null) {
+            return paths.computeIfAbsent(ROOT, path -> new PathProfile(path, 0));
+        }
+        if (parent.profile == null) {
+            return null;
+        }
+
+        if (parent.isArray) {
+            PathProfile elements = parent.profile.getElements();
+            if (elements == null && (elements = create(parent.profile.getPath() + "[]")) != null) {
+                parent.profile.setElements(elements);
+            }
+            return elements;
+        }
+
+        PathProfile field = parent.profile.getField(parent.fieldName);
+        if (field == null && (field = create(parent.profile.getPath() + "." + parent.fieldName)) != null) {
+            parent.profile.putField(parent.fieldName, field);
+        }
+        return field;
+    }
+
+    private PathProfile create(String path) {
+        if (paths.size() >= maxPaths) {
+            return null;
+        }
+
+        PathProfile profile = new PathProfile(path, frames.size());
+        paths.put(path, profile);
+
+        return profile;
+    }
+
+    private static class Frame {
+
+        private final PathProfile profile;
+        private final long start;
+        private final boolean isArray;
+        private String fieldName;
+        private long length = 0;
+
+        private Frame(PathProfile profile, long start, boolean isArray) {
+            this.profile = profile;
+            this.start = start;
+            this.isArray = isArray;
+        }
+
+    }
+
+}
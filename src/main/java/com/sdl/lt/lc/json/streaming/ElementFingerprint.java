@@ -0,0 +1,27 @@
+package com.sdl.lt.lc.json.streaming;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * The key of an array element together with the fingerprint of its content, computed by a {@link ContentFingerprinter}
+ *
+ * @author anegruti
+ * @since 12/6/2022
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+public class ElementFingerprint {
+
+    /**
+     * The text of the scalar value found at the key path, null if there is none
+     */
+    private final String key;
+    private final long fingerprint;
+
+}
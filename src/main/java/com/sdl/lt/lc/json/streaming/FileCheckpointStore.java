@@ -0,0 +1,72 @@
+package com.sdl.lt.lc.json.streaming;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+/**
+ * @author anegruti
+ * @since 11/21/2022
+ */
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+class FileCheckpointStore implements CheckpointStore {
+
+    private final Path path;
+    private final ObjectMapper mapper;
+
+    @Override
+    @SneakyThrows
+    public Optional<Checkpoint> load() {
+        if (!Files.exists(path)) {
+            return Optional.empty();
+        }
+
+        return Optional.of(mapper.readValue(path.toFile(), Checkpoint.class));
+    }
+
+    /**
+     * @implNote The checkpoint is written to a temporary file next to the target and forced to the storage device, then
+     * moved over the target. The directory is forced as well where the platform allows it, so that the move itself
+     * survives a power loss
+     */
+    @Override
+    @SneakyThrows
+    public void save(Checkpoint checkpoint) {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(temporary,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer content = ByteBuffer.wrap(mapper.writeValueAsBytes(checkpoint));
+            while (content.hasRemaining()) {
+                channel.write(content);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        forceDirectory();
+    }
+
+    /**
+     * Not every platform allows opening a directory, in which case the move is left to the file system
+     */
+    private void forceDirectory() {
+        Path directory = path.toAbsolutePath().getParent();
+
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // the directory cannot be forced on this platform
+        }
+    }
+
+}
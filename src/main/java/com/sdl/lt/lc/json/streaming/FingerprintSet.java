@@ -0,0 +1,331 @@
+package com.sdl.lt.lc.json.streaming;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A set of 64-bit key fingerprints, used to recognise keys that were already seen without keeping the keys themselves.
+ *
+ * @author anegruti
+ * @since 11/24/2022
+ */
+interface FingerprintSet extends AutoCloseable {
+
+    int MIN_SLOTS = 1024;
+    long MAX_MAPPED_SLOTS = 1L << 27;
+
+    /**
+     * @return true if the fingerprint was not in the set before
+     */
+    boolean add(long fingerprint);
+
+    @Override
+    void close() throws IOException;
+
+    /**
+     * @return an exact set held on heap, in a table of primitive longs
+     */
+    static FingerprintSet heap() {
+        return new HeapSet(MIN_SLOTS);
+    }
+
+    /**
+     * @return an exact set held on heap until its table would exceed the memory budget, then moved to a memory mapped
+     * file in the provided directory
+     */
+    static FingerprintSet spilling(long memoryBudget, Path spillDirectory) {
+        return new SpillingSet(memoryBudget, spillDirectory);
+    }
+
+    /**
+     * @return a Bloom filter sized for the expected number of keys. A new key is reported as already seen with
+     * roughly the provided probability, a key that was seen is always recognised
+     */
+    static FingerprintSet bloom(long expectedKeys, double falsePositiveRate) {
+        return new BloomFilter(expectedKeys, falsePositiveRate);
+    }
+
+    /**
+     * Open addressing with linear probing, 0 marking an empty slot. A zero fingerprint is stored as 1.
+     * The table doubles as soon as it is half full.
+     */
+    class HeapSet implements FingerprintSet {
+
+        private long[] slots;
+        private int size = 0;
+
+        private HeapSet(int slotCount) {
+            this.slots = new long[slotCount];
+        }
+
+        @Override
+        public boolean add(long fingerprint) {
+            if (!insert(slots, nonZero(fingerprint))) {
+                return false;
+            }
+
+            if (++size * 2 > slots.length) {
+                slots = rehash(slots, slots.length * 2);
+            }
+            return true;
+        }
+
+        long memoryAfterGrowth() {
+            return slots.length * 2L * Long.BYTES;
+        }
+
+        boolean isFullAtNextAdd() {
+            return (size + 1) * 2 > slots.length;
+        }
+
+        long[] getSlots() {
+            return slots;
+        }
+
+        private static boolean insert(long[] slots, long fingerprint) {
+            int mask = slots.length - 1;
+            int index = (int) mix(fingerprint) & mask;
+
+            while (slots[index] != 0) {
+                if (slots[index] == fingerprint) {
+                    return false;
+                }
+                index = (index + 1) & mask;
+            }
+            slots[index] = fingerprint;
+
+            return true;
+        }
+
+        private static long[] rehash(long[] slots, int slotCount) {
+            long[] rehashed = new long[slotCount];
+            for (long fingerprint : slots) {
+                if (fingerprint != 0) {
+                    insert(rehashed, fingerprint);
+                }
+            }
+
+            return rehashed;
+        }
+
+        @Override
+        public void close() {
+            slots = new long[0];
+        }
+
+    }
+
+    /**
+     * The same table as {@link HeapSet}, held in a memory mapped temporary file deleted once closed.
+     * Growing creates a bigger file and moves every fingerprint to it.
+     *
+     * @implNote The channel of the previous file is closed once its fingerprints were moved, but a
+     * {@link MappedByteBuffer} can not be unmapped explicitly: the previous mapping, and the disk space of its deleted
+     * file, are only released once the buffer is garbage collected
+     */
+    class MappedSet implements FingerprintSet {
+
+        private final Path directory;
+        private FileChannel channel;
+        private MappedByteBuffer slots;
+        private long slotCount;
+        private long size = 0;
+
+        private MappedSet(Path directory, long slotCount) throws IOException {
+            this.directory = directory;
+            map(slotCount);
+        }
+
+        private void map(long slotCount) throws IOException {
+            if (slotCount > MAX_MAPPED_SLOTS) {
+                throw new IllegalStateException("Too many distinct keys to be spilled: " + size);
+            }
+
+            this.channel = FileChannel.open(
+                    Files.createTempFile(directory, "json-fingerprints", ".bin"),
+                    StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE
+            );
+            this.slots = channel.map(FileChannel.MapMode.READ_WRITE, 0, slotCount * Long.BYTES);
+            this.slotCount = slotCount;
+        }
+
+        @Override
+        public boolean add(long fingerprint) {
+            if (!insert(nonZero(fingerprint))) {
+                return false;
+            }
+
+            if (++size * 2 > slotCount) {
+                grow();
+            }
+            return true;
+        }
+
+        private boolean insert(long fingerprint) {
+            int mask = (int) slotCount - 1;
+            int index = (int) mix(fingerprint) & mask;
+
+            long slot;
+            while ((slot = slots.getLong(index * Long.BYTES)) != 0) {
+                if (slot == fingerprint) {
+                    return false;
+                }
+                index = (index + 1) & mask;
+            }
+            slots.putLong(index * Long.BYTES, fingerprint);
+
+            return true;
+        }
+
+        private void grow() {
+            MappedByteBuffer previousSlots = slots;
+            long previousCount = slotCount;
+
+            FileChannel previousChannel = channel;
+
+            try {
+                map(slotCount * 2);
+                for (int i = 0; i < previousCount; i++) {
+                    long fingerprint = previousSlots.getLong(i * Long.BYTES);
+                    if (fingerprint != 0) {
+                        insert(fingerprint);
+                    }
+                }
+                previousChannel.close();
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not grow spilled fingerprints", e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+
+    }
+
+    /**
+     * Starts on heap and moves to a {@link MappedSet} the first time growing the heap table would cross the budget
+     */
+    class SpillingSet implements FingerprintSet {
+
+        private final long memoryBudget;
+        private final Path spillDirectory;
+        private HeapSet heapSet = new HeapSet(MIN_SLOTS);
+        private MappedSet mappedSet;
+
+        private SpillingSet(long memoryBudget, Path spillDirectory) {
+            this.memoryBudget = memoryBudget;
+            this.spillDirectory = spillDirectory;
+        }
+
+        @Override
+        public boolean add(long fingerprint) {
+            if (mappedSet != null) {
+                return mappedSet.add(fingerprint);
+            }
+            if (heapSet.isFullAtNextAdd() && heapSet.memoryAfterGrowth() > memoryBudget) {
+                spill();
+                return mappedSet.add(fingerprint);
+            }
+
+            return heapSet.add(fingerprint);
+        }
+
+        private void spill() {
+            long[] slots = heapSet.getSlots();
+
+            try {
+                mappedSet = new MappedSet(spillDirectory, slots.length * 2L);
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not spill fingerprints to " + spillDirectory, e);
+            }
+            for (long fingerprint : slots) {
+                if (fingerprint != 0) {
+                    mappedSet.add(fingerprint);
+                }
+            }
+
+            heapSet.close();
+        }
+
+        @Override
+        public void close() throws IOException {
+            heapSet.close();
+            if (mappedSet != null) {
+                mappedSet.close();
+            }
+        }
+
+    }
+
+    /**
+     * Bits are chosen by double hashing the two halves of the fingerprint
+     */
+    class BloomFilter implements FingerprintSet {
+
+        private final long[] words;
+        private final long bitCount;
+        private final int hashCount;
+
+        private BloomFilter(long expectedKeys, double falsePositiveRate) {
+            if (expectedKeys <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+                throw new IllegalArgumentException("Expected keys has to be positive and the false positive rate between 0 and 1");
+            }
+
+            long bits = (long) Math.ceil(-expectedKeys * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.words = new long[(int) Math.min(Integer.MAX_VALUE - 8, (bits + 63) / 64)];
+            this.bitCount = words.length * 64L;
+            this.hashCount = (int) Math.max(1, Math.round((double) bitCount / expectedKeys * Math.log(2)));
+        }
+
+        @Override
+        public boolean add(long fingerprint) {
+            long mixed = mix(fingerprint);
+            long first = mixed & 0xFFFFFFFFL;
+            long second = (mixed >>> 32) | 1;
+            boolean added = false;
+
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(first + i * second, bitCount);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+
+                if ((words[word] & mask) == 0) {
+                    words[word] |= mask;
+                    added = true;
+                }
+            }
+
+            return added;
+        }
+
+        @Override
+        public void close() {
+            // nothing to release
+        }
+
+    }
+
+    private static long nonZero(long fingerprint) {
+        return fingerprint == 0 ? 1 : fingerprint;
+    }
+
+    /**
+     * Spreads the bits of a fingerprint, so that the slot index taken from its lower bits is well distributed
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+
+        return value;
+    }
+
+}
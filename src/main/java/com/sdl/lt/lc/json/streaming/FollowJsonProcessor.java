@@ -0,0 +1,179 @@
+package com.sdl.lt.lc.json.streaming;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sdl.lt.lc.json.streaming.matchers.PathMatcher;
+import lombok.SneakyThrows;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Follows a file that is continuously appended to, such as a log, keeping a single parser and path state alive for
+ * the whole run. Only the bytes appended since the last committed {@link Checkpoint} are read, so a new run costs only
+ * the new data.
+ *
+ * Following blocks the calling thread until {@link #close()} is called from another thread. The position reached is
+ * committed to the {@link CheckpointStore} every few values and once more when following stops. A value is committed
+ * only after the consumer returned, so values are delivered at least once across restarts.
+ *
+ * @author anegruti
+ * @since 11/21/2022
+ */
+public class FollowJsonProcessor implements AutoCloseable {
+
+    private static final Checkpoint START = new Checkpoint(0, 0, Collections.emptyList());
+
+    private final FileChannel channel;
+    private final FollowingInputStream input;
+    private final CheckpointStore store;
+    private final long commitInterval;
+    private final ObjectMapper mapper;
+    private final AtomicBoolean started = new AtomicBoolean(false);
+
+    FollowJsonProcessor(FileChannel channel, CheckpointStore store, Duration pollInterval, long commitInterval,
+                        ObjectMapper mapper) {
+        if (commitInterval <= 0) {
+            throw new IllegalArgumentException("Commit interval has to be positive");
+        }
+
+        this.channel = channel;
+        this.input = new FollowingInputStream(channel, pollInterval);
+        this.store = store;
+        this.commitInterval = commitInterval;
+        this.mapper = mapper;
+    }
+
+    /**
+     * Reads every root value of the file as an object of type {@link T}, such as the lines of an NDJSON file, calling
+     * the provided {@link Consumer} for each of them as they are appended
+     *
+     * @param clazz the class of {@link T}
+     * @param consumer the {@link Consumer} called for every value
+     * @param <T> type of read values
+     * @throws IllegalStateException when the stored checkpoint was taken inside an array
+     */
+    @SneakyThrows
+    public <T> void followValues(Class<T> clazz, Consumer<T> consumer) {
+        start();
+        Checkpoint from = store.load().orElse(START);
+        if (!from.getPath().isEmpty()) {
+            throw new IllegalStateException("Stored checkpoint was taken inside an array: " + from.getPath());
+        }
+
+        Committer committer = new Committer();
+        long elementIndex = from.getElementIndex();
+        channel.position(from.getByteOffset());
+
+        try (JsonParser parser = JsonPathProcessor.createParser(input, mapper)) {
+            while (parser.nextToken() != null) {
+                consumer.accept(parser.readValueAs(clazz));
+
+                long byteOffset = from.getByteOffset() + parser.getCurrentLocation().getByteOffset();
+                committer.reached(new Checkpoint(byteOffset, ++elementIndex, Collections.emptyList()));
+            }
+        } catch (IOException e) {
+            failUnlessStopped(e);
+        } finally {
+            committer.commit();
+            input.close();
+        }
+    }
+
+    /**
+     * Reads every element of the array found at the provided path as an object of type {@link T}, calling the provided
+     * {@link Consumer} for each of them as they are appended. The array is expected to be left open while the file grows.
+     *
+     * @param pathMatcher the {@link PathMatcher} of the array (needs to stop at start of an array)
+     * @param clazz the class of {@link T}
+     * @param consumer the {@link Consumer} called for every element
+     * @param <T> type of read elements
+     * @throws IllegalStateException when the stored checkpoint was taken on a different path
+     * @see ReadJsonProcessor#streamValues(PathMatcher, Class, long, Consumer)
+     */
+    @SneakyThrows
+    public <T> void followValues(PathMatcher pathMatcher, Class<T> clazz, Consumer<T> consumer) {
+        start();
+        Committer committer = new Committer();
+
+        try (Stream<T> values = openProcessor().streamValues(pathMatcher, clazz, 1, committer::reached)) {
+            values.forEach(consumer);
+        } catch (Exception e) {
+            failUnlessStopped(e);
+        } finally {
+            committer.commit();
+            input.close();
+        }
+    }
+
+    @SneakyThrows
+    private ReadJsonProcessor openProcessor() {
+        Checkpoint from = store.load().orElse(null);
+        if (from == null) {
+            return new ReadJsonProcessor(JsonPathProcessor.init(input, OutputStream.nullOutputStream(), mapper));
+        }
+
+        channel.position(from.getByteOffset());
+        return new ReadJsonProcessor(JsonPathProcessor.resume(input, from, mapper)).resumedFrom(from);
+    }
+
+    private void start() {
+        if (!started.compareAndSet(false, true)) {
+            throw new IllegalStateException("Follower was already started or closed");
+        }
+    }
+
+    /**
+     * Stopping cuts the input wherever the parser is, so the failure it causes is expected and ignored
+     */
+    @SneakyThrows
+    private void failUnlessStopped(Exception e) {
+        if (!input.isStopped()) {
+            throw e;
+        }
+    }
+
+    /**
+     * Stops following. The thread following the file commits the position reached and returns.
+     */
+    @Override
+    public void close() throws Exception {
+        input.stop();
+
+        if (started.compareAndSet(false, true)) {
+            input.close();
+        }
+    }
+
+    /**
+     * Saves the checkpoints reached every commit interval and, at the end, the last one if it was not saved yet
+     */
+    private class Committer {
+
+        private Checkpoint latest;
+        private Checkpoint committed;
+
+        void reached(Checkpoint checkpoint) {
+            latest = checkpoint;
+
+            if (checkpoint.getElementIndex() % commitInterval == 0) {
+                commit();
+            }
+        }
+
+        void commit() {
+            if (latest != null && latest != committed) {
+                store.save(latest);
+                committed = latest;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.sdl.lt.lc.json.streaming;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.time.Duration;
+
+/**
+ * Reads a file that keeps growing. When the end of the file is reached the read waits for new bytes to be appended,
+ * polling the size of the file, instead of reporting the end of the input.
+ * The end of the input is reported only once {@link #stop()} has been called.
+ *
+ * @author anegruti
+ * @since 11/21/2022
+ */
+class FollowingInputStream extends InputStream {
+
+    private final FileChannel channel;
+    private final long pollMillis;
+    private volatile boolean stopped = false;
+
+    FollowingInputStream(FileChannel channel, Duration pollInterval) {
+        this.channel = channel;
+        this.pollMillis = pollInterval.toMillis();
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+
+        return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+    }
+
+    /**
+     * @throws IOException when the file became shorter than the position already read, which happens when it is
+     * truncated or replaced
+     */
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+
+        while (!stopped) {
+            int read = channel.read(ByteBuffer.wrap(b, off, len));
+            if (read > 0) {
+                return read;
+            }
+            if (channel.size() < channel.position()) {
+                throw new IOException("Followed file was truncated below position " + channel.position());
+            }
+
+            waitForData();
+        }
+
+        return -1;
+    }
+
+    private void waitForData() throws InterruptedIOException {
+        try {
+            Thread.sleep(pollMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while following the file");
+        }
+    }
+
+    /**
+     * Makes any pending or future read report the end of the input
+     */
+    void stop() {
+        stopped = true;
+    }
+
+    boolean isStopped() {
+        return stopped;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+}
@@ -0,0 +1,181 @@
+package com.sdl.lt.lc.json.streaming;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sdl.lt.lc.json.streaming.matchers.PathMatcher;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Indexes the elements of an array of a secondary JSON source by the value found at a key path, to enrich the elements
+ * of another array with {@link ArrayJoiner}. The secondary source is streamed once, its elements are never bound.
+ *
+ * Elements are kept serialised in a compact table of bytes and primitive longs. Once they would exceed the memory
+ * budget further elements are kept in a temporary file, deleted when the index is closed. When a key is found more than
+ * once only its first element is kept. Elements without a key are left out.
+ *
+ * Scalar keys are taken by their text, so that "1" and 1 are the same key.
+ *
+ * @author anegruti
+ * @since 12/8/2022
+ */
+public class JoinIndex implements AutoCloseable {
+
+    private final JoinTable table;
+    private final ObjectMapper mapper;
+    private long duplicateCount = 0;
+
+    private JoinIndex(JoinTable table, ObjectMapper mapper) {
+        this.table = table;
+        this.mapper = mapper;
+    }
+
+    /**
+     * @param pathMatcher the path of the array of the secondary source (needs to stop at start of an array)
+     * @param keyPath the field names leading to the key, starting from the element
+     */
+    public static Builder builder(PathMatcher pathMatcher, List<String> keyPath) {
+        return new Builder(Objects.requireNonNull(pathMatcher), Objects.requireNonNull(keyPath));
+    }
+
+    /**
+     * @return the number of distinct keys indexed
+     */
+    public int size() {
+        return table.size();
+    }
+
+    /**
+     * @return the number of elements left out because their key was already indexed
+     */
+    public long getDuplicateCount() {
+        return duplicateCount;
+    }
+
+    /**
+     * @return true if some elements were kept in a temporary file because of the memory budget
+     */
+    public boolean isSpilled() {
+        return table.isSpilled();
+    }
+
+    /**
+     * @return the indexed element of the key, null if there is none
+     */
+    @SneakyThrows
+    JsonNode get(JsonNode key) {
+        if (key == null || key.isNull() || key.isMissingNode()) {
+            return null;
+        }
+
+        byte[] value = table.get(textOf(key));
+        return value == null ? null : mapper.readTree(value);
+    }
+
+    private static String textOf(JsonNode key) {
+        return key.isValueNode() ? key.asText() : key.toString();
+    }
+
+    @Override
+    public void close() throws Exception {
+        table.close();
+    }
+
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class Builder {
+
+        private final PathMatcher pathMatcher;
+        private final List<String> keyPath;
+        private Set<String> fields;
+        private long memoryBudget = Long.MAX_VALUE;
+        private Path spillDirectory = Path.of(System.getProperty("java.io.tmpdir"));
+        private ObjectMapper mapper = new ObjectMapper();
+
+        /**
+         * Keeps only the provided top level fields of every element, the others being skipped while indexing
+         */
+        public Builder fields(Collection<String> fields) {
+            this.fields = Set.copyOf(fields);
+            return this;
+        }
+
+        /**
+         * Number of bytes of heap the indexed elements and the slots of the table may take before the next elements are
+         * kept in a temporary file
+         */
+        public Builder memoryBudget(long memoryBudget) {
+            this.memoryBudget = memoryBudget;
+            return this;
+        }
+
+        /**
+         * Directory of the temporary file holding the elements beyond the memory budget,
+         * the default temporary directory if not provided
+         */
+        public Builder spillDirectory(Path spillDirectory) {
+            this.spillDirectory = Objects.requireNonNull(spillDirectory);
+            return this;
+        }
+
+        public Builder mapper(ObjectMapper mapper) {
+            this.mapper = Objects.requireNonNull(mapper);
+            return this;
+        }
+
+        /**
+         * Streams the array of the secondary source into a new index. The source is closed once read.
+         *
+         * @param inputStream the {@link InputStream} of the secondary source
+         * @return the {@link JoinIndex}, to be closed once the join is done
+         */
+        @SneakyThrows
+        public JoinIndex build(InputStream inputStream) {
+            if (memoryBudget <= 0) {
+                throw new IllegalArgumentException("Memory budget has to be positive");
+            }
+
+            JoinIndex index = new JoinIndex(new JoinTable(memoryBudget, spillDirectory), mapper);
+            try (JsonPathProcessor processor = JsonPathProcessor.init(inputStream, OutputStream.nullOutputStream(), mapper)) {
+                processor.skipUntilPathOrEnd(pathMatcher);
+                if (!processor.hasNext()) {
+                    return index;
+                }
+                processor.ensureCurrentTokenIsOfTypeStartArray();
+
+                JsonElementBuffer element;
+                while ((element = processor.nextBufferedElement()) != null) {
+                    add(index, element);
+                }
+            } catch (Exception e) {
+                index.close();
+                throw e;
+            }
+
+            return index;
+        }
+
+        @SneakyThrows
+        private void add(JoinIndex index, JsonElementBuffer element) {
+            JsonNode key = element.valueAt(keyPath);
+            if (key == null || key.isNull() || key.isMissingNode()) {
+                return;
+            }
+
+            byte[] value = fields == null ? element.toBytes() : mapper.writeValueAsBytes(element.project(fields));
+            if (!index.table.put(textOf(key), value)) {
+                index.duplicateCount++;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,252 @@
+package com.sdl.lt.lc.json.streaming;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Maps text keys to values serialised as bytes, the table of a {@link JoinIndex}.
+ * Keys and values are packed one after the other in pages of bytes, the table itself only holding primitive longs:
+ * the hash of every key and the position of its entry. Both the pages and the slot arrays are charged to the memory
+ * budget; once a new page would exceed it, further entries are appended to a temporary file instead, deleted once
+ * closed. The slot arrays keep growing with the entries, spilled or not, since they are needed to find them.
+ *
+ * @implNote Open addressing with linear probing, a position of 0 marking an empty slot. Positions of entries kept on
+ * heap are the page index in the upper half and the offset in the page in the lower half, plus one. Positions of
+ * spilled entries are the negated offset in the file, minus one. The table doubles as soon as it is half full.
+ *
+ * @author anegruti
+ * @since 12/8/2022
+ */
+class JoinTable implements AutoCloseable {
+
+    private static final int MIN_SLOTS = 1024;
+    private static final int PAGE_SIZE = 1 << 20;
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final long memoryBudget;
+    private final Path spillDirectory;
+    private final List<byte[]> pages = new ArrayList<>();
+    private long[] hashes = new long[MIN_SLOTS];
+    private long[] positions = new long[MIN_SLOTS];
+    private int size = 0;
+    private int pageOffset = 0;
+    private long heapBytes = slotBytes(MIN_SLOTS);
+    private FileChannel spill;
+    private long spillOffset = 0;
+
+    JoinTable(long memoryBudget, Path spillDirectory) {
+        this.memoryBudget = memoryBudget;
+        this.spillDirectory = spillDirectory;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isSpilled() {
+        return spill != null;
+    }
+
+    /**
+     * @return false if the key was already in the table, the value it had being kept
+     */
+    boolean put(String key, byte[] value) throws IOException {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        long hash = hash(keyBytes);
+        int slot = find(hash, keyBytes);
+
+        if (positions[slot] != 0) {
+            return false;
+        }
+
+        hashes[slot] = hash;
+        positions[slot] = append(keyBytes, value);
+        if (++size * 2 > positions.length) {
+            grow();
+        }
+        return true;
+    }
+
+    /**
+     * @return the value of the key, null if there is none
+     */
+    byte[] get(String key) throws IOException {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        int slot = find(hash(keyBytes), keyBytes);
+
+        return positions[slot] == 0 ? null : read(positions[slot]).value;
+    }
+
+    /**
+     * @return the slot holding the key, or the empty slot where it would be inserted
+     */
+    private int find(long hash, byte[] keyBytes) throws IOException {
+        int mask = positions.length - 1;
+        int slot = (int) hash & mask;
+
+        while (positions[slot] != 0) {
+            if (hashes[slot] == hash && Arrays.equals(read(positions[slot]).key, keyBytes)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    private long append(byte[] key, byte[] value) throws IOException {
+        int entrySize = 2 * Integer.BYTES + key.length + value.length;
+        boolean fitsInPage = pageOffset + entrySize <= pageSize();
+        int newPageSize = (int) Math.max(entrySize, Math.min(PAGE_SIZE, memoryBudget - heapBytes));
+
+        if (spill == null && !fitsInPage && heapBytes + newPageSize > memoryBudget) {
+            spill = FileChannel.open(
+                    Files.createTempFile(spillDirectory, "json-join", ".bin"),
+                    StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE
+            );
+        }
+
+        ByteBuffer entry = ByteBuffer.allocate(entrySize)
+                .putInt(key.length).put(key)
+                .putInt(value.length).put(value);
+
+        if (spill != null) {
+            long position = -(spillOffset + 1);
+            entry.flip();
+            while (entry.hasRemaining()) {
+                spillOffset += spill.write(entry, spillOffset);
+            }
+            return position;
+        }
+
+        if (!fitsInPage) {
+            pages.add(new byte[newPageSize]);
+            heapBytes += pages.get(pages.size() - 1).length;
+            pageOffset = 0;
+        }
+
+        long position = ((long) (pages.size() - 1) << 32 | pageOffset) + 1;
+        System.arraycopy(entry.array(), 0, pages.get(pages.size() - 1), pageOffset, entrySize);
+        pageOffset += entrySize;
+
+        return position;
+    }
+
+    private int pageSize() {
+        return pages.isEmpty() ? 0 : pages.get(pages.size() - 1).length;
+    }
+
+    private Entry read(long position) throws IOException {
+        if (position > 0) {
+            ByteBuffer page = ByteBuffer.wrap(pages.get((int) ((position - 1) >>> 32)));
+            page.position((int) (position - 1));
+
+            return new Entry(readBytes(page), readBytes(page));
+        }
+
+        long offset = -position - 1;
+        byte[] key = readFully(offset + Integer.BYTES, readInt(offset));
+        long valueOffset = offset + Integer.BYTES + key.length;
+
+        return new Entry(key, readFully(valueOffset + Integer.BYTES, readInt(valueOffset)));
+    }
+
+    private static byte[] readBytes(ByteBuffer page) {
+        byte[] bytes = new byte[page.getInt()];
+        page.get(bytes);
+
+        return bytes;
+    }
+
+    private int readInt(long offset) throws IOException {
+        return ByteBuffer.wrap(readFully(offset, Integer.BYTES)).getInt();
+    }
+
+    private byte[] readFully(long offset, int length) throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(length);
+
+        while (bytes.hasRemaining()) {
+            if (spill.read(bytes, offset + bytes.position()) < 0) {
+                throw new EOFException("Spilled join entry ended early");
+            }
+        }
+
+        return bytes.array();
+    }
+
+    private void grow() {
+        long[] previousHashes = hashes;
+        long[] previousPositions = positions;
+        hashes = new long[previousPositions.length * 2];
+        positions = new long[previousPositions.length * 2];
+        heapBytes += slotBytes(positions.length) - slotBytes(previousPositions.length);
+        int mask = positions.length - 1;
+
+        for (int i = 0; i < previousPositions.length; i++) {
+            if (previousPositions[i] != 0) {
+                int slot = (int) previousHashes[i] & mask;
+                while (positions[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                hashes[slot] = previousHashes[i];
+                positions[slot] = previousPositions[i];
+            }
+        }
+    }
+
+    /**
+     * @return the number of bytes taken by the hashes and the positions of the given number of slots
+     */
+    private static long slotBytes(int slots) {
+        return 2L * Long.BYTES * slots;
+    }
+
+    /**
+     * FNV-1a over the bytes of the key, mixed so that the slot index taken from its lower bits is well distributed
+     */
+    private static long hash(byte[] key) {
+        long hash = FNV_OFFSET_BASIS;
+        for (byte b : key) {
+            hash ^= b;
+            hash *= FNV_PRIME;
+        }
+
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+
+        return hash;
+    }
+
+    @Override
+    public void close() throws IOException {
+        pages.clear();
+        hashes = new long[0];
+        positions = new long[0];
+        if (spill != null) {
+            spill.close();
+        }
+    }
+
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    private static class Entry {
+
+        private final byte[] key;
+        private final byte[] value;
+
+    }
+
+}
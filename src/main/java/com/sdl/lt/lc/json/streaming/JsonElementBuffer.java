@@ -0,0 +1,208 @@
+package com.sdl.lt.lc.json.streaming;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds the raw tokens of a single JSON element so that it can be inspected before deciding if and how it is written.
+ * Only the tokens of one element are kept in memory at any time, the element is never bound unless requested.
+ *
+ * @author anegruti
+ * @since 11/7/2022
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+class JsonElementBuffer {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final TokenBuffer buffer;
+    private final ObjectCodec codec;
+
+    /**
+     * Copies the element found at the current cursor position
+     *
+     * @param parser the {@link JsonParser} positioned on the first token of the element
+     * @return a {@link JsonElementBuffer} holding all the tokens of the element
+     *
+     * @implNote After copying, the cursor of the provided parser is positioned on the last token of the element
+     */
+    @SneakyThrows
+    static JsonElementBuffer copyOf(JsonParser parser) {
+        TokenBuffer buffer = new TokenBuffer(parser);
+        buffer.copyCurrentStructure(parser);
+
+        return new JsonElementBuffer(buffer, parser.getCodec());
+    }
+
+    /**
+     * @return a new {@link JsonParser} positioned on the first token of the buffered element
+     */
+    @SneakyThrows
+    JsonParser asParser() {
+        JsonParser parser = buffer.asParser(codec);
+        parser.nextToken();
+
+        return parser;
+    }
+
+    @SneakyThrows
+    <T> T bind(Class<T> clazz) {
+        try (JsonParser parser = asParser()) {
+            return parser.readValueAs(clazz);
+        }
+    }
+
+    @SneakyThrows
+    <T> T bind(ObjectReader reader) {
+        try (JsonParser parser = asParser()) {
+            return reader.readValue(parser);
+        }
+    }
+
+    /**
+     * Reads only the given top level fields of the buffered element, the values of every other field are skipped
+     *
+     * @param fields the names of the fields to be read
+     * @return an {@link ObjectNode} holding only the requested fields that were present. If the element is not an object
+     * the returned node is empty
+     */
+    @SneakyThrows
+    ObjectNode project(Collection<String> fields) {
+        ObjectNode projection = JsonNodeFactory.instance.objectNode();
+
+        try (JsonParser parser = asParser()) {
+            if (!parser.hasToken(JsonToken.START_OBJECT)) {
+                return projection;
+            }
+
+            while (JsonToken.FIELD_NAME.equals(parser.nextToken())) {
+                String fieldName = parser.getCurrentName();
+                parser.nextToken();
+
+                if (fields.contains(fieldName)) {
+                    projection.set(fieldName, parser.readValueAsTree());
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+
+        return projection;
+    }
+
+    /**
+     * Looks up a single value by walking the provided field names, skipping everything else on the way
+     *
+     * @param fieldPath the field names leading to the value, starting from the buffered element
+     * @return the {@link JsonNode} found at the given path or null if there is no such value
+     */
+    @SneakyThrows
+    JsonNode valueAt(List<String> fieldPath) {
+        try (JsonParser parser = asParser()) {
+            for (String fieldName : fieldPath) {
+                if (!seekField(parser, fieldName)) {
+                    return null;
+                }
+            }
+
+            return parser.readValueAsTree();
+        }
+    }
+
+    /**
+     * Moves the cursor on the value of the requested field of the object the cursor is currently on
+     *
+     * @return true if the field was found, false otherwise
+     */
+    @SneakyThrows
+    private static boolean seekField(JsonParser parser, String expected) {
+        if (!parser.hasToken(JsonToken.START_OBJECT)) {
+            return false;
+        }
+
+        while (JsonToken.FIELD_NAME.equals(parser.nextToken())) {
+            String fieldName = parser.getCurrentName();
+            parser.nextToken();
+
+            if (expected.equals(fieldName)) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+
+        return false;
+    }
+
+    /**
+     * @return the buffered element serialised as UTF-8 JSON
+     */
+    @SneakyThrows
+    byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(bytes)) {
+            buffer.serialize(generator);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    @SneakyThrows
+    void writeTo(JsonGenerator generator) {
+        buffer.serialize(generator);
+    }
+
+    /**
+     * Writes the buffered element with the provided fields added at its end, replacing its own fields of the same name.
+     * An element that is not an object is written as it is.
+     *
+     * @implNote Tokens are copied one by one, only the values of the replaced fields being skipped
+     */
+    @SneakyThrows
+    void writeTo(JsonGenerator generator, ObjectNode fields) {
+        try (JsonParser parser = asParser()) {
+            if (!parser.hasToken(JsonToken.START_OBJECT)) {
+                writeTo(generator);
+                return;
+            }
+
+            generator.writeStartObject();
+            while (JsonToken.FIELD_NAME.equals(parser.nextToken())) {
+                String fieldName = parser.getCurrentName();
+                parser.nextToken();
+
+                if (fields.has(fieldName)) {
+                    parser.skipChildren();
+                } else {
+                    generator.writeFieldName(fieldName);
+                    generator.copyCurrentStructure(parser);
+                }
+            }
+
+            Iterator<Map.Entry<String, JsonNode>> added = fields.fields();
+            while (added.hasNext()) {
+                Map.Entry<String, JsonNode> field = added.next();
+                generator.writeFieldName(field.getKey());
+                generator.writeTree(field.getValue());
+            }
+            generator.writeEndObject();
+        }
+    }
+
+}
@@ -3,7 +3,20 @@ package com.sdl.lt.lc.json.streaming;
 
 import com.sdl.lt.lc.json.streaming.element.JsonElement;
 
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.concurrent.Flow;
+import java.util.stream.Stream;
+
 /**
+ * Writer handed to the {@link JsonVisitor} hooks.
+ * Besides writing fully materialised elements it allows generating content incrementally, in which case
+ * no more than the element currently written has to be held in memory.
+ *
+ * @implSpec Only {@link #writeJsonElement(JsonElement)} has to be implemented. The incremental operations are default
+ * methods throwing {@link UnsupportedOperationException}, so that existing implementations keep compiling; the writer
+ * handed to the hooks by the processors supports all of them.
+ *
  * @author anegruti
  * @since 5/24/2022
  */
@@ -11,4 +24,94 @@ public interface JsonElementWriter {
 
     void writeJsonElement(JsonElement element);
 
+    /**
+     * Writes the field name followed by the start of an object. Must be closed with {@link #endObject()}
+     */
+    default void startObject(String fieldName) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Writes the start of an object as an array element. Must be closed with {@link #endObject()}
+     */
+    default void startObject() {
+        throw new UnsupportedOperationException();
+    }
+
+    default void endObject() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Writes the field name followed by the start of an array. Must be closed with {@link #endArray()}
+     */
+    default void startArray(String fieldName) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Writes the start of an array as an array element. Must be closed with {@link #endArray()}
+     */
+    default void startArray() {
+        throw new UnsupportedOperationException();
+    }
+
+    default void endArray() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Writes a field name inside an object started with {@link #startObject()} or {@link #startObject(String)}
+     */
+    default void writeFieldName(String fieldName) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Writes a single value, either as an array element or right after a field name
+     */
+    default void writeValue(Object value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Writes an array under the provided field name, pulling one element at a time from the {@link Iterator}
+     */
+    default void writeArray(String fieldName, Iterator<?> elements) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Writes an array under the provided field name, consuming the {@link Stream} sequentially one element at a time
+     */
+    default void writeArray(String fieldName, Stream<?> elements) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Writes an array under the provided field name from the elements published by the {@link Flow.Publisher}.
+     * Elements are requested in small batches and the calling thread blocks until the publisher completes.
+     * An error signalled by the publisher is rethrown to the caller.
+     */
+    default void writeArray(String fieldName, Flow.Publisher<?> elements) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Writes the provided field name followed by the already serialised JSON value read from the {@link InputStream}.
+     * The bytes are copied to the output as they are, without being parsed or validated.
+     */
+    default void writeRawValue(String fieldName, InputStream value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Writes the already serialised JSON value read from the {@link InputStream} as an array element
+     *
+     * @see #writeRawValue(String, InputStream)
+     */
+    default void writeRawValue(InputStream value) {
+        throw new UnsupportedOperationException();
+    }
+
 }
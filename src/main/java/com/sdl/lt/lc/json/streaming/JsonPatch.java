@@ -0,0 +1,413 @@
+package com.sdl.lt.lc.json.streaming;
+
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sdl.lt.lc.json.streaming.element.JsonPathElement;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A JSON Patch (RFC 6902) or a JSON Merge Patch (RFC 7396) compiled into transformers, so that it is applied while the
+ * document is streamed instead of on a tree held in memory.
+ *
+ * Since paths are made of field names only, JSON Patch supports the add, remove and replace operations on object
+ * members, and add with "-" to append to an array. Array indices are read as member names, while move, copy, test and
+ * operations on the whole document are not supported.
+ * Operations are applied in a single pass rather than one after the other, so a patch is rejected when one of its
+ * pointers equals or contains another one, appends to the same array excepted.
+ *
+ * @implNote Members are replaced or removed at their field name. A member that has to be added is written before the
+ * end of its parent object unless it was already found, which is why the patch relies on transformers matching the end
+ * of a structure.
+ *
+ * @author anegruti
+ * @since 11/28/2022
+ */
+public class JsonPatch {
+
+    private static final String APPEND_TOKEN = "-";
+
+    private final List<Operation> operations;
+
+    private JsonPatch(List<Operation> operations) {
+        this.operations = operations;
+    }
+
+    /**
+     * @param patch the array of operations of a JSON Patch
+     * @return the {@link JsonPatch}
+     * @throws UnsupportedOperationException if an operation can not be applied while streaming
+     * @throws IllegalArgumentException if the patch is malformed or two of its pointers overlap
+     */
+    public static JsonPatch fromJsonPatch(JsonNode patch) {
+        if (!patch.isArray()) {
+            throw new IllegalArgumentException("A JSON Patch has to be an array of operations");
+        }
+
+        List<Operation> operations = new ArrayList<>();
+        for (JsonNode operation : patch) {
+            operations.add(Operation.of(operation));
+        }
+        ensureNoOverlap(operations);
+
+        return new JsonPatch(operations);
+    }
+
+    /**
+     * @param patch the object of a JSON Merge Patch
+     * @return the {@link JsonPatch}
+     * @throws UnsupportedOperationException if the patch is not an object, replacing the whole document is not supported
+     */
+    public static JsonPatch fromMergePatch(JsonNode patch) {
+        if (!patch.isObject()) {
+            throw new UnsupportedOperationException("Only merge patches that are objects are supported");
+        }
+
+        List<Operation> operations = new ArrayList<>();
+        compileMerge(new ArrayList<>(), patch, operations);
+
+        return new JsonPatch(operations);
+    }
+
+    /**
+     * Returns a {@link JsonVisitor} applying the patch to the JSON visited by the processor of the provided builder.
+     * Once the visit ends it fails with an {@link IllegalStateException} if a member that had to be removed or replaced
+     * was not found, or if the parent of a member that had to be added was not found. The JSON written up to that
+     * point already holds the operations that were applied.
+     *
+     * @param builder the {@link JsonProcessorBuilder} whose processor will visit the JSON
+     * @return a {@link JsonVisitor} to be used only with a processor built by the same builder
+     */
+    public JsonVisitor compile(JsonProcessorBuilder builder) {
+        return new CompiledPatch(builder.getProcessor());
+    }
+
+    public void apply(InputStream inputStream, OutputStream outputStream) throws Exception {
+        apply(inputStream, outputStream, new ObjectMapper());
+    }
+
+    public void apply(InputStream inputStream, OutputStream outputStream, ObjectMapper mapper) throws Exception {
+        JsonProcessorBuilder builder = JsonProcessorBuilder.initBuilder(inputStream, outputStream, mapper);
+        try (VisitJsonProcessor processor = builder.build()) {
+            processor.visit(compile(builder));
+        }
+    }
+
+    private static void compileMerge(List<String> parent, JsonNode patch, List<Operation> operations) {
+        patch.fields().forEachRemaining(member -> {
+            List<String> path = new ArrayList<>(parent);
+            path.add(member.getKey());
+            JsonNode value = member.getValue();
+
+            if (value.isNull()) {
+                operations.add(new Operation(Kind.REMOVE, path, null, false));
+            } else if (value.isObject()) {
+                operations.add(new Operation(Kind.MERGE, path, withoutNulls(value), false));
+                compileMerge(path, value, operations);
+            } else {
+                operations.add(new Operation(Kind.ADD, path, value, false));
+            }
+        });
+    }
+
+    /**
+     * @return the value a merge patch object takes when the target member is missing or is not an object
+     */
+    private static JsonNode withoutNulls(JsonNode patch) {
+        ObjectNode value = patch.deepCopy();
+        Iterator<Map.Entry<String, JsonNode>> members = value.fields();
+
+        while (members.hasNext()) {
+            Map.Entry<String, JsonNode> member = members.next();
+            if (member.getValue().isNull()) {
+                members.remove();
+            } else if (member.getValue().isObject()) {
+                member.setValue(withoutNulls(member.getValue()));
+            }
+        }
+
+        return value;
+    }
+
+    private static void ensureNoOverlap(List<Operation> operations) {
+        for (int i = 0; i < operations.size(); i++) {
+            for (int j = i + 1; j < operations.size(); j++) {
+                Operation first = operations.get(i);
+                Operation second = operations.get(j);
+                boolean appendsToSameArray = first.kind == Kind.APPEND && second.kind == Kind.APPEND
+                        && first.path.equals(second.path);
+
+                if (!appendsToSameArray && (startsWith(first.pointer(), second.pointer())
+                        || startsWith(second.pointer(), first.pointer()))) {
+                    throw new IllegalArgumentException("Overlapping patch operations at " + first + " and " + second);
+                }
+            }
+        }
+    }
+
+    private static boolean startsWith(List<String> pointer, List<String> prefix) {
+        return pointer.size() >= prefix.size() && pointer.subList(0, prefix.size()).equals(prefix);
+    }
+
+    private enum Kind {
+        ADD,
+        APPEND,
+        REMOVE,
+        REPLACE,
+        MERGE
+    }
+
+    /**
+     * A single operation. The path leads to the member, or to the array for {@link Kind#APPEND}.
+     */
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    private static class Operation {
+
+        private final Kind kind;
+        private final List<String> path;
+        private final JsonNode value;
+        private final boolean required;
+
+        static Operation of(JsonNode operation) {
+            String op = operation.path("op").asText();
+            List<String> path = parsePointer(operation.path("path").asText(null));
+
+            switch (op) {
+                case "add":
+                    if (APPEND_TOKEN.equals(path.get(path.size() - 1))) {
+                        return new Operation(Kind.APPEND, path.subList(0, path.size() - 1), valueOf(operation), true);
+                    }
+                    return new Operation(Kind.ADD, path, valueOf(operation), true);
+                case "remove":
+                    return new Operation(Kind.REMOVE, path, null, true);
+                case "replace":
+                    return new Operation(Kind.REPLACE, path, valueOf(operation), true);
+                case "move":
+                case "copy":
+                case "test":
+                    throw new UnsupportedOperationException("Operation " + op + " is not supported while streaming");
+                default:
+                    throw new IllegalArgumentException("Unknown patch operation: " + op);
+            }
+        }
+
+        private static JsonNode valueOf(JsonNode operation) {
+            if (!operation.has("value")) {
+                throw new IllegalArgumentException("Missing value of patch operation " + operation);
+            }
+
+            return operation.get("value");
+        }
+
+        /**
+         * Decodes a JSON Pointer, "~1" standing for "/" and "~0" for "~"
+         */
+        private static List<String> parsePointer(String pointer) {
+            if (pointer == null || (!pointer.isEmpty() && !pointer.startsWith("/"))) {
+                throw new IllegalArgumentException("Invalid JSON Pointer: " + pointer);
+            }
+            if (pointer.isEmpty()) {
+                throw new UnsupportedOperationException("Operations on the whole document are not supported");
+            }
+
+            List<String> path = new ArrayList<>();
+            String[] tokens = pointer.substring(1).split("/", -1);
+            for (int i = 0; i < tokens.length; i++) {
+                if (APPEND_TOKEN.equals(tokens[i]) && i < tokens.length - 1) {
+                    throw new UnsupportedOperationException("Array indices are not supported: " + pointer);
+                }
+                path.add(tokens[i].replace("~1", "/").replace("~0", "~"));
+            }
+
+            return path;
+        }
+
+        List<String> pointer() {
+            if (kind != Kind.APPEND) {
+                return path;
+            }
+
+            List<String> pointer = new ArrayList<>(path);
+            pointer.add(APPEND_TOKEN);
+
+            return pointer;
+        }
+
+        List<String> parent() {
+            return path.subList(0, path.size() - 1);
+        }
+
+        String member() {
+            return path.get(path.size() - 1);
+        }
+
+        @Override
+        public String toString() {
+            return kind.name().toLowerCase() + " /" + String.join("/", pointer());
+        }
+
+    }
+
+    /**
+     * The transformers of every operation, bound to a processor, together with what each operation found so far
+     */
+    private class CompiledPatch implements JsonVisitor {
+
+        private final JsonPathProcessor processor;
+        private final List<JsonElementTransformer> transformers = new ArrayList<>();
+        private final boolean[] found;
+        private final boolean[] applied;
+
+        private CompiledPatch(JsonPathProcessor processor) {
+            this.processor = processor;
+            this.found = new boolean[operations.size()];
+            this.applied = new boolean[operations.size()];
+
+            for (int i = 0; i < operations.size(); i++) {
+                compile(i, operations.get(i));
+            }
+        }
+
+        private void compile(int index, Operation operation) {
+            switch (operation.kind) {
+                case REMOVE:
+                    onField(operation, () -> {
+                        processor.remove();
+                        applied[index] = true;
+                    });
+                    break;
+                case REPLACE:
+                    onField(operation, () -> {
+                        processor.replace(operation.value);
+                        applied[index] = true;
+                    });
+                    break;
+                case ADD:
+                    onField(operation, () -> {
+                        processor.replace(operation.value);
+                        found[index] = true;
+                    });
+                    addIfMissing(index, operation);
+                    break;
+                case MERGE:
+                    onField(operation, () -> {
+                        processor.writeToken();
+                        found[index] = true;
+                    });
+                    transformers.add(new JsonElementTransformer(
+                            path -> isValueOtherThanObject(path, operation.path),
+                            () -> processor.replaceValue(operation.value)
+                    ));
+                    addIfMissing(index, operation);
+                    break;
+                case APPEND:
+                    transformers.add(new JsonElementTransformer(
+                            path -> isEndOf(JsonToken.END_ARRAY, path, operation.path),
+                            () -> {
+                                processor.getWriter().writeValue(operation.value);
+                                applied[index] = true;
+                            }
+                    ));
+                    break;
+            }
+        }
+
+        private void onField(Operation operation, Runnable executor) {
+            transformers.add(new JsonElementTransformer(
+                    path -> isFieldName(path, operation.path),
+                    executor
+            ));
+        }
+
+        /**
+         * Writes the member before the end of its parent object unless it was found in it
+         */
+        private void addIfMissing(int index, Operation operation) {
+            transformers.add(new JsonElementTransformer(
+                    path -> isEndOf(JsonToken.END_OBJECT, path, operation.parent()),
+                    () -> {
+                        if (!found[index]) {
+                            processor.getWriter().writeFieldName(operation.member());
+                            processor.getWriter().writeValue(operation.value);
+                        }
+                        found[index] = false;
+                        applied[index] = true;
+                    }
+            ));
+        }
+
+        private boolean isFieldName(Deque<JsonPathElement> path, List<String> pointer) {
+            return processor.currentToken() == JsonToken.FIELD_NAME && isObjectPath(path, 0, pointer);
+        }
+
+        /**
+         * @implNote The start of a structure was already registered in the path, it is not part of the pointer
+         */
+        private boolean isValueOtherThanObject(Deque<JsonPathElement> path, List<String> pointer) {
+            JsonToken token = processor.currentToken();
+            if (token == JsonToken.FIELD_NAME || token == JsonToken.START_OBJECT || token.isStructEnd()) {
+                return false;
+            }
+
+            return isObjectPath(path, token.isStructStart() ? 1 : 0, pointer);
+        }
+
+        /**
+         * @implNote The end of a structure was already removed from the path
+         */
+        private boolean isEndOf(JsonToken end, Deque<JsonPathElement> path, List<String> pointer) {
+            return processor.currentToken() == end && isObjectPath(path, 0, pointer);
+        }
+
+        /**
+         * @return true if, leaving aside its innermost elements, the path is made of objects whose current fields are
+         * the tokens of the pointer
+         */
+        private boolean isObjectPath(Deque<JsonPathElement> path, int innermostSkipped, List<String> pointer) {
+            if (path.size() - innermostSkipped != pointer.size()) {
+                return false;
+            }
+
+            Iterator<JsonPathElement> elements = path.descendingIterator();
+            for (String token : pointer) {
+                JsonPathElement element = elements.next();
+                if (!element.hasToken(JsonToken.START_OBJECT) || !token.equals(element.getFieldName())) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        @Override
+        public List<JsonElementTransformer> getTransformers() {
+            return transformers;
+        }
+
+        @Override
+        public void leaving(JsonElementWriter writer) {
+            List<String> missing = new ArrayList<>();
+            for (int i = 0; i < operations.size(); i++) {
+                if (operations.get(i).required && !applied[i]) {
+                    missing.add(operations.get(i).toString());
+                }
+            }
+
+            if (!missing.isEmpty()) {
+                throw new IllegalStateException("Patch targets not found: " + String.join(", ", missing));
+            }
+        }
+
+    }
+
+}
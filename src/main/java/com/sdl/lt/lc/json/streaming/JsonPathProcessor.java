@@ -5,18 +5,24 @@ import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.sdl.lt.lc.json.streaming.element.JsonArrayElement;
 import com.sdl.lt.lc.json.streaming.element.JsonObjectElement;
 import com.sdl.lt.lc.json.streaming.matchers.PathMatcher;
 import lombok.SneakyThrows;
 
-import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.io.SequenceInputStream;
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * @author anegruti
@@ -28,22 +34,131 @@ class JsonPathProcessor implements AutoCloseable {
     private final JsonParser parser;
     private final JsonWriter writer;
     private final JsonPathHolder path = new JsonPathHolder();
+    private long byteOffsetBase = 0;
 
+    private JsonPathProcessor(JsonParser parser, JsonGenerator generator) {
+        this.parser = parser;
+        this.writer = new JsonWriter(parser, generator);
+    }
+
+    static JsonPathProcessor init(InputStream inputStream, OutputStream outputStream, ObjectMapper mapper) {
+        return init(createParser(inputStream, mapper), outputStream, mapper);
+    }
+
+    static JsonPathProcessor init(InputStream inputStream, OutputStream outputStream, ObjectMapper mapper, ProcessingLimits limits) {
+        return init(createParser(inputStream, mapper, limits), outputStream, mapper);
+    }
+
+    static JsonPathProcessor init(InputStream inputStream, OutputStream outputStream, ObjectMapper mapper, SchemaValidation validation) {
+        return init(new ValidatingJsonParser(createParser(inputStream, mapper), validation), outputStream, mapper);
+    }
+
+    private static JsonPathProcessor init(JsonParser parser, OutputStream outputStream, ObjectMapper mapper) {
+        JsonPathProcessor processor = new JsonPathProcessor(parser, createGenerator(outputStream, mapper));
+        processor.writeStart();
+
+        return processor;
+    }
+
+    /**
+     * Creates a processor over a parser that has already been moved on the first token of the JSON.
+     * The first token is registered in the path and written, the same way {@link #init(InputStream, OutputStream, ObjectMapper)} does.
+     *
+     * @param parser the {@link JsonParser} positioned on the first token
+     * @param outputStream the {@link OutputStream} to which the JSON will be written
+     * @param mapper the {@link ObjectMapper} used by the generator
+     * @return the {@link JsonPathProcessor}
+     */
+    static JsonPathProcessor initStarted(JsonParser parser, OutputStream outputStream, ObjectMapper mapper) {
+        JsonPathProcessor processor = new JsonPathProcessor(parser, createGenerator(outputStream, mapper));
+        processor.updatePath(parser.currentToken());
+        processor.writeToken();
+
+        return processor;
+    }
+
+    /**
+     * Creates a processor reading the provided input from the point captured by the {@link Checkpoint}.
+     * Nothing is written.
+     *
+     * @param remaining the {@link InputStream} of the same input the checkpoint was taken on, positioned at the byte
+     *                  offset of the checkpoint
+     * @param checkpoint the {@link Checkpoint} to resume from
+     * @param mapper the {@link ObjectMapper} used to read the elements
+     * @return the {@link JsonPathProcessor} positioned between two elements of the array, with the path of the checkpoint
+     *
+     * @implNote The remaining input is preceded by a prefix reopening every structure of the path. Parsing the prefix
+     * rebuilds the path, after which the placeholder element ending it is read, leaving the cursor where it was when the
+     * checkpoint was taken. Byte offsets keep being reported relative to the start of the input.
+     */
     @SneakyThrows
-    private JsonPathProcessor(InputStream inputStream, OutputStream outputStream, ObjectMapper mapper) {
-        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream));
-        this.parser = JSON_FACTORY.createParser(reader);
-        this.parser.setCodec(mapper);
+    static JsonPathProcessor resume(InputStream remaining, Checkpoint checkpoint, ObjectMapper mapper) {
+        PushbackInputStream input = new PushbackInputStream(remaining, 1);
+        long skipped = skipWhitespace(input);
+        byte[] prefix = checkpoint.resumePrefix(isSeparatorNeeded(input));
+        InputStream inputStream = new SequenceInputStream(new ByteArrayInputStream(prefix), input);
+
+        JsonPathProcessor processor = init(createParser(inputStream, mapper), OutputStream.nullOutputStream(), mapper);
+        while (!JsonToken.VALUE_NULL.equals(processor.next())) {
+            // moving through the prefix up to its placeholder element
+        }
+        processor.byteOffsetBase = checkpoint.getByteOffset() + skipped - prefix.length;
 
-        JsonGenerator generator = JSON_FACTORY.createGenerator(outputStream);
-        generator.setCodec(mapper);
+        return processor;
+    }
 
-        this.writer = new JsonWriter(parser, generator);
-        writeStart();
+    /**
+     * @return the number of whitespace bytes skipped, the first other byte being left in the stream
+     */
+    private static long skipWhitespace(PushbackInputStream input) throws IOException {
+        long skipped = 0;
+        int next;
+
+        while ((next = input.read()) != -1 && Character.isWhitespace(next)) {
+            skipped++;
+        }
+        if (next == -1) {
+            throw new IllegalArgumentException("No element found after the checkpoint");
+        }
+        input.unread(next);
+
+        return skipped;
     }
 
-    static JsonPathProcessor init(InputStream inputStream, OutputStream outputStream, ObjectMapper mapper) {
-        return new JsonPathProcessor(inputStream, outputStream, mapper);
+    /**
+     * @return false if the next byte is a comma or the end of an array, true otherwise
+     */
+    private static boolean isSeparatorNeeded(PushbackInputStream input) throws IOException {
+        int next = input.read();
+        input.unread(next);
+
+        return next != ',' && next != ']';
+    }
+
+    /**
+     * Creates a byte based parser, the encoding of the input being detected by the parser itself
+     */
+    @SneakyThrows
+    static JsonParser createParser(InputStream inputStream, ObjectMapper mapper) {
+        JsonParser parser = JSON_FACTORY.createParser(inputStream);
+        parser.setCodec(mapper);
+
+        return parser;
+    }
+
+    /**
+     * Creates a parser enforcing the provided {@link ProcessingLimits} on every token read
+     */
+    static JsonParser createParser(InputStream inputStream, ObjectMapper mapper, ProcessingLimits limits) {
+        return new LimitedJsonParser(createParser(inputStream, mapper), limits);
+    }
+
+    @SneakyThrows
+    private static JsonGenerator createGenerator(OutputStream outputStream, ObjectMapper mapper) {
+        JsonGenerator generator = JSON_FACTORY.createGenerator(outputStream);
+        generator.setCodec(mapper);
+
+        return generator;
     }
 
     void skipUntilPathOrEnd(PathMatcher pathMatcher) {
@@ -75,51 +190,116 @@ class JsonPathProcessor implements AutoCloseable {
         writer.writeJsonElement(new JsonObjectElement<>(parser.getCurrentName(), replacer));
     }
 
+    /**
+     * Will skip the field at the current position together with its value, nothing is written
+     *
+     * @implNote The cursor has to be on the field name, it is left on the last token of the value
+     */
+    @SneakyThrows
+    void remove() {
+        ensureCurrentTokenIsOfTypeFieldName();
+
+        parser.nextToken();
+        parser.skipChildren();
+    }
+
+    /**
+     * Will replace the value starting at the current position, its field name having already been written
+     *
+     * @param replacer the object written instead of the value
+     *
+     * @implNote When the value is a structure its start was registered in the path, it is popped once the structure is skipped
+     */
+    @SneakyThrows
+    <T> void replaceValue(T replacer) {
+        boolean isStructure = parser.currentToken().isStructStart();
+
+        parser.skipChildren();
+        if (isStructure) {
+            path.updatePath(parser.currentToken());
+        }
+
+        writer.write(replacer);
+    }
+
     <T> void peek(Class<T> clazz, Consumer<JsonObjectElement<T>> consumer) {
-        JsonObjectElement<T> retrieved = this.retrieve(clazz);
+        this.peek(readerFor(clazz), consumer);
+    }
+
+    <T> void peek(ObjectReader reader, Consumer<JsonObjectElement<T>> consumer) {
+        JsonObjectElement<T> retrieved = this.retrieve(reader);
         writer.writeJsonElement(retrieved);
         consumer.accept(retrieved);
     }
 
     <T> void consume(Class<T> clazz, Consumer<JsonObjectElement<T>> consumer) {
-        JsonObjectElement<T> retrieved = this.retrieve(clazz);
+        this.consume(readerFor(clazz), consumer);
+    }
+
+    <T> void consume(ObjectReader reader, Consumer<JsonObjectElement<T>> consumer) {
+        JsonObjectElement<T> retrieved = this.retrieve(reader);
         consumer.accept(retrieved);
     }
 
     <T> void peekAll(Class<T> clazz, Consumer<JsonArrayElement<T>> consumer) {
-        JsonArrayElement<T> retrieved = this.retrieveAll(clazz);
+        this.peekAll(readerFor(clazz), consumer);
+    }
+
+    <T> void peekAll(ObjectReader reader, Consumer<JsonArrayElement<T>> consumer) {
+        JsonArrayElement<T> retrieved = this.retrieveAll(reader);
         writer.writeJsonElement(retrieved);
         consumer.accept(retrieved);
     }
 
     <T> void consumeAll(Class<T> clazz, Consumer<JsonArrayElement<T>> consumer) {
-        JsonArrayElement<T> retrieved = this.retrieveAll(clazz);
+        this.consumeAll(readerFor(clazz), consumer);
+    }
+
+    <T> void consumeAll(ObjectReader reader, Consumer<JsonArrayElement<T>> consumer) {
+        JsonArrayElement<T> retrieved = this.retrieveAll(reader);
         consumer.accept(retrieved);
     }
 
+    /**
+     * Will decode the base64 string value of the current field into the provided {@link OutputStream}. Nothing is written
+     * to the output of the processor.
+     *
+     * @param target supplies the {@link OutputStream} receiving the decoded bytes, it is closed once the value is written
+     *
+     * @implNote The value is decoded straight from the input buffer of the parser, chunk by chunk
+     */
+    @SneakyThrows
+    void consumeBinary(Supplier<OutputStream> target) {
+        ensureNextTokenIsOfTypeString();
+
+        try (OutputStream outputStream = target.get()) {
+            parser.readBinaryValue(outputStream);
+        }
+    }
+
     /**
      * Will retrieve an object of type {@link T} at current location
      *
-     * @param clazz the class of {@link T}
+     * @param reader the {@link ObjectReader} of {@link T}
      * @return the {@link JsonObjectElement} which holds current field name and the retrieved object
      *
      * @implNote Before attempting to retrieve the object we ensure that the cursor is set on the START_OBJECT to
      * be able to retrieve an object
      */
     @SneakyThrows
-    private <T> JsonObjectElement<T> retrieve(Class<T> clazz) {
+    private <T> JsonObjectElement<T> retrieve(ObjectReader reader) {
         parser.nextToken();
 
         return new JsonObjectElement<>(
                 parser.getCurrentName(),
-                parser.readValueAs(clazz)
+                reader.readValue(parser)
         );
     }
 
     /**
      * Will retrieve a list of objects of type {@link T} at current location
      *
-     * @param clazz the class of {@link T}
+     * @param reader the {@link ObjectReader} of {@link T}
      * @return the {@link JsonArrayElement} which holds current field name and the retrieved list
      *
      * @implNote Before attempting to retrieve the list we ensure that the cursor is set on the START_ARRAY to
@@ -127,7 +307,7 @@ class JsonPathProcessor implements AutoCloseable {
      * After that we move one token further on the first START_OBJECT or VALUE to start retrieving
      */
     @SneakyThrows
-    private <T> JsonArrayElement<T> retrieveAll(Class<T> clazz) {
+    private <T> JsonArrayElement<T> retrieveAll(ObjectReader reader) {
         parser.nextToken();
         ensureCurrentTokenIsOfTypeStartArray();
 
@@ -136,7 +316,7 @@ class JsonPathProcessor implements AutoCloseable {
             return new JsonArrayElement<>(parser.getCurrentName(), elements);
         }
 
-        parser.readValuesAs(clazz).forEachRemaining(elements::add);
+        reader.<T>readValues(parser).forEachRemaining(elements::add);
         return new JsonArrayElement<>(parser.getCurrentName(), elements);
     }
 
@@ -153,8 +333,16 @@ class JsonPathProcessor implements AutoCloseable {
      * and we also write END_ARRAY to the {@link OutputStream} ensuring a valid JSON Array is written
      */
     <T, R> void mapEach(Class<T> clazz, Function<T, R> mapper) {
+        this.mapEach(readerFor(clazz), mapper);
+    }
+
+    /**
+     * Maps each element the same way {@link #mapEach(Class, Function)} does, binding it with the provided
+     * {@link ObjectReader} whose deserializer has already been resolved
+     */
+    <T, R> void mapEach(ObjectReader reader, Function<T, R> mapper) {
         ensureStartOfArrayIsWritten();
-        Iterator<T> iterator = this.getIterator(clazz);
+        Iterator<T> iterator = this.getIterator(reader);
 
         while (iterator.hasNext()) {
             T item = iterator.next();
@@ -166,13 +354,328 @@ class JsonPathProcessor implements AutoCloseable {
         this.stopIteration();
     }
 
+    <T> void filterEach(Class<T> clazz, Predicate<T> predicate) {
+        this.filterEach(readerFor(clazz), predicate);
+    }
+
+    <T> void filterEach(ObjectReader reader, Predicate<T> predicate) {
+        this.filterEach(element -> predicate.test(element.bind(reader)));
+    }
+
+    void filterEach(Collection<String> fields, Predicate<ObjectNode> predicate) {
+        this.filterEach(element -> predicate.test(element.project(fields)));
+    }
+
+    /**
+     * Will write to the {@link OutputStream} only the elements of the current array accepted by the provided predicate
+     *
+     * @param predicate the {@link Predicate} deciding if a buffered element is kept
+     *
+     * @implNote Before iterating we ensure that the cursor is set on the START_ARRAY token and that it is written in our
+     * {@link OutputStream}.
+     * Each element is copied as raw tokens into a {@link JsonElementBuffer}, which is the only part of the array held in memory.
+     * Kept elements are written from the buffer as they were read, rejected elements are dropped.
+     * At the end we stop the iteration the same way {@link #mapEach(Class, Function)} does
+     */
+    private void filterEach(Predicate<JsonElementBuffer> predicate) {
+        ensureStartOfArrayIsWritten();
+
+        while (nextArrayElement()) {
+            JsonElementBuffer element = JsonElementBuffer.copyOf(parser);
+
+            if (predicate.test(element)) {
+                writer.write(element);
+            }
+        }
+
+        this.stopIteration();
+    }
+
+    /**
+     * Will write to the {@link OutputStream} only the first element of the current array for every key, in their
+     * original order
+     *
+     * @param deduplicator the {@link Deduplicator} recognising the repeated keys
+     *
+     * @implNote Elements are buffered and written the same way {@link #filterEach(Predicate)} does
+     */
+    void dedupEach(Deduplicator deduplicator) {
+        try (Deduplicator.Run run = deduplicator.start()) {
+            this.filterEach(run::isFirstOccurrence);
+        }
+    }
+
+    /**
+     * Will write to the {@link OutputStream} only the elements of the current array whose fingerprint is not known
+     * to the provided {@link ContentFingerprinter}
+     *
+     * @implNote Elements are buffered and written the same way {@link #filterEach(Predicate)} does
+     */
+    void skipUnchanged(ContentFingerprinter fingerprinter) {
+        this.filterEach(fingerprinter::isChanged);
+    }
+
+    /**
+     * Will fingerprint every element of the current array straight from the parser, nothing is buffered or written
+     *
+     * @param consumer called with the key and the fingerprint of every element
+     */
+    void forEachFingerprint(ContentFingerprinter fingerprinter, Consumer<ElementFingerprint> consumer) {
+        ensureCurrentTokenIsOfTypeStartArray();
+
+        while (nextArrayElement()) {
+            consumer.accept(fingerprinter.fingerprint(parser));
+        }
+
+        path.updatePath(JsonToken.END_ARRAY);
+    }
+
+    /**
+     * Will write the elements of the current array to the {@link OutputStream} sorted by the provided {@link ArraySorter}
+     *
+     * @param sorter the {@link ArraySorter} defining the key and the memory budget
+     *
+     * @implNote Each element is copied as raw tokens and handed to the sorter as UTF-8 bytes. Once the end of the array
+     * is reached the sorted bytes are written as raw values, then the iteration is stopped the same way
+     * {@link #mapEach(Class, Function)} does
+     */
+    void sortEach(ArraySorter sorter) {
+        ensureStartOfArrayIsWritten();
+
+        try (ArraySorter.Run run = sorter.start()) {
+            while (nextArrayElement()) {
+                run.add(JsonElementBuffer.copyOf(parser));
+            }
+            run.forEachSorted(writer::writeRaw);
+        }
+
+        this.stopIteration();
+    }
+
+    /**
+     * Will write to the {@link OutputStream} the elements of the current array enriched by the provided {@link ArrayJoiner}
+     *
+     * @implNote Elements are buffered the same way {@link #filterEach(Predicate)} does, only the matched element of the
+     * index is bound
+     */
+    void joinEach(ArrayJoiner joiner) {
+        ensureStartOfArrayIsWritten();
+
+        JsonElementBuffer element;
+        while ((element = nextBufferedElement()) != null) {
+            joiner.join(element, writer);
+        }
+
+        this.stopIteration();
+    }
+
+    /**
+     * Will write to the {@link OutputStream} the elements of the current array together with the elements of the other
+     * sources of the provided {@link MultiSourceJsonProcessor.Run}, concatenated or merged by key
+     *
+     * @implNote Elements of the current array are buffered as raw tokens the same way {@link #filterEach(Predicate)}
+     * does, then the iteration is stopped the same way {@link #mapEach(Class, Function)} does
+     */
+    void mergeEach(MultiSourceJsonProcessor.Run run) {
+        ensureStartOfArrayIsWritten();
+
+        run.forEachElement(this::nextBufferedElement, writer::write);
+
+        this.stopIteration();
+    }
+
+    /**
+     * Moves to the next element of the current array and copies it as raw tokens
+     *
+     * @return the {@link JsonElementBuffer} holding the element, null once the end of the array is reached
+     */
+    JsonElementBuffer nextBufferedElement() {
+        return nextArrayElement() ? JsonElementBuffer.copyOf(parser) : null;
+    }
+
+    /**
+     * Will read the first element of the current array for every key as an object of type {@link T} and call the
+     * provided {@link Consumer}. Nothing is written.
+     *
+     * @param clazz the class of {@link T}
+     * @param deduplicator the {@link Deduplicator} recognising the repeated keys
+     * @param consumer the {@link Consumer} called for every element kept
+     */
+    <T> void forEachDistinct(Class<T> clazz, Deduplicator deduplicator, Consumer<T> consumer) {
+        ensureCurrentTokenIsOfTypeStartArray();
+
+        try (Deduplicator.Run run = deduplicator.start()) {
+            while (nextArrayElement()) {
+                JsonElementBuffer element = JsonElementBuffer.copyOf(parser);
+
+                if (run.isFirstOccurrence(element)) {
+                    consumer.accept(element.bind(clazz));
+                }
+            }
+        }
+
+        path.updatePath(JsonToken.END_ARRAY);
+    }
+
+    /**
+     * Will read a sample of the elements of the current array, elements left out by the {@link Sampler} being skipped
+     * without being bound. Nothing is written.
+     *
+     * @return the sampled elements, in the order they appear in the array
+     */
+    @SneakyThrows
+    <T> List<T> sample(Class<T> clazz, Sampler sampler) {
+        ensureCurrentTokenIsOfTypeStartArray();
+        Sampler.Run<T> run = sampler.start();
+
+        long index = 0;
+        while (nextArrayElement()) {
+            if (run.select(index++)) {
+                run.add(parser.readValueAs(clazz));
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        path.updatePath(JsonToken.END_ARRAY);
+        return run.getSample();
+    }
+
+    /**
+     * Will read each element of the current array as an object of type {@link T} and call the provided {@link Consumer}
+     *
+     * @param clazz the class of {@link T}
+     * @param consumer the {@link Consumer} called for every element
+     *
+     * @implNote Before iterating we ensure that the cursor is set on the START_ARRAY token. Nothing is written.
+     * At the end we update the path with END_ARRAY, popping the START_ARRAY added when the array was entered
+     */
+    @SneakyThrows
+    <T> void forEach(Class<T> clazz, Consumer<T> consumer) {
+        ensureCurrentTokenIsOfTypeStartArray();
+
+        while (nextArrayElement()) {
+            consumer.accept(parser.readValueAs(clazz));
+        }
+
+        path.updatePath(JsonToken.END_ARRAY);
+    }
+
+    /**
+     * Will add the value at the current cursor position to the provided {@link NumericStatistics} if it is a number.
+     * Any other token is ignored and the cursor is never moved.
+     *
+     * @implNote Integral values that fit in a long are read as long to keep the sum exact, every other number is read as double
+     */
+    @SneakyThrows
+    void aggregate(NumericStatistics statistics) {
+        JsonToken token = parser.currentToken();
+
+        if (JsonToken.VALUE_NUMBER_INT.equals(token) && parser.getNumberType() != JsonParser.NumberType.BIG_INTEGER) {
+            statistics.add(parser.getLongValue());
+        } else if (token != null && token.isNumeric()) {
+            statistics.add(parser.getDoubleValue());
+        }
+    }
+
+    /**
+     * Will record the token at the current cursor position in the provided {@link DocumentProfile}. The cursor is never moved.
+     *
+     * @implNote String values are parsed lazily, they are finished first so that their end is known
+     */
+    @SneakyThrows
+    void profile(DocumentProfile profile) {
+        JsonToken token = parser.currentToken();
+
+        if (JsonToken.FIELD_NAME.equals(token)) {
+            profile.field(parser.getCurrentName());
+            return;
+        }
+        if (JsonToken.VALUE_STRING.equals(token)) {
+            parser.finishToken();
+        }
+
+        profile.token(token, byteOffsetBase + parser.getTokenLocation().getByteOffset(), getByteOffset());
+    }
+
+    /**
+     * Will write the elements of the current array to the shards of the provided {@link ArraySplitter}.
+     * An empty array is written to the {@link OutputStream} in place of the split one.
+     *
+     * @param splitter the {@link ArraySplitter} receiving the elements
+     */
+    void splitEach(ArraySplitter splitter) {
+        ensureStartOfArrayIsWritten();
+        feed(splitter);
+        this.stopIteration();
+    }
+
+    /**
+     * Will send the elements of the current array to the shards of the provided {@link ArraySplitter}. Nothing is written.
+     *
+     * @param splitter the {@link ArraySplitter} receiving the elements
+     */
+    void split(ArraySplitter splitter) {
+        ensureCurrentTokenIsOfTypeStartArray();
+        feed(splitter);
+        path.updatePath(JsonToken.END_ARRAY);
+    }
+
+    /**
+     * @implNote Each element is copied as raw tokens on the parsing thread and handed to the writer of its partition.
+     * The run is closed once the end of the array is reached, waiting for all the shards to be written
+     */
+    private void feed(ArraySplitter splitter) {
+        try (ArraySplitter.Run run = splitter.start()) {
+            while (nextArrayElement()) {
+                run.accept(JsonElementBuffer.copyOf(parser));
+            }
+        }
+    }
+
+    /**
+     * Exports every element of the array the cursor is on through the provided {@link ArrayExporter}
+     *
+     * @implNote The values of the columns are read from the tokens of each element, elements are neither bound nor copied
+     */
+    void export(ArrayExporter exporter) {
+        ensureCurrentTokenIsOfTypeStartArray();
+        try (ArrayExporter.Run run = exporter.start()) {
+            while (nextArrayElement()) {
+                run.accept(parser);
+            }
+        }
+        path.updatePath(JsonToken.END_ARRAY);
+    }
+
+    /**
+     * Moves the cursor on the first token of the next array element
+     *
+     * @return true if the cursor is on an element, false if the end of the array was reached
+     */
     @SneakyThrows
-    private <T> Iterator<T> getIterator(Class<T> clazz) {
+    boolean nextArrayElement() {
+        return !JsonToken.END_ARRAY.equals(parser.nextToken());
+    }
+
+    @SneakyThrows
+    private <T> Iterator<T> getIterator(ObjectReader reader) {
         if (JsonToken.END_ARRAY.equals(parser.nextToken())) {
             return Collections.emptyIterator();
         }
 
-        return readValuesAs(clazz);
+        return reader.readValues(parser);
+    }
+
+    /**
+     * @return an {@link ObjectReader} of the provided class, created by the {@link ObjectMapper} of the parser
+     */
+    private ObjectReader readerFor(Class<?> clazz) {
+        return getMapper().readerFor(clazz);
+    }
+
+    ObjectMapper getMapper() {
+        return (ObjectMapper) parser.getCodec();
     }
 
     private void stopIteration() {
@@ -193,6 +696,17 @@ class JsonPathProcessor implements AutoCloseable {
         return parser.readValuesAs(clazz);
     }
 
+    /**
+     * Reads the element at the current cursor position as an object of type {@link T}
+     *
+     * @param clazz the class of {@link T}
+     * @return the read object
+     */
+    @SneakyThrows
+    <T> T readValueAs(Class<T> clazz) {
+        return parser.readValueAs(clazz);
+    }
+
     boolean hasNext() {
         return path.hasNext();
     }
@@ -230,6 +744,30 @@ class JsonPathProcessor implements AutoCloseable {
         }
     }
 
+    /**
+     * @return the offset of the byte right after the last token read, relative to the start of the input
+     */
+    long getByteOffset() {
+        return byteOffsetBase + parser.getCurrentLocation().getByteOffset();
+    }
+
+    /**
+     * Captures the current position as a {@link Checkpoint}. Must be called between two elements of the array being read.
+     *
+     * @param elementIndex the number of elements of the array read so far
+     */
+    Checkpoint checkpoint(long elementIndex) {
+        return Checkpoint.of(getByteOffset(), elementIndex, path);
+    }
+
+    JsonToken currentToken() {
+        return parser.currentToken();
+    }
+
+    boolean isCurrentTokenNumeric() {
+        return parser.currentToken() != null && parser.currentToken().isNumeric();
+    }
+
     void writeToken() {
         writer.writeToken();
     }
@@ -254,6 +792,15 @@ class JsonPathProcessor implements AutoCloseable {
         }
     }
 
+    @SneakyThrows
+    private void ensureNextTokenIsOfTypeString() {
+        JsonToken token = parser.nextToken();
+
+        if (!JsonToken.VALUE_STRING.equals(token)) {
+            throw new UnsupportedOperationException("Expected a string value, found " + token);
+        }
+    }
+
     private void ensureCurrentTokenIsOfTypeFieldName() {
         JsonToken currentToken = parser.getCurrentToken();
 
@@ -271,8 +818,11 @@ class JsonPathProcessor implements AutoCloseable {
 
     @Override
     public void close() throws Exception {
-        this.parser.close();
-        this.writer.close();
+        try {
+            this.parser.close();
+        } finally {
+            this.writer.close();
+        }
     }
 
 }
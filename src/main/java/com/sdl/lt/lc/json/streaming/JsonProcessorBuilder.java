@@ -1,16 +1,28 @@
 package com.sdl.lt.lc.json.streaming;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.sdl.lt.lc.json.streaming.element.JsonArrayElement;
 import com.sdl.lt.lc.json.streaming.element.JsonObjectElement;
 import com.sdl.lt.lc.json.streaming.matchers.PathMatcher;
 import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
 
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * Class that provides access to either a {@link VisitJsonProcessor} or {@link ReadJsonProcessor}
@@ -22,9 +34,10 @@ import java.util.function.Function;
  * @author anegruti
  * @since 5/24/2022
  */
-@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
 public class JsonProcessorBuilder implements AutoCloseable {
 
+    @Getter(AccessLevel.PACKAGE)
     private final JsonPathProcessor processor;
 
     public static JsonProcessorBuilder initBuilder(InputStream inputStream, OutputStream outputStream) {
@@ -46,6 +59,38 @@ public class JsonProcessorBuilder implements AutoCloseable {
         return new JsonProcessorBuilder(processor);
     }
 
+    /**
+     * Initialises a {@link JsonProcessorBuilder} whose processing run is bounded by the provided {@link ProcessingLimits}
+     *
+     * @param inputStream the {@link InputStream} from which the JSON will be read
+     * @param outputStream the {@link OutputStream} to which the JSON will be written
+     * @param mapper the specific {@link ObjectMapper} to be used
+     * @param limits the {@link ProcessingLimits} checked on every token read
+     * @return the {@link JsonProcessorBuilder} used to create a {@link VisitJsonProcessor} and to create Transformer's
+     */
+    public static JsonProcessorBuilder initBuilder(InputStream inputStream, OutputStream outputStream, ObjectMapper mapper,
+                                                   ProcessingLimits limits) {
+        JsonPathProcessor processor = JsonPathProcessor.init(inputStream, outputStream, mapper, limits);
+
+        return new JsonProcessorBuilder(processor);
+    }
+
+    /**
+     * Initialises a {@link JsonProcessorBuilder} whose input is validated against a {@link JsonSchema} in the same pass
+     *
+     * @param inputStream the {@link InputStream} from which the JSON will be read
+     * @param outputStream the {@link OutputStream} to which the JSON will be written
+     * @param mapper the specific {@link ObjectMapper} to be used
+     * @param validation the {@link SchemaValidation} checking every token read
+     * @return the {@link JsonProcessorBuilder} used to create a {@link VisitJsonProcessor} and to create Transformer's
+     */
+    public static JsonProcessorBuilder initBuilder(InputStream inputStream, OutputStream outputStream, ObjectMapper mapper,
+                                                   SchemaValidation validation) {
+        JsonPathProcessor processor = JsonPathProcessor.init(inputStream, outputStream, mapper, validation);
+
+        return new JsonProcessorBuilder(processor);
+    }
+
     public static ReadJsonProcessor initProcessor(InputStream inputStream) {
         return initProcessor(inputStream, new ObjectMapper());
     }
@@ -64,6 +109,124 @@ public class JsonProcessorBuilder implements AutoCloseable {
         return new ReadJsonProcessor(processor);
     }
 
+    /**
+     * Initialises a {@link ReadJsonProcessor} whose input is validated against a {@link JsonSchema} in the same pass.
+     * Only the tokens read are validated, the document is fully validated once read to its end.
+     *
+     * @param inputStream the {@link InputStream} from which the JSON will be read
+     * @param mapper the specific {@link ObjectMapper} to be used
+     * @param validation the {@link SchemaValidation} checking every token read
+     * @return the {@link ReadJsonProcessor} used to read parts of a JSON and skipping the rest
+     */
+    public static ReadJsonProcessor initProcessor(InputStream inputStream, ObjectMapper mapper, SchemaValidation validation) {
+        JsonPathProcessor processor = JsonPathProcessor.init(inputStream, OutputStream.nullOutputStream(), mapper, validation);
+
+        return new ReadJsonProcessor(processor);
+    }
+
+    /**
+     * Initialises a {@link ReadJsonProcessor} whose processing run is bounded by the provided {@link ProcessingLimits}
+     *
+     * @param inputStream the {@link InputStream} from which the JSON will be read
+     * @param mapper the specific {@link ObjectMapper} to be used
+     * @param limits the {@link ProcessingLimits} checked on every token read
+     * @return the {@link ReadJsonProcessor} used to read parts of a JSON and skipping the rest
+     */
+    public static ReadJsonProcessor initProcessor(InputStream inputStream, ObjectMapper mapper, ProcessingLimits limits) {
+        JsonPathProcessor processor = JsonPathProcessor.init(inputStream, OutputStream.nullOutputStream(), mapper, limits);
+
+        return new ReadJsonProcessor(processor);
+    }
+
+    public static ReadJsonProcessor resumeProcessor(Path path, Checkpoint checkpoint) {
+        return resumeProcessor(path, checkpoint, new ObjectMapper());
+    }
+
+    /**
+     * Initialises a {@link ReadJsonProcessor} that continues reading the provided file from the {@link Checkpoint} taken
+     * by a previous run with {@link ReadJsonProcessor#streamValues(PathMatcher, Class, long, Consumer)}
+     *
+     * @param path the {@link Path} of the same file the checkpoint was taken on
+     * @param checkpoint the {@link Checkpoint} to resume from
+     * @param mapper the specific {@link ObjectMapper} to be used
+     * @return the {@link ReadJsonProcessor} whose next stream over the same path starts with the element following the checkpoint
+     */
+    @SneakyThrows
+    public static ReadJsonProcessor resumeProcessor(Path path, Checkpoint checkpoint, ObjectMapper mapper) {
+        return resumeProcessor(FileChannel.open(path, StandardOpenOption.READ), checkpoint, mapper);
+    }
+
+    /**
+     * @see #resumeProcessor(Path, Checkpoint, ObjectMapper)
+     * @implNote The channel is closed together with the processor
+     */
+    @SneakyThrows
+    public static ReadJsonProcessor resumeProcessor(FileChannel channel, Checkpoint checkpoint, ObjectMapper mapper) {
+        InputStream remaining = Channels.newInputStream(channel.position(checkpoint.getByteOffset()));
+        JsonPathProcessor processor = JsonPathProcessor.resume(remaining, checkpoint, mapper);
+
+        return new ReadJsonProcessor(processor).resumedFrom(checkpoint);
+    }
+
+    public static FollowJsonProcessor initFollower(Path path, CheckpointStore store) {
+        return initFollower(path, store, Duration.ofMillis(500), 100, new ObjectMapper());
+    }
+
+    /**
+     * Initialises a {@link FollowJsonProcessor} reading the provided file as it grows, starting from the last
+     * {@link Checkpoint} of the {@link CheckpointStore}, or from the start of the file if there is none
+     *
+     * @param path the {@link Path} of the followed file
+     * @param store the {@link CheckpointStore} keeping the position reached across runs
+     * @param pollInterval how long to wait before checking again for new bytes once the end of the file is reached
+     * @param commitInterval the number of values read between two commits to the store
+     * @param mapper the specific {@link ObjectMapper} to be used
+     * @return the {@link FollowJsonProcessor}
+     */
+    @SneakyThrows
+    public static FollowJsonProcessor initFollower(Path path, CheckpointStore store, Duration pollInterval, long commitInterval,
+                                                   ObjectMapper mapper) {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+
+        return new FollowJsonProcessor(channel, store, pollInterval, commitInterval, mapper);
+    }
+
+    public static TeeJsonProcessorBuilder initTee(InputStream inputStream) {
+        return initTee(inputStream, new ObjectMapper());
+    }
+
+    /**
+     * Initialises a {@link TeeJsonProcessorBuilder} used to produce several differently transformed outputs from a
+     * single parse of the provided {@link InputStream}
+     *
+     * @param inputStream the {@link InputStream} from which the JSON will be read
+     * @param mapper the specific {@link ObjectMapper} to be used by every branch
+     * @return the {@link TeeJsonProcessorBuilder} used to register the branches
+     */
+    public static TeeJsonProcessorBuilder initTee(InputStream inputStream, ObjectMapper mapper) {
+        return TeeJsonProcessorBuilder.init(JsonPathProcessor.createParser(inputStream, mapper), mapper);
+    }
+
+    /**
+     * Initialises a {@link TeeJsonProcessorBuilder} whose processing run is bounded by the provided {@link ProcessingLimits}
+     *
+     * @see #initTee(InputStream, ObjectMapper)
+     */
+    public static TeeJsonProcessorBuilder initTee(InputStream inputStream, ObjectMapper mapper, ProcessingLimits limits) {
+        return TeeJsonProcessorBuilder.init(JsonPathProcessor.createParser(inputStream, mapper, limits), mapper);
+    }
+
+    /**
+     * Initialises a {@link MultiSourceJsonProcessor.Builder} used to combine the array found at the provided path in
+     * several JSON sources into the envelope of the first source
+     *
+     * @param pathMatcher the path of the array (needs to stop at start of an array)
+     * @return the {@link MultiSourceJsonProcessor.Builder} to which the sources are added
+     */
+    public static MultiSourceJsonProcessor.Builder initMultiSource(PathMatcher pathMatcher) {
+        return new MultiSourceJsonProcessor.Builder(Objects.requireNonNull(pathMatcher));
+    }
+
     /**
      * Returns a {@link JsonElementTransformer} that will replace the element found at the provided path
      *
@@ -81,6 +244,21 @@ public class JsonProcessorBuilder implements AutoCloseable {
         );
     }
 
+    /**
+     * Returns a {@link JsonElementTransformer} that will remove the field found at the provided path, value included
+     *
+     * @param pathMatcher the path to be used when finding where to apply the executor
+     * @return a {@link JsonElementTransformer}
+     * @see JsonElementTransformer
+     * @see JsonVisitor
+     */
+    public JsonElementTransformer remove(PathMatcher pathMatcher) {
+        return new JsonElementTransformer(
+                pathMatcher,
+                this.processor::remove
+        );
+    }
+
     /**
      * Returns a {@link JsonElementTransformer} that will read an object of type {@link T} and call the provided
      * {@link Consumer}
@@ -180,6 +358,194 @@ public class JsonProcessorBuilder implements AutoCloseable {
         );
     }
 
+    /**
+     * Returns a {@link JsonElementTransformer} that will map each element of type {@link T} found at the provided
+     * {@link PathMatcher} the same way {@link #mapEach(PathMatcher, Class, Function)} does, running the mapper only for
+     * elements not found in the provided {@link MappingCache}
+     *
+     * @param pathMatcher the path to be used when finding where to apply the executor
+     * @param clazz the class of {@link T}, used as cache key. It has to implement equals and hashCode
+     * @param mapper the {@link Function} used to map from {@link T} to {@link R}
+     * @param cache the {@link MappingCache} holding the already mapped elements, it can be shared with other processors
+     * @param <T> object type of consumed element
+     * @param <R> object type of result element
+     * @return a {@link JsonElementTransformer}
+     * @see JsonElementTransformer
+     * @see JsonVisitor
+     */
+    public <T, R> JsonElementTransformer mapEachCached(PathMatcher pathMatcher, Class<T> clazz, Function<T, R> mapper,
+                                                       MappingCache<T, R> cache) {
+        return mapEachCached(pathMatcher, clazz, Function.identity(), mapper, cache);
+    }
+
+    /**
+     * Returns a {@link JsonElementTransformer} that will map each element of type {@link T} found at the provided
+     * {@link PathMatcher}, running the mapper only for elements whose key is not found in the provided {@link MappingCache}
+     *
+     * @param pathMatcher the path to be used when finding where to apply the executor
+     * @param clazz the class of {@link T}
+     * @param keyExtractor the {@link Function} extracting the cache key of an element, for instance its id
+     * @param mapper the {@link Function} used to map from {@link T} to {@link R}
+     * @param cache the {@link MappingCache} holding the already mapped elements by key
+     * @param <T> object type of consumed element
+     * @param <K> object type of cache key
+     * @param <R> object type of result element
+     * @return a {@link JsonElementTransformer}
+     * @see #mapEachCached(PathMatcher, Class, Function, MappingCache)
+     */
+    public <T, K, R> JsonElementTransformer mapEachCached(PathMatcher pathMatcher, Class<T> clazz, Function<T, K> keyExtractor,
+                                                          Function<T, R> mapper, MappingCache<K, R> cache) {
+        return mapEach(
+                pathMatcher,
+                clazz,
+                item -> cache.get(keyExtractor.apply(item), key -> mapper.apply(item))
+        );
+    }
+
+    /**
+     * Returns a {@link JsonElementTransformer} that will write only the elements of type {@link T} found at the provided
+     * {@link PathMatcher} which are accepted by the provided {@link Predicate}
+     * Elements are written as they were read, rejected elements are omitted. Only one element is held in memory at a time.
+     *
+     * @param pathMatcher the path to be used when finding where to apply the executor (needs to stop at start of an array)
+     * @param clazz the class of {@link T}
+     * @param <T> object type of tested element
+     * @param predicate the {@link Predicate} deciding which elements are kept
+     * @return a {@link JsonElementTransformer}
+     * @see JsonElementTransformer
+     * @see JsonVisitor
+     */
+    public <T> JsonElementTransformer filterEach(PathMatcher pathMatcher, Class<T> clazz, Predicate<T> predicate) {
+        return new JsonElementTransformer(
+                pathMatcher,
+                () -> this.processor.filterEach(clazz, predicate)
+        );
+    }
+
+    /**
+     * Returns a {@link JsonElementTransformer} that will write only the elements found at the provided {@link PathMatcher}
+     * which are accepted by the provided {@link Predicate}
+     * The predicate only sees the requested top level fields of each element, every other value is skipped without being bound.
+     *
+     * @param pathMatcher the path to be used when finding where to apply the executor (needs to stop at start of an array)
+     * @param fields the names of the top level fields the predicate needs
+     * @param predicate the {@link Predicate} deciding which elements are kept, based on an {@link ObjectNode} holding only the requested fields
+     * @return a {@link JsonElementTransformer}
+     * @see JsonElementTransformer
+     * @see JsonVisitor
+     */
+    public JsonElementTransformer filterEach(PathMatcher pathMatcher, Set<String> fields, Predicate<ObjectNode> predicate) {
+        return new JsonElementTransformer(
+                pathMatcher,
+                () -> this.processor.filterEach(fields, predicate)
+        );
+    }
+
+    /**
+     * Returns a {@link JsonElementTransformer} that will drop the elements of the array found at the provided path whose
+     * key was already seen, keeping the first occurrence of every key in the original order
+     *
+     * @param pathMatcher the path of the array (needs to stop at start of an array)
+     * @param deduplicator the {@link Deduplicator} defining the key and how seen keys are remembered
+     * @return a {@link JsonElementTransformer}
+     * @see JsonElementTransformer
+     * @see JsonVisitor
+     */
+    public JsonElementTransformer dedupEach(PathMatcher pathMatcher, Deduplicator deduplicator) {
+        return new JsonElementTransformer(
+                pathMatcher,
+                () -> this.processor.dedupEach(deduplicator)
+        );
+    }
+
+    /**
+     * Returns a {@link JsonElementTransformer} that will drop the elements of the array found at the provided path whose
+     * content fingerprint is known to the provided {@link ContentFingerprinter}, keeping only new or changed elements
+     *
+     * @param pathMatcher the path of the array (needs to stop at start of an array)
+     * @param fingerprinter the {@link ContentFingerprinter} holding the known fingerprints
+     * @return a {@link JsonElementTransformer}
+     * @see JsonElementTransformer
+     * @see JsonVisitor
+     */
+    public JsonElementTransformer skipUnchanged(PathMatcher pathMatcher, ContentFingerprinter fingerprinter) {
+        return new JsonElementTransformer(
+                pathMatcher,
+                () -> this.processor.skipUnchanged(fingerprinter)
+        );
+    }
+
+    /**
+     * Returns a {@link JsonElementTransformer} that will enrich the elements of the array found at the provided path with
+     * the elements of a {@link JoinIndex} sharing their key
+     *
+     * @param pathMatcher the path of the array (needs to stop at start of an array)
+     * @param joiner the {@link ArrayJoiner} defining the key, the index and the kind of join
+     * @return a {@link JsonElementTransformer}
+     * @see JsonElementTransformer
+     * @see JsonVisitor
+     */
+    public JsonElementTransformer joinEach(PathMatcher pathMatcher, ArrayJoiner joiner) {
+        return new JsonElementTransformer(
+                pathMatcher,
+                () -> this.processor.joinEach(joiner)
+        );
+    }
+
+    /**
+     * Returns a {@link JsonElementTransformer} that will sort the elements of the array found at the provided path by
+     * the key of the provided {@link ArraySorter}. Arrays larger than the memory budget are sorted through temporary files.
+     *
+     * @param pathMatcher the path of the array (needs to stop at start of an array)
+     * @param sorter the {@link ArraySorter} defining the key, the order and the memory budget
+     * @return a {@link JsonElementTransformer}
+     * @see JsonElementTransformer
+     * @see JsonVisitor
+     */
+    public JsonElementTransformer sortEach(PathMatcher pathMatcher, ArraySorter sorter) {
+        return new JsonElementTransformer(
+                pathMatcher,
+                () -> this.processor.sortEach(sorter)
+        );
+    }
+
+    /**
+     * Returns a {@link JsonElementTransformer} that will write the elements found at the provided {@link PathMatcher}
+     * to the shards of the provided {@link ArraySplitter}
+     * An empty array is written to the OutputStream in place of the split one.
+     *
+     * @param pathMatcher the path to be used when finding where to apply the executor (needs to stop at start of an array)
+     * @param splitter the {@link ArraySplitter} receiving the elements
+     * @return a {@link JsonElementTransformer}
+     * @see JsonElementTransformer
+     * @see JsonVisitor
+     */
+    public JsonElementTransformer splitEach(PathMatcher pathMatcher, ArraySplitter splitter) {
+        return new JsonElementTransformer(
+                pathMatcher,
+                () -> this.processor.splitEach(splitter)
+        );
+    }
+
+    /**
+     * Returns a {@link JsonElementTransformer} that will decode the base64 string value found at the provided path
+     * straight into an {@link OutputStream}, such as {@link java.nio.file.Files#newOutputStream} or
+     * {@link Channels#newOutputStream(java.nio.channels.WritableByteChannel)}. Neither the encoded nor the decoded value
+     * is held in memory. The field is not written to the OutputStream of the processor.
+     *
+     * @param pathMatcher the path of the field holding the base64 value
+     * @param target supplies the {@link OutputStream} receiving the decoded bytes. It is closed once the value is written
+     * @return a {@link JsonElementTransformer}
+     * @see JsonElementTransformer
+     * @see JsonVisitor
+     */
+    public JsonElementTransformer consumeBinary(PathMatcher pathMatcher, Supplier<OutputStream> target) {
+        return new JsonElementTransformer(
+                pathMatcher,
+                () -> this.processor.consumeBinary(target)
+        );
+    }
+
     /**
      * @return a {@link VisitJsonProcessor} used to visit a JSON provided an implementation of a {@link JsonVisitor}
      * @see VisitJsonProcessor
@@ -0,0 +1,259 @@
+package com.sdl.lt.lc.json.streaming;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * A JSON Schema compiled into checks evaluated on the tokens of a document while it is processed, see
+ * {@link JsonProcessorBuilder#initBuilder(java.io.InputStream, java.io.OutputStream, com.fasterxml.jackson.databind.ObjectMapper, SchemaValidation)}.
+ * Compiling is done once, the compiled schema can be shared by any number of runs.
+ *
+ * The supported keywords are type, enum and const with scalar values, required, properties, additionalProperties,
+ * minProperties, maxProperties, minimum, maximum, exclusiveMinimum, exclusiveMaximum, multipleOf, minLength, maxLength,
+ * pattern, items with a single schema, minItems and maxItems. Annotations such as title, description or format are
+ * ignored. Any other keyword, such as $ref or the combining keywords, is rejected when compiling.
+ *
+ * @author anegruti
+ * @since 12/9/2022
+ */
+public class JsonSchema {
+
+    private static final Set<String> ANNOTATIONS = Set.of("$schema", "$id", "$comment", "title", "description",
+            "default", "examples", "format", "deprecated", "readOnly", "writeOnly", "definitions", "$defs");
+
+    enum Type {
+        OBJECT,
+        ARRAY,
+        STRING,
+        INTEGER,
+        NUMBER,
+        BOOLEAN,
+        NULL
+    }
+
+    private final Node root;
+
+    private JsonSchema(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * @param schema the JSON Schema
+     * @throws UnsupportedOperationException when the schema uses a keyword that is not supported
+     * @throws IllegalArgumentException when a keyword has a value of the wrong type
+     */
+    public static JsonSchema compile(JsonNode schema) {
+        return new JsonSchema(compile(schema, ""));
+    }
+
+    /**
+     * @return a {@link SchemaValidation} for a single run, failing it with a {@link SchemaValidationException} on the
+     * first violation
+     */
+    public SchemaValidation failFast() {
+        return new SchemaValidation(root, true, 1);
+    }
+
+    /**
+     * @return a {@link SchemaValidation} for a single run, collecting up to 1000 violations
+     */
+    public SchemaValidation collectErrors() {
+        return collectErrors(1000);
+    }
+
+    /**
+     * @param maxViolations the number of violations kept, the others being only counted
+     * @return a {@link SchemaValidation} for a single run, collecting the violations
+     */
+    public SchemaValidation collectErrors(int maxViolations) {
+        return new SchemaValidation(root, false, maxViolations);
+    }
+
+    private static Node compile(JsonNode schema, String pointer) {
+        if (schema.isBoolean()) {
+            return schema.booleanValue() ? Node.ANY : Node.NOTHING;
+        }
+        if (!schema.isObject()) {
+            throw new IllegalArgumentException("Schema at '" + pointer + "' has to be an object or a boolean");
+        }
+
+        Node node = new Node();
+        Iterator<Map.Entry<String, JsonNode>> keywords = schema.fields();
+        while (keywords.hasNext()) {
+            Map.Entry<String, JsonNode> keyword = keywords.next();
+            compileKeyword(node, keyword.getKey(), keyword.getValue(), pointer);
+        }
+
+        return node;
+    }
+
+    private static void compileKeyword(Node node, String keyword, JsonNode value, String pointer) {
+        switch (keyword) {
+            case "type":
+                node.types = EnumSet.noneOf(Type.class);
+                if (value.isArray()) {
+                    value.forEach(type -> node.types.add(typeOf(type, pointer)));
+                } else {
+                    node.types.add(typeOf(value, pointer));
+                }
+                break;
+            case "enum":
+                node.values = new ArrayList<>();
+                value.forEach(allowed -> node.values.add(scalar(allowed, keyword, pointer)));
+                break;
+            case "const":
+                node.values = List.of(scalar(value, keyword, pointer));
+                break;
+            case "required":
+                node.required = new ArrayList<>();
+                value.forEach(field -> node.required.add(field.asText()));
+                break;
+            case "properties":
+                node.properties = new HashMap<>();
+                value.fields().forEachRemaining(property -> node.properties.put(
+                        property.getKey(),
+                        compile(property.getValue(), pointer + "/properties/" + property.getKey())
+                ));
+                break;
+            case "additionalProperties":
+                node.additionalProperties = compile(value, pointer + "/additionalProperties");
+                break;
+            case "minProperties":
+                node.minProperties = count(value, keyword, pointer);
+                break;
+            case "maxProperties":
+                node.maxProperties = count(value, keyword, pointer);
+                break;
+            case "minimum":
+                node.minimum = number(value, keyword, pointer);
+                break;
+            case "maximum":
+                node.maximum = number(value, keyword, pointer);
+                break;
+            case "exclusiveMinimum":
+                node.exclusiveMinimum = number(value, keyword, pointer);
+                break;
+            case "exclusiveMaximum":
+                node.exclusiveMaximum = number(value, keyword, pointer);
+                break;
+            case "multipleOf":
+                node.multipleOf = number(value, keyword, pointer);
+                break;
+            case "minLength":
+                node.minLength = count(value, keyword, pointer);
+                break;
+            case "maxLength":
+                node.maxLength = count(value, keyword, pointer);
+                break;
+            case "pattern":
+                node.pattern = Pattern.compile(value.asText());
+                break;
+            case "items":
+                if (value.isArray()) {
+                    throw new UnsupportedOperationException("Tuple items are not supported at '" + pointer + "'");
+                }
+                node.items = compile(value, pointer + "/items");
+                break;
+            case "minItems":
+                node.minItems = count(value, keyword, pointer);
+                break;
+            case "maxItems":
+                node.maxItems = count(value, keyword, pointer);
+                break;
+            default:
+                if (!ANNOTATIONS.contains(keyword)) {
+                    throw new UnsupportedOperationException("Unsupported schema keyword '" + keyword + "' at '" + pointer + "'");
+                }
+        }
+    }
+
+    private static Type typeOf(JsonNode type, String pointer) {
+        try {
+            return Type.valueOf(type.asText().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown type '" + type.asText() + "' at '" + pointer + "'", e);
+        }
+    }
+
+    private static JsonNode scalar(JsonNode value, String keyword, String pointer) {
+        if (value.isContainerNode()) {
+            throw new UnsupportedOperationException("Only scalar values are supported by '" + keyword + "' at '" + pointer + "'");
+        }
+
+        return value;
+    }
+
+    private static BigDecimal number(JsonNode value, String keyword, String pointer) {
+        if (!value.isNumber()) {
+            throw new IllegalArgumentException("'" + keyword + "' has to be a number at '" + pointer + "'");
+        }
+
+        return value.decimalValue();
+    }
+
+    private static long count(JsonNode value, String keyword, String pointer) {
+        if (!value.canConvertToLong() || value.longValue() < 0) {
+            throw new IllegalArgumentException("'" + keyword + "' has to be a non-negative integer at '" + pointer + "'");
+        }
+
+        return value.longValue();
+    }
+
+    /**
+     * The checks of one schema. A null field means the keyword is absent.
+     */
+    static class Node {
+
+        static final Node ANY = new Node();
+        static final Node NOTHING = new Node();
+
+        Set<Type> types;
+        List<JsonNode> values;
+        List<String> required;
+        Map<String, Node> properties;
+        Node additionalProperties;
+        Long minProperties;
+        Long maxProperties;
+        BigDecimal minimum;
+        BigDecimal maximum;
+        BigDecimal exclusiveMinimum;
+        BigDecimal exclusiveMaximum;
+        BigDecimal multipleOf;
+        Long minLength;
+        Long maxLength;
+        Pattern pattern;
+        Node items;
+        Long minItems;
+        Long maxItems;
+
+        /**
+         * @return the schema of the value of the field, null when it is not constrained
+         */
+        Node property(String fieldName) {
+            Node property = properties == null ? null : properties.get(fieldName);
+
+            return property != null ? property : additionalProperties;
+        }
+
+        boolean needsNumber() {
+            return minimum != null || maximum != null || exclusiveMinimum != null || exclusiveMaximum != null
+                    || multipleOf != null || values != null;
+        }
+
+        boolean needsText() {
+            return minLength != null || maxLength != null || pattern != null || values != null;
+        }
+
+    }
+
+}
@@ -2,12 +2,21 @@ package com.sdl.lt.lc.json.streaming;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.sdl.lt.lc.json.streaming.element.JsonElement;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.Flow;
 import java.util.function.BiConsumer;
+import java.util.stream.Stream;
 
 /**
  * @author anegruti
@@ -16,6 +25,7 @@ import java.util.function.BiConsumer;
 @RequiredArgsConstructor
 class JsonWriter implements AutoCloseable, JsonElementWriter {
 
+    private static final int PUBLISHER_BATCH_SIZE = 256;
     private static final Map<Class<?>, BiConsumer<JsonGenerator, Object>> PRIMITIVE_TO_WRITER = Map.of(
             String.class, JsonWriter::writeString,
             Integer.class, JsonWriter::writeInteger,
@@ -37,8 +47,117 @@ class JsonWriter implements AutoCloseable, JsonElementWriter {
         write(element.getElement());
     }
 
+    @Override
+    @SneakyThrows
+    public void startObject(String fieldName) {
+        generator.writeFieldName(fieldName);
+        generator.writeStartObject();
+    }
+
+    @Override
+    @SneakyThrows
+    public void startObject() {
+        generator.writeStartObject();
+    }
+
+    @Override
+    @SneakyThrows
+    public void endObject() {
+        generator.writeEndObject();
+    }
+
+    @Override
+    @SneakyThrows
+    public void startArray(String fieldName) {
+        generator.writeFieldName(fieldName);
+        generator.writeStartArray();
+    }
+
+    @Override
+    @SneakyThrows
+    public void startArray() {
+        generator.writeStartArray();
+    }
+
+    @Override
+    @SneakyThrows
+    public void endArray() {
+        generator.writeEndArray();
+    }
+
+    @Override
+    @SneakyThrows
+    public void writeFieldName(String fieldName) {
+        generator.writeFieldName(fieldName);
+    }
+
+    @Override
+    public void writeValue(Object value) {
+        write(value);
+    }
+
+    @Override
+    public void writeArray(String fieldName, Iterator<?> elements) {
+        startArray(fieldName);
+        while (elements.hasNext()) {
+            write(elements.next());
+        }
+        endArray();
+    }
+
+    @Override
+    public void writeArray(String fieldName, Stream<?> elements) {
+        writeArray(fieldName, elements.sequential().iterator());
+    }
+
+    /**
+     * @implNote The subscription is cancelled if writing stops before the publisher completed
+     */
+    @Override
+    public void writeArray(String fieldName, Flow.Publisher<?> elements) {
+        try (PublisherIterator<?> iterator = new PublisherIterator<>(elements, PUBLISHER_BATCH_SIZE)) {
+            writeArray(fieldName, iterator);
+        }
+    }
+
+    @Override
+    @SneakyThrows
+    public void writeRawValue(String fieldName, InputStream value) {
+        generator.writeFieldName(fieldName);
+        writeRawValue(value);
+    }
+
+    /**
+     * @implNote An empty raw value is written first so that the generator outputs any separator needed and registers
+     * a value in its current context. After flushing the generator the bytes are copied straight to its output target,
+     * decoded as UTF-8 when the target is a {@link Writer}. A generator without such a target gets the whole decoded
+     * value at once.
+     */
+    @Override
+    @SneakyThrows
+    public void writeRawValue(InputStream value) {
+        Object target = generator.getOutputTarget();
+
+        if (target instanceof OutputStream) {
+            generator.writeRawValue("");
+            generator.flush();
+            value.transferTo((OutputStream) target);
+        } else if (target instanceof Writer) {
+            generator.writeRawValue("");
+            generator.flush();
+            new InputStreamReader(value, StandardCharsets.UTF_8).transferTo((Writer) target);
+        } else {
+            generator.writeRawValue(new String(value.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
     @SneakyThrows
     public void write(Object object) {
+        if (object == null) {
+            generator.writeNull();
+            return;
+        }
+
         BiConsumer<JsonGenerator, Object> writer = PRIMITIVE_TO_WRITER.getOrDefault(
                 object.getClass(),
                 JsonWriter::writeObject
@@ -47,6 +166,25 @@ class JsonWriter implements AutoCloseable, JsonElementWriter {
         writer.accept(this.generator, object);
     }
 
+    public void write(JsonElementBuffer element) {
+        element.writeTo(this.generator);
+    }
+
+    /**
+     * Writes an object element with the provided fields added, see {@link JsonElementBuffer#writeTo(JsonGenerator, ObjectNode)}
+     */
+    public void write(JsonElementBuffer element, ObjectNode fields) {
+        element.writeTo(this.generator, fields);
+    }
+
+    /**
+     * Writes an element already serialised as UTF-8 JSON, as it is
+     */
+    @SneakyThrows
+    public void writeRaw(byte[] utf8) {
+        generator.writeRawValue(new RawJsonValue(utf8));
+    }
+
     @Override
     public void close() throws Exception {
         this.generator.flush();
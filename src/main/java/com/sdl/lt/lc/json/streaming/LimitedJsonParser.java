@@ -0,0 +1,132 @@
+package com.sdl.lt.lc.json.streaming;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * A {@link JsonParser} enforcing {@link ProcessingLimits} on every token it reads.
+ * Checking at the parser level covers the tokens read by the processor as well as the ones consumed while binding,
+ * copying or skipping elements.
+ *
+ * @implNote Bytes are counted up to the current location of the parser, the bytes it has buffered ahead of it are not
+ * counted
+ *
+ * @author anegruti
+ * @since 11/16/2022
+ */
+class LimitedJsonParser extends TokenObservingJsonParser {
+
+    private static final int NO_ELEMENT = -1;
+
+    private final ProcessingLimits limits;
+    private final long deadline;
+    private final boolean checkElementSize;
+    private long tokenCount;
+    private int depth;
+    private int elementDepth = NO_ELEMENT;
+    private long elementStart = NO_ELEMENT;
+    private long scalarElementStart = NO_ELEMENT;
+
+    LimitedJsonParser(JsonParser parser, ProcessingLimits limits) {
+        super(parser);
+        this.limits = limits;
+        this.deadline = limits.getTimeout() == null ? Long.MAX_VALUE : System.nanoTime() + limits.getTimeout().toNanos();
+        this.checkElementSize = limits.getMaxElementBytes() != Long.MAX_VALUE;
+    }
+
+    @Override
+    void onToken(JsonToken token) {
+        tokenCount++;
+        if (tokenCount > limits.getMaxTokens()) {
+            fail(ProcessingLimits.Limit.TOKENS);
+        }
+        if (tokenCount % ProcessingLimits.TIME_CHECK_INTERVAL == 0) {
+            checkTime();
+        }
+        if (consumedBytes() > limits.getMaxBytes()) {
+            fail(ProcessingLimits.Limit.BYTES);
+        }
+
+        if (token.isStructStart() && ++depth > limits.getMaxDepth()) {
+            fail(ProcessingLimits.Limit.DEPTH);
+        } else if (token.isStructEnd()) {
+            depth--;
+        }
+
+        if (checkElementSize) {
+            checkElementSize(token);
+        }
+    }
+
+    private void checkTime() {
+        if (System.nanoTime() - deadline > 0) {
+            fail(ProcessingLimits.Limit.TIMEOUT);
+        }
+        if (limits.getCancellationToken().isCancelled() || Thread.currentThread().isInterrupted()) {
+            fail(ProcessingLimits.Limit.CANCELLED);
+        }
+    }
+
+    /**
+     * Tracks the outermost array element currently open, which encloses every other open element.
+     *
+     * @implNote A structured element is measured up to the current position on every token and is closed once the depth
+     * drops below the depth it started at.
+     * Strings are only read when requested, so a string element is measured when the next token is read, up to the start
+     * of that token. Any other scalar element is measured right away.
+     */
+    private void checkElementSize(JsonToken token) {
+        if (scalarElementStart != NO_ELEMENT) {
+            checkElementBytes(delegate.getTokenLocation().getByteOffset() - scalarElementStart);
+            scalarElementStart = NO_ELEMENT;
+        }
+
+        if (elementDepth != NO_ELEMENT) {
+            checkElementBytes(delegate.getCurrentLocation().getByteOffset() - elementStart);
+            if (depth < elementDepth) {
+                elementDepth = NO_ELEMENT;
+            }
+            return;
+        }
+
+        if (!isArrayElementStart(token)) {
+            return;
+        }
+
+        if (token.isStructStart()) {
+            elementStart = delegate.getTokenLocation().getByteOffset();
+            elementDepth = depth;
+        } else if (JsonToken.VALUE_STRING.equals(token)) {
+            scalarElementStart = delegate.getTokenLocation().getByteOffset();
+        } else {
+            checkElementBytes(delegate.getCurrentLocation().getByteOffset() - delegate.getTokenLocation().getByteOffset());
+        }
+    }
+
+    private boolean isArrayElementStart(JsonToken token) {
+        if (JsonToken.FIELD_NAME.equals(token) || token.isStructEnd()) {
+            return false;
+        }
+
+        JsonStreamContext context = delegate.getParsingContext();
+        JsonStreamContext container = token.isStructStart() ? context.getParent() : context;
+
+        return container != null && container.inArray();
+    }
+
+    private void checkElementBytes(long size) {
+        if (size > limits.getMaxElementBytes()) {
+            fail(ProcessingLimits.Limit.ELEMENT_SIZE);
+        }
+    }
+
+    private void fail(ProcessingLimits.Limit limit) {
+        throw new ProcessingLimitExceededException(limit, tokenCount, consumedBytes(), depth, delegate.getCurrentLocation());
+    }
+
+    private long consumedBytes() {
+        return delegate.getCurrentLocation().getByteOffset();
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.sdl.lt.lc.json.streaming;
+
+import lombok.SneakyThrows;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * @author anegruti
+ * @since 12/2/2022
+ */
+class MappedFileOutputStream extends OutputStream {
+
+    private final FileChannel channel;
+    private final long regionSize;
+    private MappedByteBuffer region;
+    private long regionStart = 0;
+    private boolean closed = false;
+
+    @SneakyThrows
+    MappedFileOutputStream(Path path, long regionSize) {
+        if (regionSize <= 0 || regionSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Region size has to be positive and at most " + Integer.MAX_VALUE);
+        }
+
+        this.regionSize = regionSize;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.region = channel.map(FileChannel.MapMode.READ_WRITE, regionStart, regionSize);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureRoom().put((byte) b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+
+        while (len > 0) {
+            MappedByteBuffer buffer = ensureRoom();
+            int copied = Math.min(len, buffer.remaining());
+            buffer.put(b, off, copied);
+            off += copied;
+            len -= copied;
+        }
+    }
+
+    /**
+     * Does not force the mapped bytes to the storage, which is done once on close
+     */
+    @Override
+    public void flush() {
+        // the mapped region is already visible to other readers of the file
+    }
+
+    /**
+     * @implNote The file was extended by whole regions, it is truncated to the bytes actually written
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try (FileChannel closing = channel) {
+            region.force();
+            closing.truncate(regionStart + region.position());
+        }
+    }
+
+    private MappedByteBuffer ensureRoom() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        if (!region.hasRemaining()) {
+            region.force();
+            regionStart += region.position();
+            region = channel.map(FileChannel.MapMode.READ_WRITE, regionStart, regionSize);
+        }
+
+        return region;
+    }
+
+}
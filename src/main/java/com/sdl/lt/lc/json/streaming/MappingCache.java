@@ -0,0 +1,198 @@
+package com.sdl.lt.lc.json.streaming;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * A bounded cache of mapped values used by {@link JsonProcessorBuilder#mapEachCached} to avoid running an expensive
+ * mapper again for elements that were already seen.
+ * The cache is bounded either by the number of entries or by their total weight, the least recently used entries
+ * being evicted first. A single cache can be shared by several processors running on different threads.
+ *
+ * Values mapped to null are never cached, and neither are values of null keys: they are mapped on every lookup and
+ * counted as misses.
+ *
+ * @implNote Caches bounded by a large number of entries spread them over independently locked segments by the hash of
+ * their key, each segment holding in access order a share of the bound, the shares adding up to the bound. Smaller
+ * caches and caches bounded by weight keep a single segment, so that the bound applies to all entries and an entry
+ * only has to fit in the whole bound. The mapper runs outside of any lock, so two threads missing on the same key at
+ * the same time may both compute it, the first value stored being kept.
+ *
+ * @param <K> type of keys
+ * @param <V> type of mapped values
+ * @author anegruti
+ * @since 11/23/2022
+ */
+public class MappingCache<K, V> {
+
+    private static final int MAX_SEGMENTS = 16;
+    private static final long MIN_SEGMENT_SIZE = 64;
+
+    private final List<Segment> segments;
+    private final ToLongBiFunction<? super K, ? super V> weigher;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private MappingCache(long maximumWeight, ToLongBiFunction<? super K, ? super V> weigher, int segmentCount) {
+        this.weigher = weigher;
+        this.segments = new ArrayList<>(segmentCount);
+        for (int i = 0; i < segmentCount; i++) {
+            long share = maximumWeight / segmentCount + (i < maximumWeight % segmentCount ? 1 : 0);
+            segments.add(new Segment(share));
+        }
+    }
+
+    /**
+     * @param maximumSize the maximum number of entries kept
+     * @return a {@link MappingCache} bounded by the number of entries
+     */
+    public static <K, V> MappingCache<K, V> ofMaximumSize(long maximumSize) {
+        checkBound(maximumSize);
+        int segmentCount = (int) Math.max(1, Math.min(MAX_SEGMENTS, Long.highestOneBit(maximumSize / MIN_SEGMENT_SIZE)));
+
+        return new MappingCache<>(maximumSize, (key, value) -> 1, segmentCount);
+    }
+
+    /**
+     * @param maximumWeight the maximum total weight of the entries kept
+     * @param weigher computes the weight of an entry, for instance the length of a mapped text
+     * @return a {@link MappingCache} bounded by the total weight of the entries
+     */
+    public static <K, V> MappingCache<K, V> ofMaximumWeight(long maximumWeight, ToLongBiFunction<? super K, ? super V> weigher) {
+        checkBound(maximumWeight);
+
+        return new MappingCache<>(maximumWeight, weigher, 1);
+    }
+
+    private static void checkBound(long bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("Cache bound has to be positive");
+        }
+    }
+
+    /**
+     * Returns the value cached for the key, mapping it and caching the result if there is none
+     *
+     * @param key the key, which has to implement {@link Object#equals(Object)} and {@link Object#hashCode()}, a null
+     *            key being mapped without caching
+     * @param mapper the {@link Function} computing the value of a missing key
+     * @return the cached or newly mapped value
+     */
+    public V get(K key, Function<? super K, ? extends V> mapper) {
+        if (key == null) {
+            misses.increment();
+            return mapper.apply(null);
+        }
+
+        Segment segment = segmentOf(key);
+
+        V value = segment.get(key);
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+
+        misses.increment();
+        V mapped = mapper.apply(key);
+        if (mapped == null) {
+            return null;
+        }
+
+        return segment.putIfAbsent(key, mapped);
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return the ratio of lookups served from the cache, NaN if there was no lookup yet
+     */
+    public double getHitRate() {
+        long hitCount = getHitCount();
+        long requestCount = hitCount + getMissCount();
+
+        return requestCount == 0 ? Double.NaN : (double) hitCount / requestCount;
+    }
+
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+
+        return size;
+    }
+
+    private Segment segmentOf(Object key) {
+        int hash = key.hashCode();
+
+        return segments.get((hash ^ (hash >>> 16)) & (segments.size() - 1));
+    }
+
+    /**
+     * Holds a share of the entries in access order, the eldest being the least recently used
+     */
+    private class Segment {
+
+        private final long maximumWeight;
+        private final LinkedHashMap<K, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private long weight = 0;
+
+        private Segment(long maximumWeight) {
+            this.maximumWeight = maximumWeight;
+        }
+
+        synchronized V get(K key) {
+            return entries.get(key);
+        }
+
+        synchronized V putIfAbsent(K key, V value) {
+            V existing = entries.putIfAbsent(key, value);
+            if (existing != null) {
+                return existing;
+            }
+
+            weight += weigher.applyAsLong(key, value);
+            evict();
+
+            return value;
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+
+        /**
+         * Removes the least recently used entries until the weight is within bound. An entry heavier than the whole
+         * segment is evicted right away.
+         */
+        private void evict() {
+            Iterator<Map.Entry<K, V>> eldest = entries.entrySet().iterator();
+
+            while (weight > maximumWeight && eldest.hasNext()) {
+                Map.Entry<K, V> entry = eldest.next();
+                weight -= weigher.applyAsLong(entry.getKey(), entry.getValue());
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,449 @@
+package com.sdl.lt.lc.json.streaming;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sdl.lt.lc.json.streaming.matchers.PathMatcher;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Combines the array found at the same path in several JSON sources into a single output array.
+ * The output is the first source, its array holding the elements of the arrays of every source: one after the other,
+ * or merged in the order of a key when every array is already sorted by that key.
+ *
+ * Elements are copied as raw tokens, they are never bound. The sources after the first one are read ahead on background
+ * threads, a batch of elements at a time.
+ *
+ * @implNote Every source is read by at most one task at a time, a task reading the next batch being started as soon as
+ * the previous batch is handed over. When concatenating only the next few sources are read ahead, when merging every
+ * source is, which keeps up to two batches per source in memory.
+ *
+ * @author anegruti
+ * @since 12/7/2022
+ */
+public class MultiSourceJsonProcessor {
+
+    private final PathMatcher pathMatcher;
+    private final List<Supplier<InputStream>> sources;
+    private final ObjectMapper mapper;
+    private final List<String> keyPath;
+    private final boolean descending;
+    private final int batchSize;
+    private final int prefetch;
+    private final Executor executor;
+
+    private MultiSourceJsonProcessor(Builder builder) {
+        this.pathMatcher = builder.pathMatcher;
+        this.sources = List.copyOf(builder.sources);
+        this.mapper = builder.mapper;
+        this.keyPath = builder.keyPath;
+        this.descending = builder.descending;
+        this.batchSize = builder.batchSize;
+        this.prefetch = builder.prefetch;
+        this.executor = builder.executor;
+    }
+
+    /**
+     * Writes the combined JSON to the provided {@link OutputStream}. Every source is opened and closed by this call.
+     *
+     * @param outputStream the {@link OutputStream} to which the first source is written, with the combined array
+     * @throws IllegalStateException if the first source has no array at the path while there are other sources, their
+     *                               elements having nowhere to go. The first source is still written as it is
+     */
+    @SneakyThrows
+    public void process(OutputStream outputStream) {
+        ExecutorService ownExecutor = executor == null ? Executors.newFixedThreadPool(prefetch, MultiSourceJsonProcessor::daemon) : null;
+
+        try (Run run = new Run(executor == null ? ownExecutor : executor);
+             VisitJsonProcessor processor = run.visit(sources.get(0).get(), outputStream)) {
+            processor.visit(JsonVisitor.withTransformer(run.transformer()));
+
+            if (!run.combined && !run.readers.isEmpty()) {
+                throw new IllegalStateException("The first source has no array at the path, the other sources could not be combined");
+            }
+        } finally {
+            if (ownExecutor != null) {
+                ownExecutor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * @implNote The key is only looked up when merging
+     */
+    private Element element(JsonElementBuffer buffer) {
+        return new Element(buffer, keyPath == null ? null : SortKey.of(buffer.valueAt(keyPath)));
+    }
+
+    private static Thread daemon(Runnable runnable) {
+        Thread thread = new Thread(runnable, "json-multi-source-prefetch");
+        thread.setDaemon(true);
+
+        return thread;
+    }
+
+    /**
+     * One combination of the sources. The other sources are merged into the first array matched in the first source,
+     * any further array matched only keeps its own elements.
+     */
+    class Run implements AutoCloseable {
+
+        private final List<SourceReader> readers = new ArrayList<>();
+        private JsonPathProcessor processor;
+        private boolean combined = false;
+
+        private Run(Executor executor) {
+            for (int i = 1; i < sources.size(); i++) {
+                readers.add(new SourceReader(i, sources.get(i), executor));
+            }
+
+            int readAhead = keyPath == null ? Math.min(prefetch, readers.size()) : readers.size();
+            for (int i = 0; i < readAhead; i++) {
+                readers.get(i).prefetch();
+            }
+        }
+
+        private VisitJsonProcessor visit(InputStream first, OutputStream outputStream) {
+            processor = JsonPathProcessor.init(first, outputStream, mapper);
+
+            return new VisitJsonProcessor(processor);
+        }
+
+        private JsonElementTransformer transformer() {
+            return new JsonElementTransformer(pathMatcher, () -> processor.mergeEach(this));
+        }
+
+        /**
+         * Hands every element to the provided {@link Consumer}, the elements of the first source being pulled from the
+         * provided {@link Supplier} until it returns null
+         */
+        void forEachElement(Supplier<JsonElementBuffer> own, Consumer<JsonElementBuffer> consumer) {
+            combined = true;
+            Cursor first = () -> {
+                JsonElementBuffer element = own.get();
+                return element == null ? null : element(element);
+            };
+
+            if (keyPath == null) {
+                concat(first, consumer);
+            } else {
+                merge(first, consumer);
+            }
+        }
+
+        private void concat(Cursor first, Consumer<JsonElementBuffer> consumer) {
+            drain(first, consumer);
+
+            for (int i = 0; i < readers.size(); i++) {
+                if (i + prefetch < readers.size()) {
+                    readers.get(i + prefetch).prefetch();
+                }
+                drain(readers.get(i), consumer);
+            }
+        }
+
+        private void drain(Cursor cursor, Consumer<JsonElementBuffer> consumer) {
+            Element element;
+            while ((element = cursor.poll()) != null) {
+                consumer.accept(element.buffer);
+            }
+        }
+
+        /**
+         * @implNote A priority queue holds the current element of every source, ties being broken by the order of the
+         * sources so that elements with equal keys keep the order of the sources
+         */
+        private void merge(Cursor first, Consumer<JsonElementBuffer> consumer) {
+            Comparator<SortKey> order = SortKey.order(descending);
+            PriorityQueue<Head> heads = new PriorityQueue<>(
+                    Comparator.<Head, SortKey>comparing(head -> head.element.key, order)
+                            .thenComparingInt(head -> head.index)
+            );
+
+            List<Cursor> cursors = new ArrayList<>();
+            cursors.add(first);
+            cursors.addAll(readers);
+            for (int i = 0; i < cursors.size(); i++) {
+                Element element = cursors.get(i).poll();
+                if (element != null) {
+                    heads.add(new Head(i, cursors.get(i), element));
+                }
+            }
+
+            while (!heads.isEmpty()) {
+                Head head = heads.poll();
+                consumer.accept(head.element.buffer);
+
+                Element next = head.cursor.poll();
+                if (next != null) {
+                    heads.add(new Head(head.index, head.cursor, next));
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            for (SourceReader reader : readers) {
+                reader.close();
+            }
+        }
+
+    }
+
+    private interface Cursor {
+
+        /**
+         * @return the next element, null once every element was returned
+         */
+        Element poll();
+
+    }
+
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    private static class Element {
+
+        private final JsonElementBuffer buffer;
+        private final SortKey key;
+
+    }
+
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    private static class Head {
+
+        private final int index;
+        private final Cursor cursor;
+        private final Element element;
+
+    }
+
+    /**
+     * Reads the array of one of the other sources, one batch at a time on the executor
+     */
+    private class SourceReader implements Cursor, AutoCloseable {
+
+        private final int index;
+        private final Supplier<InputStream> source;
+        private final Executor executor;
+        private JsonPathProcessor reader;
+        private boolean exhausted = false;
+        private CompletableFuture<List<Element>> pending;
+        private Iterator<Element> batch = Collections.emptyIterator();
+
+        private SourceReader(int index, Supplier<InputStream> source, Executor executor) {
+            this.index = index;
+            this.source = source;
+            this.executor = executor;
+        }
+
+        private void prefetch() {
+            if (pending == null && !exhausted) {
+                pending = CompletableFuture.supplyAsync(this::readBatch, executor);
+            }
+        }
+
+        @Override
+        public Element poll() {
+            while (!batch.hasNext()) {
+                prefetch();
+                if (pending == null) {
+                    return null;
+                }
+
+                batch = await().iterator();
+                prefetch();
+            }
+
+            return batch.next();
+        }
+
+        private List<Element> await() {
+            try {
+                return pending.join();
+            } catch (CompletionException e) {
+                throw new IllegalStateException("Could not read source " + index, e.getCause());
+            } finally {
+                pending = null;
+            }
+        }
+
+        /**
+         * @implNote Runs on the executor. The source is opened by the first batch, which moves the cursor to the start
+         * of the array. A source without the array has no elements.
+         */
+        @SneakyThrows
+        private List<Element> readBatch() {
+            if (reader == null) {
+                reader = JsonPathProcessor.init(source.get(), OutputStream.nullOutputStream(), mapper);
+                reader.skipUntilPathOrEnd(pathMatcher);
+
+                if (!reader.hasNext()) {
+                    finish();
+                    return List.of();
+                }
+                reader.ensureCurrentTokenIsOfTypeStartArray();
+            }
+
+            List<Element> elements = new ArrayList<>(batchSize);
+            while (elements.size() < batchSize) {
+                JsonElementBuffer element = reader.nextBufferedElement();
+                if (element == null) {
+                    finish();
+                    break;
+                }
+
+                elements.add(element(element));
+            }
+
+            return elements;
+        }
+
+        private void finish() throws Exception {
+            exhausted = true;
+            reader.close();
+        }
+
+        /**
+         * @implNote A batch still being read is waited for, the source being closed only once no task uses it
+         */
+        @Override
+        @SneakyThrows
+        public void close() {
+            if (pending != null) {
+                pending.handle((elements, e) -> null).join();
+                pending = null;
+            }
+            if (reader != null && !exhausted) {
+                exhausted = true;
+                reader.close();
+            }
+        }
+
+    }
+
+    @RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+    public static class Builder {
+
+        private final PathMatcher pathMatcher;
+        private final List<Supplier<InputStream>> sources = new ArrayList<>();
+        private ObjectMapper mapper = new ObjectMapper();
+        private List<String> keyPath;
+        private boolean descending = false;
+        private int batchSize = 64;
+        private int prefetch = 4;
+        private Executor executor;
+
+        /**
+         * Adds a source already opened, closed once read
+         */
+        public Builder source(InputStream source) {
+            Objects.requireNonNull(source);
+            return source(() -> source);
+        }
+
+        /**
+         * Adds a source opened only when it is about to be read
+         */
+        public Builder source(Supplier<InputStream> source) {
+            this.sources.add(Objects.requireNonNull(source));
+            return this;
+        }
+
+        public Builder source(Path source) {
+            Objects.requireNonNull(source);
+            return source(() -> open(source));
+        }
+
+        public Builder sources(Collection<Path> sources) {
+            sources.forEach(this::source);
+            return this;
+        }
+
+        public Builder mapper(ObjectMapper mapper) {
+            this.mapper = Objects.requireNonNull(mapper);
+            return this;
+        }
+
+        /**
+         * Merges the arrays by the value found at the key path instead of concatenating them. Every array has to be
+         * sorted by that key already, elements with equal keys keep the order of the sources.
+         *
+         * @param keyPath the field names leading to the key, starting from the element
+         * @see ArraySorter
+         */
+        public Builder mergeBy(List<String> keyPath) {
+            this.keyPath = Objects.requireNonNull(keyPath);
+            return this;
+        }
+
+        /**
+         * Merges arrays sorted in descending order of their key, elements without a key still coming last
+         */
+        public Builder descending() {
+            this.descending = true;
+            return this;
+        }
+
+        /**
+         * Number of elements read from a source by one background task. Defaults to 64.
+         */
+        public Builder batchSize(int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Number of sources read ahead while concatenating, and number of threads when no {@link Executor} is
+         * provided. Defaults to 4.
+         */
+        public Builder prefetch(int prefetch) {
+            this.prefetch = prefetch;
+            return this;
+        }
+
+        /**
+         * The {@link Executor} reading the sources ahead, a pool of daemon threads owned by every run if not provided
+         */
+        public Builder executor(Executor executor) {
+            this.executor = Objects.requireNonNull(executor);
+            return this;
+        }
+
+        public MultiSourceJsonProcessor build() {
+            if (sources.isEmpty()) {
+                throw new IllegalArgumentException("At least one source is needed");
+            }
+            if (batchSize <= 0 || prefetch <= 0) {
+                throw new IllegalArgumentException("Batch size and prefetch have to be positive");
+            }
+
+            return new MultiSourceJsonProcessor(this);
+        }
+
+        @SneakyThrows
+        private static InputStream open(Path source) {
+            return Files.newInputStream(source);
+        }
+
+    }
+
+}
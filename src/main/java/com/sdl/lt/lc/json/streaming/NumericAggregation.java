@@ -0,0 +1,105 @@
+package com.sdl.lt.lc.json.streaming;
+
+import com.sdl.lt.lc.json.streaming.matchers.PathMatcher;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Describes statistics to compute over every numeric value found at a path: count, sum, min, max and average always,
+ * top-K and histogram only when requested.
+ * An aggregation is an immutable specification that can be reused across documents and threads, every computation
+ * accumulating into its own {@link NumericStatistics}.
+ *
+ * @author anegruti
+ * @since 11/10/2022
+ */
+@Getter
+public class NumericAggregation {
+
+    private final String name;
+    private final PathMatcher pathMatcher;
+    private final int topK;
+    @Getter(AccessLevel.NONE)
+    private final boolean histogram;
+    @Getter(AccessLevel.NONE)
+    private final double lower;
+    @Getter(AccessLevel.NONE)
+    private final double upper;
+    @Getter(AccessLevel.NONE)
+    private final int buckets;
+
+    private NumericAggregation(Builder builder) {
+        this.name = builder.name;
+        this.pathMatcher = builder.pathMatcher;
+        this.topK = builder.topK;
+        this.histogram = builder.histogram;
+        this.lower = builder.lower;
+        this.upper = builder.upper;
+        this.buckets = builder.buckets;
+    }
+
+    /**
+     * @param name the name under which the results are found in the {@link AggregationSummary}
+     * @param pathMatcher the path of the numeric values, for example the path of an array of numbers or the path of a
+     *                    numeric field of the objects inside an array
+     * @return a {@link Builder} of {@link NumericAggregation}
+     */
+    public static Builder builder(String name, PathMatcher pathMatcher) {
+        return new Builder(name, pathMatcher);
+    }
+
+    /**
+     * @return new empty {@link NumericStatistics} for this aggregation, for instance to be filled by
+     * {@link PathReader#aggregate(NumericStatistics)}
+     */
+    public NumericStatistics newStatistics() {
+        return new NumericStatistics(this, histogram ? new NumericStatistics.Histogram(lower, upper, buckets) : null);
+    }
+
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class Builder {
+
+        private final String name;
+        private final PathMatcher pathMatcher;
+        private int topK;
+        private boolean histogram;
+        private double lower;
+        private double upper;
+        private int buckets;
+
+        /**
+         * Keep track of the {@code k} greatest values
+         *
+         * @throws IllegalArgumentException if {@code k} is negative
+         */
+        public Builder topK(int k) {
+            if (k < 0) {
+                throw new IllegalArgumentException("Top-K needs a non-negative number of values");
+            }
+            this.topK = k;
+            return this;
+        }
+
+        /**
+         * Count the values in {@code buckets} equal width buckets between {@code lower} (inclusive) and {@code upper} (exclusive)
+         */
+        public Builder histogram(double lower, double upper, int buckets) {
+            if (buckets <= 0 || upper <= lower) {
+                throw new IllegalArgumentException("Histogram needs at least one bucket and upper bound greater than lower bound");
+            }
+
+            this.histogram = true;
+            this.lower = lower;
+            this.upper = upper;
+            this.buckets = buckets;
+            return this;
+        }
+
+        public NumericAggregation build() {
+            return new NumericAggregation(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,200 @@
+package com.sdl.lt.lc.json.streaming;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * The statistics of one {@link NumericAggregation} over one document, accumulated straight from the parser tokens
+ * without binding the values.
+ * All the state is kept in primitive fields and arrays whose size is fixed when the statistics are created.
+ *
+ * @author anegruti
+ * @since 11/10/2022
+ */
+@Getter
+public class NumericStatistics {
+
+    private final NumericAggregation aggregation;
+    private long count;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+    @Getter(AccessLevel.NONE)
+    private long integralSum;
+    @Getter(AccessLevel.NONE)
+    private double floatingSum;
+    @Getter(AccessLevel.NONE)
+    private final double[] topK;
+    @Getter(AccessLevel.NONE)
+    private int topKSize;
+    @Getter(AccessLevel.NONE)
+    private final Histogram histogram;
+
+    NumericStatistics(NumericAggregation aggregation, Histogram histogram) {
+        this.aggregation = aggregation;
+        this.topK = new double[aggregation.getTopK()];
+        this.histogram = histogram;
+    }
+
+    public String getName() {
+        return aggregation.getName();
+    }
+
+    /**
+     * @implNote Integral values are summed exactly as long as the sum fits in a long. Once it would overflow, the
+     * integral sum is moved into the floating point sum, which keeps the magnitude at the cost of precision.
+     */
+    void add(long value) {
+        try {
+            integralSum = Math.addExact(integralSum, value);
+        } catch (ArithmeticException e) {
+            floatingSum += (double) integralSum + value;
+            integralSum = 0;
+        }
+        record(value);
+    }
+
+    void add(double value) {
+        floatingSum += value;
+        record(value);
+    }
+
+    private void record(double value) {
+        if (count == 0 || value < min) {
+            min = value;
+        }
+        if (count == 0 || value > max) {
+            max = value;
+        }
+        count++;
+
+        if (topK.length > 0) {
+            offerTopK(value);
+        }
+        if (histogram != null) {
+            histogram.add(value);
+        }
+    }
+
+    /**
+     * Keeps the K greatest values in a min-heap, the root being the smallest of the kept values
+     */
+    private void offerTopK(double value) {
+        if (topKSize < topK.length) {
+            topK[topKSize] = value;
+            siftUp(topKSize++);
+        } else if (value > topK[0]) {
+            topK[0] = value;
+            siftDown(0);
+        }
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (topK[parent] <= topK[index]) {
+                return;
+            }
+            swap(parent, index);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int smallest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+
+            if (left < topKSize && topK[left] < topK[smallest]) {
+                smallest = left;
+            }
+            if (right < topKSize && topK[right] < topK[smallest]) {
+                smallest = right;
+            }
+            if (smallest == index) {
+                return;
+            }
+            swap(smallest, index);
+            index = smallest;
+        }
+    }
+
+    private void swap(int i, int j) {
+        double temp = topK[i];
+        topK[i] = topK[j];
+        topK[j] = temp;
+    }
+
+    public double getSum() {
+        return integralSum + floatingSum;
+    }
+
+    /**
+     * @return the average of all values or NaN if no value was found
+     */
+    public double getAverage() {
+        return count == 0 ? Double.NaN : getSum() / count;
+    }
+
+    /**
+     * @return the greatest values found, in descending order. Empty if top-K was not requested
+     */
+    public double[] getTopK() {
+        double[] sorted = Arrays.copyOf(topK, topKSize);
+        Arrays.sort(sorted);
+
+        for (int i = 0; i < sorted.length / 2; i++) {
+            double temp = sorted[i];
+            sorted[i] = sorted[sorted.length - 1 - i];
+            sorted[sorted.length - 1 - i] = temp;
+        }
+
+        return sorted;
+    }
+
+    /**
+     * @return the {@link Histogram} of all values or null if it was not requested
+     */
+    public Histogram getHistogram() {
+        return histogram;
+    }
+
+    /**
+     * Fixed width histogram. Values outside the bounds are counted separately as underflow or overflow
+     */
+    @Getter
+    public static class Histogram {
+
+        private final double lower;
+        private final double upper;
+        @Getter(AccessLevel.NONE)
+        private final long[] counts;
+        private long underflow;
+        private long overflow;
+
+        Histogram(double lower, double upper, int buckets) {
+            this.lower = lower;
+            this.upper = upper;
+            this.counts = new long[buckets];
+        }
+
+        private void add(double value) {
+            if (value < lower) {
+                underflow++;
+            } else if (value >= upper) {
+                overflow++;
+            } else {
+                int bucket = (int) ((value - lower) / (upper - lower) * counts.length);
+                counts[Math.min(bucket, counts.length - 1)]++;
+            }
+        }
+
+        public long[] getCounts() {
+            return counts.clone();
+        }
+
+    }
+
+}
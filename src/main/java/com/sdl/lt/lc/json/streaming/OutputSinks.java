@@ -0,0 +1,55 @@
+package com.sdl.lt.lc.json.streaming;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * {@link OutputStream}'s writing the JSON straight to NIO targets, to be used as the output of
+ * {@link JsonProcessorBuilder#initBuilder(java.io.InputStream, OutputStream)}.
+ * The generator already gathers its output in a buffer of its own, these sinks hand that buffer to the target without
+ * any intermediate stream buffer. Closing the processor closes the sink.
+ *
+ * @author anegruti
+ * @since 12/2/2022
+ */
+public final class OutputSinks {
+
+    private OutputSinks() {
+    }
+
+    /**
+     * Writes to the provided channel, wrapping the bytes of the generator without copying them.
+     * The channel is closed together with the stream.
+     */
+    public static OutputStream channel(WritableByteChannel channel) {
+        return new ChannelOutputStream(channel);
+    }
+
+    /**
+     * Copies the output into a pool of direct {@link ByteBuffer}'s, every buffer being handed to the provided consumer
+     * as soon as it is full, and the last one when the stream is flushed or closed.
+     *
+     * @param bufferSize the capacity of every buffer
+     * @param bufferCount the number of buffers in the pool
+     * @param consumer receives every buffer ready to be read, it has to give it back through
+     *                 {@link DirectBufferOutputStream#release(ByteBuffer)} once done with it
+     */
+    public static DirectBufferOutputStream directBuffers(int bufferSize, int bufferCount, Consumer<ByteBuffer> consumer) {
+        return new DirectBufferOutputStream(bufferSize, bufferCount, consumer);
+    }
+
+    /**
+     * Writes to a memory mapped file, mapping the file region by region as it grows.
+     * Once closed the file is truncated to the size written.
+     *
+     * @param path the file, created or truncated
+     * @param regionSize the number of bytes mapped, and preallocated, at a time
+     */
+    public static OutputStream mappedFile(Path path, long regionSize) {
+        return new MappedFileOutputStream(path, regionSize);
+    }
+
+}
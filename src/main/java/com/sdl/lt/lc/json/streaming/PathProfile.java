@@ -0,0 +1,174 @@
+package com.sdl.lt.lc.json.streaming;
+
+import com.fasterxml.jackson.core.JsonToken;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Statistics over every value found at one path of a document, gathered by {@link ReadJsonProcessor#profile(int)}.
+ * Sizes are measured in bytes of the input, from the first to the last byte of the value.
+ *
+ * @author anegruti
+ * @since 11/29/2022
+ */
+@Getter
+public class PathProfile {
+
+    private static final int LENGTH_BUCKETS = Long.SIZE + 1;
+
+    /**
+     * The path, "$" being the root, ".name" a field and "[]" the elements of an array
+     */
+    private final String path;
+    /**
+     * The number of structures enclosing the values, 0 for the root
+     */
+    private final int depth;
+    private long count;
+    private long minBytes;
+    private long maxBytes;
+    private long totalBytes;
+    private long arrayCount;
+    private long minLength;
+    private long maxLength;
+    private long totalLength;
+    @Getter(AccessLevel.NONE)
+    private final Map<ValueType, Long> types = new EnumMap<>(ValueType.class);
+    @Getter(AccessLevel.NONE)
+    private long[] lengthBuckets;
+    @Getter(AccessLevel.NONE)
+    private final Map<String, PathProfile> fields = new HashMap<>();
+    @Getter(AccessLevel.NONE)
+    private PathProfile elements;
+
+    PathProfile(String path, int depth) {
+        this.path = path;
+        this.depth = depth;
+    }
+
+    public enum ValueType {
+        OBJECT,
+        ARRAY,
+        STRING,
+        INTEGER,
+        FLOAT,
+        BOOLEAN,
+        NULL;
+
+        static ValueType of(JsonToken token) {
+            switch (token) {
+                case START_OBJECT:
+                case END_OBJECT:
+                    return OBJECT;
+                case START_ARRAY:
+                case END_ARRAY:
+                    return ARRAY;
+                case VALUE_NUMBER_INT:
+                    return INTEGER;
+                case VALUE_NUMBER_FLOAT:
+                    return FLOAT;
+                case VALUE_TRUE:
+                case VALUE_FALSE:
+                    return BOOLEAN;
+                case VALUE_NULL:
+                    return NULL;
+                default:
+                    return STRING;
+            }
+        }
+    }
+
+    /**
+     * @return the number of values of every type found at the path
+     */
+    public Map<ValueType, Long> getTypes() {
+        return Collections.unmodifiableMap(types);
+    }
+
+    public double getAverageBytes() {
+        return count == 0 ? Double.NaN : (double) totalBytes / count;
+    }
+
+    public double getAverageLength() {
+        return arrayCount == 0 ? Double.NaN : (double) totalLength / arrayCount;
+    }
+
+    /**
+     * @return the number of arrays by length, lengths being grouped in powers of two. Every key is the smallest length
+     * of its group: 0, 1, 2 for lengths 2 and 3, 4 for lengths 4 to 7 and so on
+     */
+    public SortedMap<Long, Long> getLengthHistogram() {
+        SortedMap<Long, Long> histogram = new TreeMap<>();
+        if (lengthBuckets == null) {
+            return histogram;
+        }
+
+        for (int i = 0; i < LENGTH_BUCKETS; i++) {
+            if (lengthBuckets[i] > 0) {
+                histogram.put(i == 0 ? 0 : 1L << (i - 1), lengthBuckets[i]);
+            }
+        }
+
+        return histogram;
+    }
+
+    void add(ValueType type, long bytes) {
+        if (count == 0 || bytes < minBytes) {
+            minBytes = bytes;
+        }
+        if (count == 0 || bytes > maxBytes) {
+            maxBytes = bytes;
+        }
+        count++;
+        totalBytes += bytes;
+        types.merge(type, 1L, Long::sum);
+    }
+
+    void addArray(long bytes, long length) {
+        if (arrayCount == 0 || length < minLength) {
+            minLength = length;
+        }
+        if (arrayCount == 0 || length > maxLength) {
+            maxLength = length;
+        }
+        arrayCount++;
+        totalLength += length;
+
+        if (lengthBuckets == null) {
+            lengthBuckets = new long[LENGTH_BUCKETS];
+        }
+        lengthBuckets[Long.SIZE - Long.numberOfLeadingZeros(length)]++;
+
+        add(ValueType.ARRAY, bytes);
+    }
+
+    PathProfile getField(String fieldName) {
+        return fields.get(fieldName);
+    }
+
+    void putField(String fieldName, PathProfile profile) {
+        fields.put(fieldName, profile);
+    }
+
+    PathProfile getElements() {
+        return elements;
+    }
+
+    void setElements(PathProfile elements) {
+        this.elements = elements;
+    }
+
+    @Override
+    public String toString() {
+        return path + " count=" + count + " types=" + types + " bytes=" + minBytes + "/" + getAverageBytes() + "/" + maxBytes
+                + (arrayCount == 0 ? "" : " length=" + minLength + "/" + getAverageLength() + "/" + maxLength);
+    }
+
+}
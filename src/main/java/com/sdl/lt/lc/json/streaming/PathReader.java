@@ -0,0 +1,156 @@
+package com.sdl.lt.lc.json.streaming;
+
+import com.sdl.lt.lc.json.streaming.matchers.PathMatcher;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.OutputStream;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Pairs a {@link PathMatcher} with the way the element found at that path is read.
+ * Used by {@link ReadJsonProcessor#read(java.util.List)} to serve several paths in a single pass over the JSON.
+ *
+ * @author anegruti
+ * @since 11/9/2022
+ */
+@Getter(AccessLevel.PACKAGE)
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+public class PathReader {
+
+    private final PathMatcher pathMatcher;
+    private final Consumer<JsonPathProcessor> executor;
+
+    /**
+     * Returns a {@link PathReader} that will read each element of the array found at the provided path as an object of
+     * type {@link T} and call the provided {@link Consumer} with it
+     *
+     * @param pathMatcher the path of the array (needs to stop at start of an array)
+     * @param clazz the class of {@link T}
+     * @param consumer the {@link Consumer} called for every element of the array
+     * @param <T> object type of read elements
+     * @return a {@link PathReader}
+     */
+    public static <T> PathReader forEach(PathMatcher pathMatcher, Class<T> clazz, Consumer<T> consumer) {
+        return new PathReader(
+                pathMatcher,
+                p -> p.forEach(clazz, consumer)
+        );
+    }
+
+    /**
+     * Returns a {@link PathReader} that will read the first element of the array found at the provided path for every
+     * key as an object of type {@link T} and call the provided {@link Consumer} with it, repeated elements being skipped
+     *
+     * @param pathMatcher the path of the array (needs to stop at start of an array)
+     * @param clazz the class of {@link T}
+     * @param deduplicator the {@link Deduplicator} defining the key and how seen keys are remembered
+     * @param consumer the {@link Consumer} called for every distinct element
+     * @param <T> object type of read elements
+     * @return a {@link PathReader}
+     */
+    public static <T> PathReader forEachDistinct(PathMatcher pathMatcher, Class<T> clazz, Deduplicator deduplicator,
+                                                 Consumer<T> consumer) {
+        return new PathReader(
+                pathMatcher,
+                p -> p.forEachDistinct(clazz, deduplicator, consumer)
+        );
+    }
+
+    /**
+     * Returns a {@link PathReader} that will fingerprint every element of the array found at the provided path straight
+     * from the tokens, without binding them, and call the provided {@link Consumer} with the key and fingerprint of each
+     *
+     * @param pathMatcher the path of the array (needs to stop at start of an array)
+     * @param fingerprinter the {@link ContentFingerprinter} defining the key
+     * @param consumer the {@link Consumer} called for every element
+     * @return a {@link PathReader}
+     */
+    public static PathReader fingerprints(PathMatcher pathMatcher, ContentFingerprinter fingerprinter,
+                                          Consumer<ElementFingerprint> consumer) {
+        return new PathReader(
+                pathMatcher,
+                p -> p.forEachFingerprint(fingerprinter, consumer)
+        );
+    }
+
+    /**
+     * Returns a {@link PathReader} that will read the value of the field found at the provided path as an object of
+     * type {@link T} and call the provided {@link Consumer} with it
+     *
+     * @param pathMatcher the path of the field
+     * @param clazz the class of {@link T}
+     * @param consumer the {@link Consumer} called with the read value
+     * @param <T> object type of read element
+     * @return a {@link PathReader}
+     */
+    public static <T> PathReader value(PathMatcher pathMatcher, Class<T> clazz, Consumer<T> consumer) {
+        return new PathReader(
+                pathMatcher,
+                p -> p.consume(clazz, e -> consumer.accept(e.getElement()))
+        );
+    }
+
+    /**
+     * Returns a {@link PathReader} that will decode the base64 string value of the field found at the provided path
+     * straight into an {@link OutputStream}, without holding the value in memory
+     *
+     * @param pathMatcher the path of the field
+     * @param target supplies the {@link OutputStream} receiving the decoded bytes. It is closed once the value is written
+     * @return a {@link PathReader}
+     */
+    public static PathReader binary(PathMatcher pathMatcher, Supplier<OutputStream> target) {
+        return new PathReader(
+                pathMatcher,
+                p -> p.consumeBinary(target)
+        );
+    }
+
+    /**
+     * Returns a {@link PathReader} that will write the elements of the array found at the provided path to the shards
+     * of the provided {@link ArraySplitter}
+     *
+     * @param pathMatcher the path of the array (needs to stop at start of an array)
+     * @param splitter the {@link ArraySplitter} receiving the elements
+     * @return a {@link PathReader}
+     */
+    public static PathReader split(PathMatcher pathMatcher, ArraySplitter splitter) {
+        return new PathReader(
+                pathMatcher,
+                p -> p.split(splitter)
+        );
+    }
+
+    /**
+     * Returns a {@link PathReader} that will export every element of the array found at the provided path as a row
+     * of the provided {@link ArrayExporter}
+     *
+     * @param pathMatcher the path of the array (needs to stop at start of an array)
+     * @param exporter the {@link ArrayExporter} writing the rows
+     * @return a {@link PathReader}
+     */
+    public static PathReader export(PathMatcher pathMatcher, ArrayExporter exporter) {
+        return new PathReader(
+                pathMatcher,
+                p -> p.export(exporter)
+        );
+    }
+
+    /**
+     * Returns a {@link PathReader} that will add every number found at the path of the aggregation of the provided
+     * {@link NumericStatistics} to them
+     *
+     * @param statistics the {@link NumericStatistics} to be filled, from {@link NumericAggregation#newStatistics()}
+     * @return a {@link PathReader}
+     * @see ReadJsonProcessor#aggregate(java.util.List)
+     */
+    public static PathReader aggregate(NumericStatistics statistics) {
+        return new PathReader(
+                statistics.getAggregation().getPathMatcher(),
+                p -> p.aggregate(statistics)
+        );
+    }
+
+}
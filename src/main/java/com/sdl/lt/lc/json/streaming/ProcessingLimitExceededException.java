@@ -0,0 +1,33 @@
+package com.sdl.lt.lc.json.streaming;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import lombok.Getter;
+
+/**
+ * Thrown when a processing run exceeds one of its {@link ProcessingLimits}
+ *
+ * @author anegruti
+ * @since 11/16/2022
+ */
+@Getter
+public class ProcessingLimitExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ProcessingLimits.Limit limit;
+    private final long tokenCount;
+    private final long byteCount;
+    private final int depth;
+    private final JsonLocation location;
+
+    ProcessingLimitExceededException(ProcessingLimits.Limit limit, long tokenCount, long byteCount, int depth, JsonLocation location) {
+        super(String.format("Processing limit %s exceeded after %d tokens and %d bytes at depth %d, %s",
+                limit, tokenCount, byteCount, depth, location.offsetDescription()));
+        this.limit = limit;
+        this.tokenCount = tokenCount;
+        this.byteCount = byteCount;
+        this.depth = depth;
+        this.location = location;
+    }
+
+}
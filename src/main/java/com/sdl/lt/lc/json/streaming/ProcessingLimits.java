@@ -0,0 +1,108 @@
+package com.sdl.lt.lc.json.streaming;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Duration;
+
+/**
+ * Limits applied to a single processing run. When any of them is exceeded the run fails with a
+ * {@link ProcessingLimitExceededException} reporting the position reached.
+ *
+ * Token, byte, depth and element size limits are checked on every token. The timeout, the {@link CancellationToken} and
+ * the interrupt flag of the processing thread are checked every {@value #TIME_CHECK_INTERVAL} tokens.
+ *
+ * @author anegruti
+ * @since 11/16/2022
+ */
+@Getter(AccessLevel.PACKAGE)
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class ProcessingLimits {
+
+    static final int TIME_CHECK_INTERVAL = 1024;
+
+    private final Duration timeout;
+    private final CancellationToken cancellationToken;
+    private final long maxTokens;
+    private final long maxBytes;
+    private final int maxDepth;
+    private final long maxElementBytes;
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public enum Limit {
+        TIMEOUT,
+        CANCELLED,
+        TOKENS,
+        BYTES,
+        DEPTH,
+        ELEMENT_SIZE
+    }
+
+    public static class Builder {
+
+        private Duration timeout;
+        private CancellationToken cancellationToken = new CancellationToken();
+        private long maxTokens = Long.MAX_VALUE;
+        private long maxBytes = Long.MAX_VALUE;
+        private int maxDepth = Integer.MAX_VALUE;
+        private long maxElementBytes = Long.MAX_VALUE;
+
+        private Builder() {
+        }
+
+        /**
+         * Maximum duration of the run, measured from the moment the processor is created
+         */
+        public Builder timeout(Duration timeout) {
+            this.timeout = timeout;
+            return this;
+        }
+
+        public Builder cancellationToken(CancellationToken cancellationToken) {
+            this.cancellationToken = cancellationToken;
+            return this;
+        }
+
+        /**
+         * Maximum number of tokens read, including the ones consumed while binding or skipping elements
+         */
+        public Builder maxTokens(long maxTokens) {
+            this.maxTokens = maxTokens;
+            return this;
+        }
+
+        /**
+         * Maximum number of bytes of the input parsed, up to the current token
+         */
+        public Builder maxBytes(long maxBytes) {
+            this.maxBytes = maxBytes;
+            return this;
+        }
+
+        /**
+         * Maximum nesting depth of objects and arrays
+         */
+        public Builder maxDepth(int maxDepth) {
+            this.maxDepth = maxDepth;
+            return this;
+        }
+
+        /**
+         * Maximum number of bytes of a single array element, whatever its type
+         */
+        public Builder maxElementBytes(long maxElementBytes) {
+            this.maxElementBytes = maxElementBytes;
+            return this;
+        }
+
+        public ProcessingLimits build() {
+            return new ProcessingLimits(timeout, cancellationToken, maxTokens, maxBytes, maxDepth, maxElementBytes);
+        }
+
+    }
+
+}
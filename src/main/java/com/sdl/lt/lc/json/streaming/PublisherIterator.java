@@ -0,0 +1,115 @@
+package com.sdl.lt.lc.json.streaming;
+
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Bridges a {@link Flow.Publisher} to a blocking {@link Iterator} so that published elements can be written on the
+ * thread that owns the generator.
+ * No more than the requested batch of elements is ever buffered, one element is requested for each element taken.
+ * Closing the iterator before the publisher completed cancels the subscription, even if it was not received yet.
+ *
+ * @author anegruti
+ * @since 11/8/2022
+ */
+class PublisherIterator<T> implements Iterator<T>, Flow.Subscriber<T>, AutoCloseable {
+
+    private static final Object COMPLETE = new Object();
+
+    private final BlockingQueue<Object> queue;
+    private final CompletableFuture<Flow.Subscription> subscription = new CompletableFuture<>();
+    private final int batchSize;
+    private Object next;
+    private boolean terminated = false;
+    private volatile boolean cancelled = false;
+
+    PublisherIterator(Flow.Publisher<? extends T> publisher, int batchSize) {
+        this.batchSize = batchSize;
+        this.queue = new LinkedBlockingQueue<>(batchSize + 1);
+        publisher.subscribe(this);
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription.complete(subscription);
+        if (cancelled) {
+            subscription.cancel();
+            return;
+        }
+        subscription.request(batchSize);
+    }
+
+    @Override
+    public void onNext(T item) {
+        queue.add(item);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        queue.add(new Failure(throwable));
+    }
+
+    @Override
+    public void onComplete() {
+        queue.add(COMPLETE);
+    }
+
+    @Override
+    @SneakyThrows
+    public boolean hasNext() {
+        if (next == null) {
+            next = queue.take();
+        }
+
+        if (next instanceof Failure) {
+            terminated = true;
+            throw ((Failure) next).cause;
+        }
+
+        terminated = next == COMPLETE;
+        return !terminated;
+    }
+
+    @Override
+    @SneakyThrows
+    @SuppressWarnings("unchecked")
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        T item = (T) next;
+        next = null;
+        subscription.get().request(1);
+
+        return item;
+    }
+
+    @Override
+    public void close() {
+        if (terminated) {
+            return;
+        }
+
+        cancelled = true;
+        Flow.Subscription current = subscription.getNow(null);
+        if (current != null) {
+            current.cancel();
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Failure {
+
+        private final Throwable cause;
+
+    }
+
+}
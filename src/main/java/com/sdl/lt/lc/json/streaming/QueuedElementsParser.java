@@ -0,0 +1,115 @@
+package com.sdl.lt.lc.json.streaming;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * A {@link JsonParser} reading an array whose elements are handed over one by one through a queue, so that a
+ * {@link TeeJsonProcessor} branch can run an array transformer while the elements are still being read.
+ * It is positioned on the START_ARRAY when created, the END_ARRAY is returned once {@link #END_OF_ARRAY} is taken.
+ *
+ * @implNote Only one element is read at a time, each one being released once its last token was returned.
+ * {@link #nextValue()} and {@link #skipChildren()} are routed through {@link #nextToken()}, like the other shortcuts
+ * of {@link JsonParser} already are, so that reading past the end of an element moves on to the next one and skipping
+ * the array itself drains the queue up to its end.
+ *
+ * @author anegruti
+ * @since 11/14/2022
+ */
+class QueuedElementsParser extends JsonParserDelegate {
+
+    static final Object END_OF_ARRAY = new Object();
+
+    private final BlockingQueue<Object> elements;
+    private final JsonParser brackets;
+    private boolean ended = false;
+
+    /**
+     * @param codec the {@link ObjectCodec} binding values while the parser is on the brackets of the array
+     */
+    QueuedElementsParser(BlockingQueue<Object> elements, ObjectCodec codec) throws IOException {
+        super(emptyArray(codec));
+        this.elements = elements;
+        this.brackets = delegate;
+        this.brackets.nextToken();
+    }
+
+    private static JsonParser emptyArray(ObjectCodec codec) throws IOException {
+        TokenBuffer buffer = new TokenBuffer(codec, false);
+        buffer.writeStartArray();
+        buffer.writeEndArray();
+
+        return buffer.asParser();
+    }
+
+    @Override
+    public JsonToken nextToken() throws IOException {
+        if (ended) {
+            return null;
+        }
+        if (delegate != brackets) {
+            JsonToken token = delegate.nextToken();
+            if (token != null) {
+                return token;
+            }
+        }
+
+        Object element = take();
+        if (element == END_OF_ARRAY) {
+            ended = true;
+            delegate = brackets;
+            return brackets.nextToken();
+        }
+
+        delegate = ((JsonElementBuffer) element).asParser();
+        return delegate.currentToken();
+    }
+
+    @Override
+    public JsonToken nextValue() throws IOException {
+        JsonToken token = nextToken();
+        if (JsonToken.FIELD_NAME.equals(token)) {
+            token = nextToken();
+        }
+
+        return token;
+    }
+
+    @Override
+    public JsonParser skipChildren() throws IOException {
+        JsonToken token = currentToken();
+        if (token == null || !token.isStructStart()) {
+            return this;
+        }
+
+        int open = 1;
+        while (open > 0) {
+            JsonToken next = nextToken();
+            if (next == null) {
+                return this;
+            } else if (next.isStructStart()) {
+                open++;
+            } else if (next.isStructEnd()) {
+                open--;
+            }
+        }
+
+        return this;
+    }
+
+    private Object take() throws IOException {
+        try {
+            return elements.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the next element", e);
+        }
+    }
+
+}
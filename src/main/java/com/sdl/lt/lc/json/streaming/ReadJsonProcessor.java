@@ -4,9 +4,17 @@ import com.fasterxml.jackson.core.JsonToken;
 import com.sdl.lt.lc.json.streaming.matchers.PathMatcher;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * @author anegruti
@@ -15,7 +23,18 @@ import java.util.Iterator;
 @RequiredArgsConstructor(access = AccessLevel.PACKAGE)
 public class ReadJsonProcessor implements AutoCloseable {
 
+    private static final int DEFAULT_MAX_PATHS = 10_000;
+
     private final JsonPathProcessor processor;
+    private Checkpoint resumedFrom;
+
+    /**
+     * Marks this processor as resumed from the provided {@link Checkpoint}, its cursor being already inside the array
+     */
+    ReadJsonProcessor resumedFrom(Checkpoint checkpoint) {
+        this.resumedFrom = checkpoint;
+        return this;
+    }
 
     /**
      * Returns an iterator over objects of specified class at
@@ -57,6 +76,153 @@ public class ReadJsonProcessor implements AutoCloseable {
         return tIterator;
     }
 
+    /**
+     * Returns a sequential {@link Stream} over the elements of the array found at the provided path.
+     * Elements are parsed one at a time as the stream pulls them, so short-circuiting operations such as
+     * {@link Stream#limit(long)}, {@link Stream#findFirst()} or {@link Stream#anyMatch(java.util.function.Predicate)}
+     * stop parsing as soon as they are satisfied.
+     * Closing the stream closes this processor and releases the input, it is recommended to use it in a
+     * try-with-resources statement.
+     *
+     * @param pathMatcher the {@link PathMatcher} to stop at (needs to stop at start of an array)
+     * @param clazz hints towards the type of objects we will find inside the array
+     * @param <T> type of read element
+     * @return {@link Stream} over objects of type {@link T}
+     * @throws UnsupportedOperationException when the path is found but is not the start of an array
+     */
+    public <T> Stream<T> streamValues(PathMatcher pathMatcher, Class<T> clazz) {
+        return streamValues(pathMatcher, clazz, Long.MAX_VALUE, checkpoint -> {});
+    }
+
+    /**
+     * Returns a sequential {@link Stream} over the elements of the array found at the provided path, capturing a
+     * {@link Checkpoint} every time the given number of elements has been consumed by the stream.
+     * On a processor created with {@link JsonProcessorBuilder#resumeProcessor(java.nio.file.Path, Checkpoint)} the
+     * stream continues with the element following the checkpoint, provided the same path is used.
+     *
+     * @param pathMatcher the {@link PathMatcher} to stop at (needs to stop at start of an array)
+     * @param clazz hints towards the type of objects we will find inside the array
+     * @param checkpointInterval the number of elements between two checkpoints
+     * @param checkpointListener the {@link Consumer} called with every checkpoint, once the elements before it have been
+     *                           consumed by the stream
+     * @param <T> type of read element
+     * @return {@link Stream} over objects of type {@link T}
+     * @throws IllegalStateException when the processor was resumed from a checkpoint taken on a different path
+     * @see #streamValues(PathMatcher, Class)
+     */
+    public <T> Stream<T> streamValues(PathMatcher pathMatcher, Class<T> clazz, long checkpointInterval,
+                                      Consumer<Checkpoint> checkpointListener) {
+        if (checkpointInterval <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval has to be positive");
+        }
+
+        PathSpliterator<T> spliterator = new PathSpliterator<>(pathMatcher, clazz, checkpointInterval, checkpointListener);
+
+        return StreamSupport.stream(spliterator, false)
+                .onClose(this::closeProcessor);
+    }
+
+    /**
+     * Will read a sample of the elements of the array found at the provided path. The {@link Sampler} decides for every
+     * element before it is read, elements left out are skipped token by token and never bound.
+     *
+     * @param pathMatcher the {@link PathMatcher} of the array (needs to stop at start of an array)
+     * @param clazz the type of the elements
+     * @param sampler the {@link Sampler} deciding which elements are kept
+     * @return the sampled elements in the order they appear in the array, empty if the path was not found
+     */
+    public <T> List<T> sample(PathMatcher pathMatcher, Class<T> clazz, Sampler sampler) {
+        processor.skipUntilPathOrEnd(pathMatcher);
+        if (!hasNext()) {
+            return Collections.emptyList();
+        }
+
+        return processor.sample(clazz, sampler);
+    }
+
+    /**
+     * Will read the remaining of the JSON once, serving every provided {@link PathReader} whose path is found on the way.
+     * The readers can be provided in any order, the order in which their paths appear in the JSON does not matter.
+     *
+     * @param readers the {@link PathReader}'s to be served
+     *
+     * @apiNote If more than one reader matches the same path only the first one in the list is used
+     */
+    public void read(List<PathReader> readers) {
+        while (processor.hasNext()) {
+            processor.next();
+
+            for (PathReader reader : readers) {
+                if (processor.checkIsCurrentPath(reader.getPathMatcher())) {
+                    reader.getExecutor().accept(processor);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Will read the remaining of the JSON once, computing all the provided {@link NumericAggregation}'s.
+     * Numbers are read straight from the parser tokens, nothing is bound.
+     *
+     * @param aggregations the {@link NumericAggregation}'s to be computed, more than one can share the same path
+     * @return the {@link AggregationSummary} holding new {@link NumericStatistics} by name
+     * @throws IllegalArgumentException if two aggregations have the same name
+     */
+    public AggregationSummary aggregate(List<NumericAggregation> aggregations) {
+        List<NumericStatistics> statistics = new ArrayList<>(aggregations.size());
+        aggregations.forEach(aggregation -> statistics.add(aggregation.newStatistics()));
+        AggregationSummary summary = AggregationSummary.of(statistics);
+
+        while (processor.hasNext()) {
+            processor.next();
+
+            if (!processor.isCurrentTokenNumeric()) {
+                continue;
+            }
+
+            for (NumericStatistics aggregated : statistics) {
+                if (processor.checkIsCurrentPath(aggregated.getAggregation().getPathMatcher())) {
+                    processor.aggregate(aggregated);
+                }
+            }
+        }
+
+        return summary;
+    }
+
+    /**
+     * Will read the remaining of the JSON once, profiling its shape with at most {@value #DEFAULT_MAX_PATHS} paths
+     *
+     * @see #profile(int)
+     */
+    public DocumentProfile profile() {
+        return profile(DEFAULT_MAX_PATHS);
+    }
+
+    /**
+     * Will read the remaining of the JSON once, gathering occurrences, value types, sizes, array lengths and depth for
+     * every distinct path. Nothing is bound and memory does not grow with the size of the document.
+     *
+     * @param maxPaths the maximum number of distinct paths profiled
+     * @return the {@link DocumentProfile}
+     *
+     * @apiNote Meant to be called on a processor that was just initialised, its cursor being on the root of the JSON
+     */
+    public DocumentProfile profile(int maxPaths) {
+        DocumentProfile profile = new DocumentProfile(maxPaths);
+
+        if (processor.hasNext()) {
+            processor.profile(profile);
+        }
+        while (processor.hasNext()) {
+            processor.next();
+            processor.profile(profile);
+        }
+
+        return profile;
+    }
+
     public boolean hasNext() {
         return processor.hasNext();
     }
@@ -66,4 +232,86 @@ public class ReadJsonProcessor implements AutoCloseable {
         processor.close();
     }
 
+    @SneakyThrows
+    private void closeProcessor() {
+        close();
+    }
+
+    /**
+     * A {@link Spliterator} over the elements of the array found at a path
+     *
+     * @implNote The cursor is moved on the array only when the first element is requested.
+     * Each call to {@link #tryAdvance(Consumer)} moves the cursor on the next element and reads it.
+     * Once END_ARRAY is reached the START_ARRAY is popped from the path, leaving the processor ready for further reads.
+     * A checkpoint is taken after the action returns, when the cursor is on the last token of an element.
+     */
+    private class PathSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+        private final PathMatcher pathMatcher;
+        private final Class<T> clazz;
+        private final long checkpointInterval;
+        private final Consumer<Checkpoint> checkpointListener;
+        private long elementIndex = 0;
+        private boolean started = false;
+        private boolean finished = false;
+
+        private PathSpliterator(PathMatcher pathMatcher, Class<T> clazz, long checkpointInterval,
+                                Consumer<Checkpoint> checkpointListener) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED);
+            this.pathMatcher = pathMatcher;
+            this.clazz = clazz;
+            this.checkpointInterval = checkpointInterval;
+            this.checkpointListener = checkpointListener;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (!started) {
+                start();
+            }
+            if (finished) {
+                return false;
+            }
+
+            if (!processor.nextArrayElement()) {
+                processor.updatePath(JsonToken.END_ARRAY);
+                finished = true;
+                return false;
+            }
+
+            action.accept(processor.readValueAs(clazz));
+            if (++elementIndex % checkpointInterval == 0) {
+                checkpointListener.accept(processor.checkpoint(elementIndex));
+            }
+
+            return true;
+        }
+
+        private void start() {
+            started = true;
+
+            if (resumedFrom != null) {
+                resume();
+                return;
+            }
+            processor.skipUntilPathOrEnd(pathMatcher);
+
+            if (!hasNext()) {
+                finished = true;
+                return;
+            }
+            processor.ensureCurrentTokenIsOfTypeStartArray();
+        }
+
+        private void resume() {
+            if (!processor.checkIsCurrentPath(pathMatcher)) {
+                throw new IllegalStateException("Checkpoint was taken on a different path: " + resumedFrom.getPath());
+            }
+
+            elementIndex = resumedFrom.getElementIndex();
+            resumedFrom = null;
+        }
+
+    }
+
 }
@@ -0,0 +1,153 @@
+package com.sdl.lt.lc.json.streaming;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Decides which elements of an array are part of a sample, used by
+ * {@link ReadJsonProcessor#sample(com.sdl.lt.lc.json.streaming.matchers.PathMatcher, Class, Sampler)}.
+ * The decision is taken before an element is read, so that elements left out are skipped without being bound.
+ *
+ * @author anegruti
+ * @since 12/5/2022
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class Sampler {
+
+    private enum Kind {
+        STRIDE,
+        BERNOULLI,
+        RESERVOIR
+    }
+
+    private final Kind kind;
+    private final long stride;
+    private final double rate;
+    private final int size;
+    private final Long seed;
+
+    /**
+     * @return a {@link Sampler} keeping the first element and then one element out of every n
+     */
+    public static Sampler everyNth(long n) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("Stride has to be positive");
+        }
+
+        return new Sampler(Kind.STRIDE, n, 0, 0, null);
+    }
+
+    /**
+     * @return a {@link Sampler} keeping every element independently with the provided probability
+     */
+    public static Sampler bernoulli(double rate) {
+        return bernoulli(rate, null);
+    }
+
+    /**
+     * @param seed the seed of the random generator, to get the same sample on every run
+     */
+    public static Sampler bernoulli(double rate, Long seed) {
+        if (rate < 0 || rate > 1) {
+            throw new IllegalArgumentException("Rate has to be between 0 and 1");
+        }
+
+        return new Sampler(Kind.BERNOULLI, 0, rate, 0, seed);
+    }
+
+    /**
+     * @return a {@link Sampler} keeping a uniform random sample of exactly the provided size, or every element of
+     * smaller arrays
+     */
+    public static Sampler reservoir(int size) {
+        return reservoir(size, null);
+    }
+
+    /**
+     * @param seed the seed of the random generator, to get the same sample on every run
+     */
+    public static Sampler reservoir(int size, Long seed) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Reservoir size has to be positive");
+        }
+
+        return new Sampler(Kind.RESERVOIR, 0, 0, size, seed);
+    }
+
+    <T> Run<T> start() {
+        return new Run<>(seed == null ? new SplittableRandom() : new SplittableRandom(seed));
+    }
+
+    /**
+     * Samples one array. {@link #select(long)} is called for every element in order, {@link #add(Object)} only for the
+     * selected ones, right after they were read.
+     *
+     * @implNote The reservoir follows algorithm R: the element at index i replaces a random slot with probability
+     * size / (i + 1). An element may be bound and later replaced, about size * (1 + ln(n / size)) elements are bound
+     * for an array of n elements.
+     */
+    class Run<T> {
+
+        private final SplittableRandom random;
+        private final List<Indexed<T>> sample = new ArrayList<>();
+        private long index;
+        private int slot;
+
+        private Run(SplittableRandom random) {
+            this.random = random;
+        }
+
+        boolean select(long index) {
+            this.index = index;
+
+            switch (kind) {
+                case STRIDE:
+                    return index % stride == 0;
+                case BERNOULLI:
+                    return random.nextDouble() < rate;
+                default:
+                    slot = index < size ? (int) index : (int) Math.min(random.nextLong(index + 1), Integer.MAX_VALUE);
+                    return slot < size;
+            }
+        }
+
+        void add(T element) {
+            Indexed<T> indexed = new Indexed<>(index, element);
+
+            if (kind == Kind.RESERVOIR && slot < sample.size()) {
+                sample.set(slot, indexed);
+            } else {
+                sample.add(indexed);
+            }
+        }
+
+        /**
+         * @return the sampled elements, in the order they appear in the array
+         */
+        List<T> getSample() {
+            if (kind == Kind.RESERVOIR) {
+                sample.sort(Comparator.comparingLong((Indexed<T> indexed) -> indexed.index));
+            }
+
+            return sample.stream()
+                    .map(indexed -> indexed.element)
+                    .collect(Collectors.toList());
+        }
+
+    }
+
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    private static class Indexed<T> {
+
+        private final long index;
+        private final T element;
+
+    }
+
+}
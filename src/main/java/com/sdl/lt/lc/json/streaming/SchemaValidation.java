@@ -0,0 +1,343 @@
+package com.sdl.lt.lc.json.streaming;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Validates a single document against a {@link JsonSchema} while it is processed, token by token, in the same pass as
+ * the processing. Created by {@link JsonSchema#failFast()} or {@link JsonSchema#collectErrors()}, one for every run.
+ *
+ * Every token read is checked, including the ones consumed while binding, copying or skipping elements, so that the
+ * whole document is validated once it has been processed to its end.
+ *
+ * @implNote A stack of frames follows the open objects and arrays the same way {@link JsonPathHolder} follows the path,
+ * each frame holding the schema of its structure. Values without a schema are skipped by counting their depth, no frame
+ * is pushed for them. Texts and decimal values are only read when a keyword needs them.
+ *
+ * @author anegruti
+ * @since 12/9/2022
+ */
+public class SchemaValidation {
+
+    private final JsonSchema.Node root;
+    private final boolean failFast;
+    private final int maxViolations;
+    private final Deque<Frame> frames = new ArrayDeque<>();
+    private final List<SchemaViolation> violations = new ArrayList<>();
+    private long violationCount = 0;
+    private int skippedDepth = 0;
+
+    SchemaValidation(JsonSchema.Node root, boolean failFast, int maxViolations) {
+        this.root = root;
+        this.failFast = failFast;
+        this.maxViolations = maxViolations;
+    }
+
+    public boolean isValid() {
+        return violationCount == 0;
+    }
+
+    /**
+     * @return the number of violations found, including the ones beyond the maximum kept
+     */
+    public long getViolationCount() {
+        return violationCount;
+    }
+
+    public List<SchemaViolation> getViolations() {
+        return Collections.unmodifiableList(violations);
+    }
+
+    void onToken(JsonToken token, JsonParser parser) throws IOException {
+        if (skippedDepth > 0) {
+            if (token.isStructStart()) {
+                skippedDepth++;
+            } else if (token.isStructEnd()) {
+                skippedDepth--;
+            }
+            return;
+        }
+
+        switch (token) {
+            case FIELD_NAME:
+                onFieldName(parser.getCurrentName());
+                return;
+            case END_OBJECT:
+                onEndObject(frames.peek());
+                frames.pop();
+                return;
+            case END_ARRAY:
+                onEndArray(frames.peek());
+                frames.pop();
+                return;
+            default:
+                onValue(token, parser);
+        }
+    }
+
+    private void onFieldName(String fieldName) {
+        Frame frame = frames.peek();
+
+        frame.field = fieldName;
+        frame.count++;
+        if (frame.seen != null) {
+            frame.seen.add(fieldName);
+        }
+    }
+
+    private void onValue(JsonToken token, JsonParser parser) throws IOException {
+        Frame parent = frames.peek();
+        JsonSchema.Node schema;
+        String segment;
+
+        if (parent == null) {
+            schema = root;
+            segment = null;
+        } else if (parent.array) {
+            schema = parent.schema.items;
+            segment = String.valueOf(parent.count++);
+        } else {
+            schema = parent.schema.property(parent.field);
+            segment = parent.field;
+        }
+
+        if (schema == null || schema == JsonSchema.Node.ANY) {
+            skip(token);
+            return;
+        }
+        if (schema == JsonSchema.Node.NOTHING) {
+            boolean additional = parent != null && !parent.array;
+            fail(segment, additional ? "additionalProperties" : "false", additional ? "Field is not allowed" : "No value is allowed");
+            skip(token);
+            return;
+        }
+        if (!hasType(schema, token, parser)) {
+            fail(segment, "type", "Expected " + schema.types + ", found " + token);
+            skip(token);
+            return;
+        }
+
+        if (token.isStructStart()) {
+            frames.push(new Frame(schema, segment, JsonToken.START_ARRAY.equals(token)));
+        } else {
+            checkScalar(schema, token, parser, segment);
+        }
+    }
+
+    private void skip(JsonToken token) {
+        if (token.isStructStart()) {
+            skippedDepth = 1;
+        }
+    }
+
+    private boolean hasType(JsonSchema.Node schema, JsonToken token, JsonParser parser) throws IOException {
+        if (schema.types == null) {
+            return true;
+        }
+
+        switch (token) {
+            case START_OBJECT:
+                return schema.types.contains(JsonSchema.Type.OBJECT);
+            case START_ARRAY:
+                return schema.types.contains(JsonSchema.Type.ARRAY);
+            case VALUE_STRING:
+                return schema.types.contains(JsonSchema.Type.STRING);
+            case VALUE_NUMBER_INT:
+                return schema.types.contains(JsonSchema.Type.INTEGER) || schema.types.contains(JsonSchema.Type.NUMBER);
+            case VALUE_NUMBER_FLOAT:
+                return schema.types.contains(JsonSchema.Type.NUMBER)
+                        || schema.types.contains(JsonSchema.Type.INTEGER) && isWhole(parser.getDecimalValue());
+            case VALUE_TRUE:
+            case VALUE_FALSE:
+                return schema.types.contains(JsonSchema.Type.BOOLEAN);
+            case VALUE_NULL:
+                return schema.types.contains(JsonSchema.Type.NULL);
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @implNote Texts are checked against enum values by {@link #checkText(JsonSchema.Node, String, String)}, any other
+     * scalar here
+     */
+    private void checkScalar(JsonSchema.Node schema, JsonToken token, JsonParser parser, String segment) throws IOException {
+        if (JsonToken.VALUE_STRING.equals(token)) {
+            if (schema.needsText()) {
+                checkText(schema, parser.getText(), segment);
+            }
+            return;
+        }
+
+        BigDecimal number = token.isNumeric() && schema.needsNumber() ? parser.getDecimalValue() : null;
+        if (number != null) {
+            checkNumber(schema, number, segment);
+        }
+        if (schema.values != null && schema.values.stream().noneMatch(allowed -> isEqual(allowed, token, number))) {
+            fail(segment, "enum", "Value is not one of " + schema.values);
+        }
+    }
+
+    private boolean isEqual(JsonNode allowed, JsonToken token, BigDecimal number) {
+        switch (token) {
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return allowed.isNumber() && allowed.decimalValue().compareTo(number) == 0;
+            case VALUE_TRUE:
+                return allowed.isBoolean() && allowed.booleanValue();
+            case VALUE_FALSE:
+                return allowed.isBoolean() && !allowed.booleanValue();
+            default:
+                return allowed.isNull();
+        }
+    }
+
+    private void checkText(JsonSchema.Node schema, String text, String segment) {
+        long length = text.codePointCount(0, text.length());
+
+        if (schema.minLength != null && length < schema.minLength) {
+            fail(segment, "minLength", "Length " + length + " is below " + schema.minLength);
+        }
+        if (schema.maxLength != null && length > schema.maxLength) {
+            fail(segment, "maxLength", "Length " + length + " is above " + schema.maxLength);
+        }
+        if (schema.pattern != null && !schema.pattern.matcher(text).find()) {
+            fail(segment, "pattern", "Value does not match " + schema.pattern.pattern());
+        }
+        if (schema.values != null && schema.values.stream().noneMatch(allowed -> allowed.isTextual() && allowed.textValue().equals(text))) {
+            fail(segment, "enum", "Value is not one of " + schema.values);
+        }
+    }
+
+    private void checkNumber(JsonSchema.Node schema, BigDecimal number, String segment) {
+        if (schema.minimum != null && number.compareTo(schema.minimum) < 0) {
+            fail(segment, "minimum", number + " is below " + schema.minimum);
+        }
+        if (schema.maximum != null && number.compareTo(schema.maximum) > 0) {
+            fail(segment, "maximum", number + " is above " + schema.maximum);
+        }
+        if (schema.exclusiveMinimum != null && number.compareTo(schema.exclusiveMinimum) <= 0) {
+            fail(segment, "exclusiveMinimum", number + " is not above " + schema.exclusiveMinimum);
+        }
+        if (schema.exclusiveMaximum != null && number.compareTo(schema.exclusiveMaximum) >= 0) {
+            fail(segment, "exclusiveMaximum", number + " is not below " + schema.exclusiveMaximum);
+        }
+        if (schema.multipleOf != null && number.remainder(schema.multipleOf).signum() != 0) {
+            fail(segment, "multipleOf", number + " is not a multiple of " + schema.multipleOf);
+        }
+    }
+
+    private void onEndObject(Frame frame) {
+        JsonSchema.Node schema = frame.schema;
+
+        if (schema.required != null) {
+            schema.required.stream()
+                    .filter(field -> !frame.seen.contains(field))
+                    .forEach(field -> failAtFrame("required", "Missing field " + field));
+        }
+        if (schema.minProperties != null && frame.count < schema.minProperties) {
+            failAtFrame("minProperties", frame.count + " fields, expected at least " + schema.minProperties);
+        }
+        if (schema.maxProperties != null && frame.count > schema.maxProperties) {
+            failAtFrame("maxProperties", frame.count + " fields, expected at most " + schema.maxProperties);
+        }
+    }
+
+    private void onEndArray(Frame frame) {
+        JsonSchema.Node schema = frame.schema;
+
+        if (schema.minItems != null && frame.count < schema.minItems) {
+            failAtFrame("minItems", frame.count + " items, expected at least " + schema.minItems);
+        }
+        if (schema.maxItems != null && frame.count > schema.maxItems) {
+            failAtFrame("maxItems", frame.count + " items, expected at most " + schema.maxItems);
+        }
+    }
+
+    private static boolean isWhole(BigDecimal number) {
+        return number.signum() == 0 || number.stripTrailingZeros().scale() <= 0;
+    }
+
+    /**
+     * Reports a violation of the structure on top of the stack
+     */
+    private void failAtFrame(String keyword, String message) {
+        report(pointer(null), keyword, message);
+    }
+
+    /**
+     * Reports a violation of a value inside the structure on top of the stack
+     *
+     * @param segment the field name or the index of the value, null for the root
+     */
+    private void fail(String segment, String keyword, String message) {
+        report(segment == null ? "" : pointer(segment), keyword, message);
+    }
+
+    private void report(String pointer, String keyword, String message) {
+        SchemaViolation violation = new SchemaViolation(pointer, keyword, message);
+
+        violationCount++;
+        if (violations.size() < maxViolations) {
+            violations.add(violation);
+        }
+        if (failFast) {
+            throw new SchemaValidationException(violation);
+        }
+    }
+
+    /**
+     * @return the JSON Pointer of the structure on top of the stack, followed by the provided segment if any
+     */
+    private String pointer(String last) {
+        StringBuilder pointer = new StringBuilder();
+        Iterator<Frame> outermostFirst = frames.descendingIterator();
+
+        while (outermostFirst.hasNext()) {
+            String segment = outermostFirst.next().segment;
+            if (segment != null) {
+                pointer.append('/').append(escape(segment));
+            }
+        }
+        if (last != null) {
+            pointer.append('/').append(escape(last));
+        }
+
+        return pointer.toString();
+    }
+
+    private static String escape(String segment) {
+        return segment.replace("~", "~0").replace("/", "~1");
+    }
+
+    private static class Frame {
+
+        private final JsonSchema.Node schema;
+        private final String segment;
+        private final boolean array;
+        private final Set<String> seen;
+        private String field;
+        private long count = 0;
+
+        private Frame(JsonSchema.Node schema, String segment, boolean array) {
+            this.schema = schema;
+            this.segment = segment;
+            this.array = array;
+            this.seen = schema.required == null ? null : new HashSet<>();
+        }
+
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.sdl.lt.lc.json.streaming;
+
+import lombok.Getter;
+
+/**
+ * Thrown by a fail fast {@link SchemaValidation} on the first {@link SchemaViolation}
+ *
+ * @author anegruti
+ * @since 12/9/2022
+ */
+@Getter
+public class SchemaValidationException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final SchemaViolation violation;
+
+    SchemaValidationException(SchemaViolation violation) {
+        super(String.format("Schema violation at '%s', %s: %s", violation.getPointer(), violation.getKeyword(), violation.getMessage()));
+        this.violation = violation;
+    }
+
+}
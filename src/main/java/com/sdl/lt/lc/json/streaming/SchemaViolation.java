@@ -0,0 +1,32 @@
+package com.sdl.lt.lc.json.streaming;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.Serializable;
+
+/**
+ * A value of a document breaking one of the keywords of a {@link JsonSchema}
+ *
+ * @author anegruti
+ * @since 12/9/2022
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+public class SchemaViolation implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The JSON Pointer of the value, array elements being referred to by their index
+     */
+    private final String pointer;
+    private final String keyword;
+    private final String message;
+
+}
@@ -0,0 +1,23 @@
+package com.sdl.lt.lc.json.streaming;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Opens the {@link OutputStream} of a new shard for the {@link ArraySplitter}.
+ * Shards of different partitions are opened from different threads.
+ *
+ * @author anegruti
+ * @since 11/11/2022
+ */
+@FunctionalInterface
+public interface ShardSupplier {
+
+    /**
+     * @param partition the partition of the shard, always 0 when no partitioning is used
+     * @param shard the sequence number of the shard inside its partition, starting from 0
+     * @return the {@link OutputStream} to which the shard is written. It is closed when the shard is full
+     */
+    OutputStream open(int partition, int shard) throws IOException;
+
+}
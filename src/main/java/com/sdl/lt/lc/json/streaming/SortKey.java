@@ -0,0 +1,76 @@
+package com.sdl.lt.lc.json.streaming;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Comparator;
+
+/**
+ * The key an element is ordered by. Numeric keys are compared as numbers, any other key by its text.
+ * Numbers come before texts, missing keys come last. In descending order only the numbers and the texts are reversed
+ * among themselves, so missing keys still come last.
+ *
+ * @author anegruti
+ * @since 12/7/2022
+ */
+@Getter(AccessLevel.PACKAGE)
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+class SortKey implements Comparable<SortKey> {
+
+    static final byte NUMBER = 0;
+    static final byte TEXT = 1;
+    static final byte MISSING = 2;
+
+    private static final Comparator<SortKey> ASCENDING = SortKey::compareTo;
+    private static final Comparator<SortKey> DESCENDING = (first, second) -> first.kind != second.kind
+            ? Byte.compare(first.kind, second.kind)
+            : second.compareValue(first);
+
+    private final byte kind;
+    private final double number;
+    private final String text;
+
+    /**
+     * @param key the value found at the key path of an element, null if there is none
+     */
+    static SortKey of(JsonNode key) {
+        if (key == null || key.isNull() || key.isMissingNode()) {
+            return new SortKey(MISSING, 0, null);
+        }
+        if (key.isNumber()) {
+            return new SortKey(NUMBER, key.doubleValue(), null);
+        }
+
+        return new SortKey(TEXT, 0, key.isValueNode() ? key.asText() : key.toString());
+    }
+
+    /**
+     * @return the approximate number of bytes held by the text of the key
+     */
+    long size() {
+        return text == null ? 0 : 2L * text.length();
+    }
+
+    /**
+     * @return the {@link Comparator} of keys in the requested direction, missing keys coming last in both
+     */
+    static Comparator<SortKey> order(boolean descending) {
+        return descending ? DESCENDING : ASCENDING;
+    }
+
+    @Override
+    public int compareTo(SortKey other) {
+        if (kind != other.kind) {
+            return Byte.compare(kind, other.kind);
+        }
+
+        return compareValue(other);
+    }
+
+    private int compareValue(SortKey other) {
+        return kind == TEXT ? text.compareTo(other.text) : Double.compare(number, other.number);
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.sdl.lt.lc.json.streaming;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+
+/**
+ * A {@link JsonParser} whose source of tokens can be changed while it is in use.
+ * Lets a {@link JsonPathProcessor} read either from the shared parser of a {@link TeeJsonProcessor} or from a replay
+ * of buffered tokens, without the processor or its transformers noticing.
+ *
+ * @author anegruti
+ * @since 11/14/2022
+ */
+class SwitchableJsonParser extends JsonParserDelegate {
+
+    SwitchableJsonParser(JsonParser source) {
+        super(source);
+    }
+
+    void switchTo(JsonParser source) {
+        this.delegate = source;
+    }
+
+}
@@ -0,0 +1,269 @@
+package com.sdl.lt.lc.json.streaming;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Visits a JSON once while feeding several independent branches, each one with its own transformers, path state and output.
+ * Tokens are decoded a single time and shared by all branches.
+ *
+ * @author anegruti
+ * @since 11/14/2022
+ */
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+public class TeeJsonProcessor implements AutoCloseable {
+
+    private static final int INITIAL_COUNTER_VALUE = 1;
+    private static final int ELEMENTS_IN_FLIGHT = 16;
+    private static final long QUEUE_POLL_MILLIS = 100;
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    private final JsonParser parser;
+    private final List<Branch> branches;
+
+    /**
+     * Will visit the entire object once, applying the {@link JsonVisitor} of every branch
+     *
+     * @implNote As long as no branch has a transformer matching the current path each token is written by every branch
+     * straight from the shared parser.
+     * When at least one branch has a matching transformer on an array, the array is read one element at a time by
+     * {@link #fanOutArray()}, only a few elements being held in memory whatever the size of the array.
+     * When at least one branch has a matching transformer on any other token, the element starting at that token is
+     * buffered once, whole. Every branch then goes over its own replay of the buffered element: branches with a matching
+     * transformer run it, the others keep visiting it token by token, so transformers matching deeper paths still get
+     * applied. The buffered element is held in memory once for all branches until every branch went over it.
+     * Transformers matching the end of a structure run on the shared parser before the end is written, nothing is buffered.
+     * The counter tracks the depth of the root structure the same way {@link VisitJsonProcessor} does. A buffered
+     * element starting with a structure always contains its end, leaving the depth unchanged.
+     */
+    @SneakyThrows
+    public void visit() {
+        ensureCurrentTokenIsOfTypeStructStart();
+        int counter = INITIAL_COUNTER_VALUE;
+
+        branches.forEach(Branch::entering);
+        while (counter != 0) {
+            JsonToken jsonToken = parser.nextToken();
+            branches.forEach(b -> b.processor.updatePath(jsonToken));
+
+            if (jsonToken.isStructEnd()) {
+                branches.forEach(Branch::runMatchingTransformers);
+            } else if (JsonToken.START_ARRAY.equals(jsonToken) && branches.stream().anyMatch(Branch::isMatching)) {
+                fanOutArray();
+                continue;
+            } else if (branches.stream().anyMatch(Branch::isMatching)) {
+                JsonElementBuffer element = JsonElementBuffer.copyOf(parser);
+                branches.forEach(b -> b.replay(element));
+                continue;
+            }
+
+            if (jsonToken.isStructStart()) {
+                counter++;
+            } else if (jsonToken.isStructEnd()) {
+                counter--;
+            }
+
+            if (counter == 0) {
+                branches.forEach(Branch::beforeLeaving);
+            }
+
+            branches.forEach(b -> b.processor.writeToken());
+        }
+        branches.forEach(Branch::leaving);
+    }
+
+    /**
+     * Hands the elements of the array the shared parser is on to every branch, one element at a time, up to the end of
+     * the array
+     *
+     * @implNote Branches with a transformer matching the array run it on their own thread, reading the elements from a
+     * bounded queue through a {@link QueuedElementsParser}. The other branches replay every element on the calling
+     * thread, the same way a buffered element is replayed. Each element is copied once, shared by all branches, and
+     * released as soon as every branch went over it, so at most {@link #ELEMENTS_IN_FLIGHT} elements per matching
+     * branch are held in memory.
+     */
+    @SneakyThrows
+    private void fanOutArray() {
+        List<Branch> matching = branches.stream().filter(Branch::isMatching).collect(Collectors.toList());
+        List<Branch> others = branches.stream().filter(b -> !matching.contains(b)).collect(Collectors.toList());
+        List<BlockingQueue<Object>> queues = new ArrayList<>();
+        List<Future<?>> readers = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(matching.size(), r -> {
+            Thread thread = new Thread(r, "json-tee-branch-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            for (Branch branch : matching) {
+                BlockingQueue<Object> queue = new ArrayBlockingQueue<>(ELEMENTS_IN_FLIGHT);
+                QueuedElementsParser elements = new QueuedElementsParser(queue, parser.getCodec());
+                queues.add(queue);
+                readers.add(executor.submit(() -> branch.replay(elements)));
+            }
+            others.forEach(b -> b.processor.writeToken());
+
+            while (!JsonToken.END_ARRAY.equals(parser.nextToken())) {
+                JsonToken first = parser.currentToken();
+                JsonElementBuffer element = JsonElementBuffer.copyOf(parser);
+
+                for (int i = 0; i < matching.size(); i++) {
+                    put(queues.get(i), readers.get(i), element);
+                }
+                for (Branch branch : others) {
+                    branch.processor.updatePath(first);
+                    branch.replay(element);
+                }
+            }
+
+            for (int i = 0; i < matching.size(); i++) {
+                put(queues.get(i), readers.get(i), QueuedElementsParser.END_OF_ARRAY);
+            }
+            for (Future<?> reader : readers) {
+                await(reader);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (Branch branch : others) {
+            branch.processor.updatePath(JsonToken.END_ARRAY);
+            branch.runMatchingTransformers();
+            branch.processor.writeToken();
+        }
+    }
+
+    /**
+     * Waits for room in the queue of a branch, failing if the branch stopped reading
+     */
+    private void put(BlockingQueue<Object> queue, Future<?> reader, Object element) throws InterruptedException {
+        while (!queue.offer(element, QUEUE_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+            if (reader.isDone()) {
+                await(reader);
+                throw new IllegalStateException("Branch stopped before the end of the array");
+            }
+        }
+    }
+
+    @SneakyThrows
+    private static void await(Future<?> reader) {
+        try {
+            reader.get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void ensureCurrentTokenIsOfTypeStructStart() {
+        JsonToken currentToken = parser.currentToken();
+        if (currentToken == null || !currentToken.isStructStart()) {
+            throw new UnsupportedOperationException("Expected position was at start of a structure, found " + currentToken);
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        this.parser.close();
+        for (Branch branch : branches) {
+            branch.processor.close();
+        }
+    }
+
+    /**
+     * One output of the {@link TeeJsonProcessor}
+     */
+    static class Branch {
+
+        private final JsonParser source;
+        private final SwitchableJsonParser parser;
+        private final JsonPathProcessor processor;
+        private final VisitJsonProcessor visiting;
+        private final JsonVisitor visitor;
+
+        Branch(JsonParser source, SwitchableJsonParser parser, JsonPathProcessor processor, JsonVisitor visitor) {
+            this.source = source;
+            this.parser = parser;
+            this.processor = processor;
+            this.visiting = new VisitJsonProcessor(processor);
+            this.visitor = visitor;
+        }
+
+        private boolean isMatching() {
+            return visiting.existsTransformerWithMatchingPath(visitor);
+        }
+
+        /**
+         * Visits the buffered element from its first token, which has already been registered in the path of the branch.
+         * The shared parser is restored afterwards.
+         */
+        private void replay(JsonElementBuffer element) {
+            replay(element.asParser());
+        }
+
+        /**
+         * Visits the tokens of the provided parser from its current one, which has already been registered in the path
+         * of the branch. The shared parser is restored afterwards.
+         */
+        @SneakyThrows
+        private void replay(JsonParser tokens) {
+            parser.switchTo(tokens);
+
+            try {
+                visitCurrentToken();
+                while (parser.nextToken() != null) {
+                    processor.updatePath(parser.currentToken());
+                    visitCurrentToken();
+                }
+            } finally {
+                parser.switchTo(source);
+            }
+        }
+
+        private void visitCurrentToken() {
+            if (!isMatching()) {
+                processor.writeToken();
+                return;
+            }
+
+            JsonToken token = parser.currentToken();
+            visiting.runMatchingTransformers(visitor);
+            if (token.isStructEnd()) {
+                processor.writeToken();
+            }
+        }
+
+        private void runMatchingTransformers() {
+            if (isMatching()) {
+                visiting.runMatchingTransformers(visitor);
+            }
+        }
+
+        private void entering() {
+            visitor.entering(processor.getWriter());
+        }
+
+        private void beforeLeaving() {
+            visitor.beforeLeaving(processor.getWriter());
+        }
+
+        private void leaving() {
+            visitor.leaving(processor.getWriter());
+        }
+
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.sdl.lt.lc.json.streaming;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Registers the branches of a {@link TeeJsonProcessor}.
+ * Every branch has its own {@link OutputStream}, its own {@link JsonProcessorBuilder} used to create its transformers
+ * and its own {@link JsonVisitor}, while all of them share the same parse of the input.
+ *
+ * @author anegruti
+ * @since 11/14/2022
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class TeeJsonProcessorBuilder {
+
+    private final JsonParser parser;
+    private final ObjectMapper mapper;
+    private final List<TeeJsonProcessor.Branch> branches = new ArrayList<>();
+
+    @SneakyThrows
+    static TeeJsonProcessorBuilder init(JsonParser parser, ObjectMapper mapper) {
+        parser.nextToken();
+
+        return new TeeJsonProcessorBuilder(parser, mapper);
+    }
+
+    /**
+     * Adds a branch writing to the provided {@link OutputStream}
+     *
+     * @param outputStream the {@link OutputStream} to which this branch writes its version of the JSON
+     * @param visitorFactory creates the {@link JsonVisitor} of the branch, using the provided {@link JsonProcessorBuilder}
+     *                       to create the transformers of the branch
+     * @return this builder
+     */
+    public TeeJsonProcessorBuilder branch(OutputStream outputStream, Function<JsonProcessorBuilder, JsonVisitor> visitorFactory) {
+        SwitchableJsonParser branchParser = new SwitchableJsonParser(parser);
+        JsonPathProcessor processor = JsonPathProcessor.initStarted(branchParser, outputStream, mapper);
+        JsonVisitor visitor = visitorFactory.apply(new JsonProcessorBuilder(processor));
+
+        branches.add(new TeeJsonProcessor.Branch(parser, branchParser, processor, visitor));
+        return this;
+    }
+
+    public TeeJsonProcessor build() {
+        return new TeeJsonProcessor(parser, List.copyOf(branches));
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.sdl.lt.lc.json.streaming;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+
+import java.io.IOException;
+
+/**
+ * A {@link JsonParser} handing every token it reads to {@link #onToken(JsonToken)}, whether it is read by the processor
+ * or consumed while binding, copying or skipping elements.
+ *
+ * @implNote {@link JsonParserDelegate} forwards {@link #nextValue()} and {@link #skipChildren()} straight to the
+ * delegate, so both are routed through {@link #nextToken()} here. The other shortcuts reading the next token are
+ * implemented by {@link JsonParser} on top of {@link #nextToken()} already.
+ *
+ * @author anegruti
+ * @since 12/9/2022
+ */
+abstract class TokenObservingJsonParser extends JsonParserDelegate {
+
+    TokenObservingJsonParser(JsonParser parser) {
+        super(parser);
+    }
+
+    /**
+     * Called with every token read, the delegate being positioned on it
+     */
+    abstract void onToken(JsonToken token) throws IOException;
+
+    @Override
+    public final JsonToken nextToken() throws IOException {
+        JsonToken token = delegate.nextToken();
+        if (token != null) {
+            onToken(token);
+        }
+
+        return token;
+    }
+
+    @Override
+    public final JsonToken nextValue() throws IOException {
+        JsonToken token = nextToken();
+        if (JsonToken.FIELD_NAME.equals(token)) {
+            token = nextToken();
+        }
+
+        return token;
+    }
+
+    /**
+     * Skips token by token so that the skipped tokens are observed as well
+     */
+    @Override
+    public final JsonParser skipChildren() throws IOException {
+        JsonToken token = currentToken();
+        if (token == null || !token.isStructStart()) {
+            return this;
+        }
+
+        int open = 1;
+        while (open > 0) {
+            JsonToken next = nextToken();
+            if (next == null) {
+                return this;
+            } else if (next.isStructStart()) {
+                open++;
+            } else if (next.isStructEnd()) {
+                open--;
+            }
+        }
+
+        return this;
+    }
+
+}
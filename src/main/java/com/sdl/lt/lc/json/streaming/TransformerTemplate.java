@@ -0,0 +1,193 @@
+package com.sdl.lt.lc.json.streaming;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sdl.lt.lc.json.streaming.element.JsonArrayElement;
+import com.sdl.lt.lc.json.streaming.element.JsonObjectElement;
+import com.sdl.lt.lc.json.streaming.matchers.PathMatcher;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+import java.io.OutputStream;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * The definition of a {@link JsonElementTransformer} that is independent of any processor.
+ * A template is immutable, it is built once and then bound to the {@link JsonProcessorBuilder} of every request,
+ * from any number of threads at the same time.
+ *
+ * The objects handed to a template (replacers, consumers, mappers, predicates, caches) are shared by every binding and
+ * have to be thread safe themselves. Helpers that hold the state of a run, such as {@link Deduplicator} or
+ * {@link ArraySorter}, are provided through a {@link Supplier} called at every binding instead.
+ *
+ * @implNote Templates binding elements to a class resolve its {@link ObjectReader} once and keep it for the
+ * {@link ObjectMapper} it was resolved with, so that bound transformers neither resolve the type nor look up the
+ * deserializer again. Binding with another mapper resolves and keeps a new reader.
+ *
+ * @author anegruti
+ * @since 11/30/2022
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class TransformerTemplate {
+
+    private final Class<?> clazz;
+    private final BiFunction<JsonProcessorBuilder, ObjectReader, JsonElementTransformer> binding;
+    private volatile ResolvedReader resolved;
+
+    private TransformerTemplate(Function<JsonProcessorBuilder, JsonElementTransformer> binding) {
+        this(null, (builder, reader) -> binding.apply(builder));
+    }
+
+    /**
+     * @param builder the {@link JsonProcessorBuilder} of the processor that will run the transformer
+     * @return a {@link JsonElementTransformer} bound to the processor of the builder
+     */
+    public JsonElementTransformer bind(JsonProcessorBuilder builder) {
+        ObjectReader reader = clazz == null ? null : readerFor(builder.getProcessor().getMapper());
+
+        return binding.apply(builder, reader);
+    }
+
+    private ObjectReader readerFor(ObjectMapper mapper) {
+        ResolvedReader current = resolved;
+        if (current == null || current.mapper != mapper) {
+            current = new ResolvedReader(mapper, mapper.readerFor(clazz));
+            resolved = current;
+        }
+
+        return current.reader;
+    }
+
+    /**
+     * Creates a template binding elements with the {@link ObjectReader} of the provided class
+     */
+    private static TransformerTemplate reading(Class<?> clazz, BiFunction<JsonPathProcessor, ObjectReader, Runnable> executor,
+                                               PathMatcher pathMatcher) {
+        return new TransformerTemplate(
+                Objects.requireNonNull(clazz),
+                (builder, reader) -> new JsonElementTransformer(pathMatcher, executor.apply(builder.getProcessor(), reader))
+        );
+    }
+
+    /**
+     * @see JsonProcessorBuilder#replace(PathMatcher, Object)
+     */
+    public static <T> TransformerTemplate replace(PathMatcher pathMatcher, T replacer) {
+        return new TransformerTemplate(builder -> builder.replace(pathMatcher, replacer));
+    }
+
+    /**
+     * @see JsonProcessorBuilder#remove(PathMatcher)
+     */
+    public static TransformerTemplate remove(PathMatcher pathMatcher) {
+        return new TransformerTemplate(builder -> builder.remove(pathMatcher));
+    }
+
+    /**
+     * @see JsonProcessorBuilder#peek(PathMatcher, Class, Consumer)
+     */
+    public static <T> TransformerTemplate peek(PathMatcher pathMatcher, Class<T> clazz, Consumer<JsonObjectElement<T>> consumer) {
+        return reading(clazz, (processor, reader) -> () -> processor.peek(reader, consumer), pathMatcher);
+    }
+
+    /**
+     * @see JsonProcessorBuilder#peekAll(PathMatcher, Class, Consumer)
+     */
+    public static <T> TransformerTemplate peekAll(PathMatcher pathMatcher, Class<T> clazz, Consumer<JsonArrayElement<T>> consumer) {
+        return reading(clazz, (processor, reader) -> () -> processor.peekAll(reader, consumer), pathMatcher);
+    }
+
+    /**
+     * @see JsonProcessorBuilder#consume(PathMatcher, Class, Consumer)
+     */
+    public static <T> TransformerTemplate consume(PathMatcher pathMatcher, Class<T> clazz, Consumer<JsonObjectElement<T>> consumer) {
+        return reading(clazz, (processor, reader) -> () -> processor.consume(reader, consumer), pathMatcher);
+    }
+
+    /**
+     * @see JsonProcessorBuilder#consumeAll(PathMatcher, Class, Consumer)
+     */
+    public static <T> TransformerTemplate consumeAll(PathMatcher pathMatcher, Class<T> clazz, Consumer<JsonArrayElement<T>> consumer) {
+        return reading(clazz, (processor, reader) -> () -> processor.consumeAll(reader, consumer), pathMatcher);
+    }
+
+    /**
+     * @see JsonProcessorBuilder#mapEach(PathMatcher, Class, Function)
+     */
+    public static <T, R> TransformerTemplate mapEach(PathMatcher pathMatcher, Class<T> clazz, Function<T, R> mapper) {
+        return reading(clazz, (processor, reader) -> () -> processor.mapEach(reader, mapper), pathMatcher);
+    }
+
+    /**
+     * @see JsonProcessorBuilder#mapEachCached(PathMatcher, Class, Function, MappingCache)
+     */
+    public static <T, R> TransformerTemplate mapEachCached(PathMatcher pathMatcher, Class<T> clazz, Function<T, R> mapper,
+                                                           MappingCache<T, R> cache) {
+        return mapEachCached(pathMatcher, clazz, Function.identity(), mapper, cache);
+    }
+
+    /**
+     * @see JsonProcessorBuilder#mapEachCached(PathMatcher, Class, Function, Function, MappingCache)
+     */
+    public static <T, K, R> TransformerTemplate mapEachCached(PathMatcher pathMatcher, Class<T> clazz, Function<T, K> keyExtractor,
+                                                              Function<T, R> mapper, MappingCache<K, R> cache) {
+        Function<T, R> cachedMapper = item -> cache.get(keyExtractor.apply(item), key -> mapper.apply(item));
+
+        return mapEach(pathMatcher, clazz, cachedMapper);
+    }
+
+    /**
+     * @see JsonProcessorBuilder#filterEach(PathMatcher, Class, Predicate)
+     */
+    public static <T> TransformerTemplate filterEach(PathMatcher pathMatcher, Class<T> clazz, Predicate<T> predicate) {
+        return reading(clazz, (processor, reader) -> () -> processor.filterEach(reader, predicate), pathMatcher);
+    }
+
+    /**
+     * @see JsonProcessorBuilder#filterEach(PathMatcher, Set, Predicate)
+     */
+    public static TransformerTemplate filterEach(PathMatcher pathMatcher, Set<String> fields, Predicate<ObjectNode> predicate) {
+        Set<String> projectedFields = Set.copyOf(fields);
+
+        return new TransformerTemplate(builder -> builder.filterEach(pathMatcher, projectedFields, predicate));
+    }
+
+    /**
+     * @param deduplicator supplies a new {@link Deduplicator} at every binding
+     * @see JsonProcessorBuilder#dedupEach(PathMatcher, Deduplicator)
+     */
+    public static TransformerTemplate dedupEach(PathMatcher pathMatcher, Supplier<Deduplicator> deduplicator) {
+        return new TransformerTemplate(builder -> builder.dedupEach(pathMatcher, deduplicator.get()));
+    }
+
+    /**
+     * @param sorter supplies a new {@link ArraySorter} at every binding
+     * @see JsonProcessorBuilder#sortEach(PathMatcher, ArraySorter)
+     */
+    public static TransformerTemplate sortEach(PathMatcher pathMatcher, Supplier<ArraySorter> sorter) {
+        return new TransformerTemplate(builder -> builder.sortEach(pathMatcher, sorter.get()));
+    }
+
+    /**
+     * @see JsonProcessorBuilder#consumeBinary(PathMatcher, Supplier)
+     */
+    public static TransformerTemplate consumeBinary(PathMatcher pathMatcher, Supplier<OutputStream> target) {
+        return new TransformerTemplate(builder -> builder.consumeBinary(pathMatcher, target));
+    }
+
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    private static class ResolvedReader {
+
+        private final ObjectMapper mapper;
+        private final ObjectReader reader;
+
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.sdl.lt.lc.json.streaming;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * A {@link JsonParser} handing every token it reads to a {@link SchemaValidation}.
+ * Checking at the parser level covers the tokens read by the processor as well as the ones consumed while binding,
+ * copying or skipping elements.
+ *
+ * @author anegruti
+ * @since 12/9/2022
+ */
+class ValidatingJsonParser extends TokenObservingJsonParser {
+
+    private final SchemaValidation validation;
+
+    ValidatingJsonParser(JsonParser parser, SchemaValidation validation) {
+        super(parser);
+        this.validation = validation;
+    }
+
+    @Override
+    void onToken(JsonToken token) throws IOException {
+        validation.onToken(token, delegate);
+    }
+
+}
@@ -6,6 +6,7 @@ import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.function.Consumer;
 
@@ -52,6 +53,8 @@ public class VisitJsonProcessor implements AutoCloseable {
      * Whenever one of the provided transformers matches the current path we will execute the {@link JsonElementTransformer} and
      * skip forward.
      * If there is no matching transformer we continue to write tokens and move forward.
+     * Transformers matching the end of a structure run before the end is written, so that they can append to the
+     * structure. The end is then processed as any other token.
      *
      * When entering and leaving the JSON Object we will be using the provided hooks of the {@link JsonVisitor}
      * @see JsonVisitor
@@ -68,7 +71,10 @@ public class VisitJsonProcessor implements AutoCloseable {
 
             if (existsTransformerWithMatchingPath(visitor)) {
                 runMatchingTransformers(visitor);
-                continue;
+
+                if (!jsonToken.isStructEnd()) {
+                    continue;
+                }
             }
 
             if (jsonToken.isStructStart()) {
@@ -94,10 +100,15 @@ public class VisitJsonProcessor implements AutoCloseable {
      *     <li>False - if there is no transformer which has a matching {@link PathMatcher}</li>
      * </ul>
      */
-    private boolean existsTransformerWithMatchingPath(JsonVisitor visitor) {
-        return visitor.getTransformers().stream()
-                .map(JsonElementTransformer::getPathMatcher)
-                .anyMatch(processor::checkIsCurrentPath);
+    boolean existsTransformerWithMatchingPath(JsonVisitor visitor) {
+        List<JsonElementTransformer> transformers = visitor.getTransformers();
+        for (int i = 0; i < transformers.size(); i++) {
+            if (processor.checkIsCurrentPath(transformers.get(i).getPathMatcher())) {
+                return true;
+            }
+        }
+
+        return false;
     }
 
     /**
@@ -106,12 +117,16 @@ public class VisitJsonProcessor implements AutoCloseable {
      * @apiNote Used in conjunction with {@link #existsTransformerWithMatchingPath(JsonVisitor)}
      * It is recommended that only one transformer matches one path. If this is not true the behaviour is not promised.
      * @param visitor the {@link JsonVisitor} that holds the transformers
+     * @implNote Both checks run for every token, they go over the transformers by index so that nothing is allocated
      */
-    private void runMatchingTransformers(JsonVisitor visitor) {
-        visitor.getTransformers().stream()
-                .filter(p -> processor.checkIsCurrentPath(p.getPathMatcher()))
-                .map(JsonElementTransformer::getExecutor)
-                .forEach(Runnable::run);
+    void runMatchingTransformers(JsonVisitor visitor) {
+        List<JsonElementTransformer> transformers = visitor.getTransformers();
+        for (int i = 0; i < transformers.size(); i++) {
+            JsonElementTransformer transformer = transformers.get(i);
+            if (processor.checkIsCurrentPath(transformer.getPathMatcher())) {
+                transformer.getExecutor().run();
+            }
+        }
     }
 
     @Override
@@ -0,0 +1,154 @@
+package com.sdl.lt.lc.json.streaming;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * The definition of a {@link JsonVisitor} that is independent of any processor: its {@link TransformerTemplate}'s and
+ * hooks. A template is immutable, it is built once and bound to the {@link JsonProcessorBuilder} of every request,
+ * from any number of threads at the same time. Binding only creates the transformers, the matchers, the resolved
+ * {@link com.fasterxml.jackson.databind.ObjectReader}'s and everything handed to the templates are shared.
+ *
+ * <pre>{@code
+ *     VisitorTemplate template = VisitorTemplate.builder()
+ *             .transformer(TransformerTemplate.filterEach(recordsPath, MyRecord.class, r -> r.getScore() > 10))
+ *             .build();
+ *
+ *     // for every request
+ *     template.apply(inputStream, outputStream, mapper);
+ * }</pre>
+ *
+ * @author anegruti
+ * @since 11/30/2022
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class VisitorTemplate {
+
+    private final List<TransformerTemplate> transformers;
+    private final Consumer<JsonElementWriter> entering;
+    private final Consumer<JsonElementWriter> beforeLeaving;
+    private final Consumer<JsonElementWriter> leaving;
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @param builder the {@link JsonProcessorBuilder} of the processor that will visit the JSON
+     * @return a {@link JsonVisitor} bound to the processor of the builder
+     */
+    public JsonVisitor bind(JsonProcessorBuilder builder) {
+        JsonElementTransformer[] bound = new JsonElementTransformer[transformers.size()];
+        for (int i = 0; i < bound.length; i++) {
+            bound[i] = transformers.get(i).bind(builder);
+        }
+
+        return new BoundVisitor(Arrays.asList(bound));
+    }
+
+    public void apply(InputStream inputStream, OutputStream outputStream) throws Exception {
+        apply(inputStream, outputStream, new ObjectMapper());
+    }
+
+    /**
+     * Visits the JSON read from the input with a newly bound visitor, writing the result to the output
+     *
+     * @param mapper the {@link ObjectMapper}, which is best shared between requests as it caches the deserializers it
+     *               resolves
+     */
+    public void apply(InputStream inputStream, OutputStream outputStream, ObjectMapper mapper) throws Exception {
+        JsonProcessorBuilder builder = JsonProcessorBuilder.initBuilder(inputStream, outputStream, mapper);
+        try (VisitJsonProcessor processor = builder.build()) {
+            processor.visit(bind(builder));
+        }
+    }
+
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    private class BoundVisitor implements JsonVisitor {
+
+        private final List<JsonElementTransformer> boundTransformers;
+
+        @Override
+        public void entering(JsonElementWriter writer) {
+            entering.accept(writer);
+        }
+
+        @Override
+        public void beforeLeaving(JsonElementWriter writer) {
+            beforeLeaving.accept(writer);
+        }
+
+        @Override
+        public void leaving(JsonElementWriter writer) {
+            leaving.accept(writer);
+        }
+
+        @Override
+        public List<JsonElementTransformer> getTransformers() {
+            return boundTransformers;
+        }
+
+    }
+
+    public static class Builder {
+
+        private final List<TransformerTemplate> transformers = new ArrayList<>();
+        private Consumer<JsonElementWriter> entering = writer -> {
+        };
+        private Consumer<JsonElementWriter> beforeLeaving = writer -> {
+        };
+        private Consumer<JsonElementWriter> leaving = writer -> {
+        };
+
+        private Builder() {
+        }
+
+        public Builder transformer(TransformerTemplate transformer) {
+            this.transformers.add(transformer);
+            return this;
+        }
+
+        public Builder transformers(List<TransformerTemplate> transformers) {
+            this.transformers.addAll(transformers);
+            return this;
+        }
+
+        /**
+         * @see JsonVisitor#entering(JsonElementWriter)
+         */
+        public Builder entering(Consumer<JsonElementWriter> entering) {
+            this.entering = entering;
+            return this;
+        }
+
+        /**
+         * @see JsonVisitor#beforeLeaving(JsonElementWriter)
+         */
+        public Builder beforeLeaving(Consumer<JsonElementWriter> beforeLeaving) {
+            this.beforeLeaving = beforeLeaving;
+            return this;
+        }
+
+        /**
+         * @see JsonVisitor#leaving(JsonElementWriter)
+         */
+        public Builder leaving(Consumer<JsonElementWriter> leaving) {
+            this.leaving = leaving;
+            return this;
+        }
+
+        public VisitorTemplate build() {
+            return new VisitorTemplate(List.copyOf(transformers), entering, beforeLeaving, leaving);
+        }
+
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.sdl.lt.lc.json.streaming.attachments;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sdl.lt.lc.json.streaming.JsonProcessorBuilder;
+import com.sdl.lt.lc.json.streaming.JsonVisitor;
+import com.sdl.lt.lc.json.streaming.PathReader;
+import com.sdl.lt.lc.json.streaming.ReadJsonProcessor;
+import com.sdl.lt.lc.json.streaming.VisitJsonProcessor;
+import com.sdl.lt.lc.json.streaming.matchers.PathMatcher;
+import com.sdl.lt.lc.json.streaming.matchers.PathMatcherBuilder;
+import com.sdl.lt.lc.json.streaming.utils.TestUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * @author anegruti
+ * @since 11/22/2022
+ */
+class AttachmentsTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final PathMatcher CONTENT_PATH = PathMatcherBuilder.builder()
+            .field("attachment").field("content")
+            .build();
+
+    private static final PathMatcher TEXT_PATH = PathMatcherBuilder.builder()
+            .field("text")
+            .build();
+
+    @Test
+    void shouldDecodeAttachmentWithoutWritingIt() throws Exception {
+        byte[] content = randomBytes(3 * 1024 * 1024);
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        JsonProcessorBuilder builder = JsonProcessorBuilder.initBuilder(document(content, "hello"), outputStream);
+        try (VisitJsonProcessor visitingProcessor = builder.build()) {
+            visitingProcessor.visit(
+                    JsonVisitor.withTransformer(builder.consumeBinary(CONTENT_PATH, () -> decoded))
+            );
+        }
+
+        JsonNode written = TestUtils.deserialize(outputStream, JsonNode.class);
+
+        assertThat(decoded.toByteArray(), is(content));
+        assertThat(written.get("attachment").has("content"), is(false));
+        assertThat(written.get("attachment").get("name").asText(), is("report.bin"));
+        assertThat(written.get("text").asText(), is("hello"));
+    }
+
+    @Test
+    void shouldReadTextAndAttachmentInOnePass() throws Exception {
+        byte[] content = randomBytes(64 * 1024);
+        String text = "translated ".repeat(100_000);
+        AtomicReference<String> read = new AtomicReference<>();
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+
+        try (ReadJsonProcessor readingProcessor = JsonProcessorBuilder.initProcessor(document(content, text))) {
+            readingProcessor.read(List.of(
+                    PathReader.value(TEXT_PATH, String.class, read::set),
+                    PathReader.binary(CONTENT_PATH, () -> decoded)
+            ));
+        }
+
+        assertThat(read.get(), is(text));
+        assertThat(decoded.toByteArray(), is(content));
+    }
+
+    private static ByteArrayInputStream document(byte[] content, String text) throws Exception {
+        ObjectNode document = MAPPER.createObjectNode();
+        document.putObject("attachment")
+                .put("name", "report.bin")
+                .put("content", content);
+        document.put("text", text);
+
+        return new ByteArrayInputStream(MAPPER.writeValueAsBytes(document));
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(42).nextBytes(bytes);
+
+        return bytes;
+    }
+
+}
@@ -1,5 +1,8 @@
 package com.sdl.lt.lc.json.streaming.numbers;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sdl.lt.lc.json.streaming.JsonElementTransformer;
+import com.sdl.lt.lc.json.streaming.JsonElementWriter;
 import com.sdl.lt.lc.json.streaming.JsonProcessorBuilder;
 import com.sdl.lt.lc.json.streaming.JsonVisitor;
 import com.sdl.lt.lc.json.streaming.VisitJsonProcessor;
@@ -9,14 +12,24 @@ import com.sdl.lt.lc.json.streaming.numbers.model.MyNumbers;
 import com.sdl.lt.lc.json.streaming.utils.TestUtils;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  * @author anegruti
@@ -138,8 +151,118 @@ public class NumbersLibraryTest {
         assertThat(numbers.getNumbers(), contains(321313, 43235, 3243, 13, 1925, 236, 326, 42343, 484244, 103132));
     }
 
+    @Test
+    void shouldKeepOnlyNumbersGreaterThanTenThousand() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        JsonProcessorBuilder builder = JsonProcessorBuilder.initBuilder(getNumbersFile(), outputStream);
+
+        try (VisitJsonProcessor visitingProcessor = builder.build()) {
+            visitingProcessor.visit(
+                    JsonVisitor.withTransformer(builder.filterEach(NUMBERS_ARRAY_PATH, Integer.class, nr -> nr > 10_000))
+            );
+        }
+
+        MyNumbers numbers = TestUtils.deserialize(outputStream, MyNumbers.class);
+
+        assertThat(numbers.getNumbers(), contains(321312, 43234, 42342, 484243, 103131));
+    }
+
+    @Test
+    void shouldAppendGeneratedContentBeforeLeaving() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        JsonProcessorBuilder builder = JsonProcessorBuilder.initBuilder(getNumbersFile(), outputStream);
+
+        try (VisitJsonProcessor visitingProcessor = builder.build()) {
+            visitingProcessor.visit(new JsonVisitor() {
+                @Override
+                public void beforeLeaving(JsonElementWriter writer) {
+                    writer.writeArray("squares", IntStream.rangeClosed(1, 1000).map(i -> i * i).boxed());
+                    writer.writeArray("published", publish(List.of("a", "b", "c")));
+                    writer.writeRawValue("raw", new ByteArrayInputStream("{\"nested\":[1,2]}".getBytes(StandardCharsets.UTF_8)));
+                    writer.startObject("summary");
+                    writer.writeFieldName("count");
+                    writer.writeValue(1000);
+                    writer.endObject();
+                }
+
+                @Override
+                public List<JsonElementTransformer> getTransformers() {
+                    return Collections.emptyList();
+                }
+            });
+        }
+
+        JsonNode result = TestUtils.deserialize(outputStream, JsonNode.class);
+
+        assertThat(result.get("numbers").size(), is(10));
+        assertThat(result.get("squares").size(), is(1000));
+        assertThat(result.get("squares").get(999).asInt(), is(1_000_000));
+        assertThat(result.get("published").toString(), is("[\"a\",\"b\",\"c\"]"));
+        assertThat(result.get("raw").get("nested").get(1).asInt(), is(2));
+        assertThat(result.get("summary").get("count").asInt(), is(1000));
+    }
+
+    @Test
+    void shouldKeepElementOnlyWritersWorking() {
+        List<Object> written = new ArrayList<>();
+        JsonElementWriter writer = written::add;
+
+        writer.writeJsonElement(null);
+
+        assertThat(written, hasSize(1));
+        assertThrows(UnsupportedOperationException.class, () -> writer.startArray("numbers"));
+    }
+
+    @Test
+    void shouldCancelThePublisherWhenWritingFails() throws Exception {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Flow.Publisher<Object> publisher = subscriber -> subscriber.onSubscribe(new Flow.Subscription() {
+            private final Iterator<Object> items = List.of("a", new Object(), "c").iterator();
+
+            @Override
+            public void request(long n) {
+                for (long i = 0; i < n && items.hasNext(); i++) {
+                    subscriber.onNext(items.next());
+                }
+            }
+
+            @Override
+            public void cancel() {
+                cancelled.set(true);
+            }
+        });
+        JsonProcessorBuilder builder = JsonProcessorBuilder.initBuilder(getNumbersFile(), new ByteArrayOutputStream());
+
+        try (VisitJsonProcessor visitingProcessor = builder.build()) {
+            assertThrows(Exception.class, () -> visitingProcessor.visit(new JsonVisitor() {
+                @Override
+                public void beforeLeaving(JsonElementWriter writer) {
+                    writer.writeArray("published", publisher);
+                }
+
+                @Override
+                public List<JsonElementTransformer> getTransformers() {
+                    return Collections.emptyList();
+                }
+            }));
+        }
+
+        assertThat(cancelled.get(), is(true));
+    }
+
     public static InputStream getNumbersFile() {
         return TestUtils.getFileFromResources("numbers.json");
     }
 
+    private static <T> Flow.Publisher<T> publish(List<T> items) {
+        return subscriber -> {
+            SubmissionPublisher<T> publisher = new SubmissionPublisher<>();
+            publisher.subscribe(subscriber);
+            CompletableFuture.runAsync(() -> {
+                items.forEach(publisher::submit);
+                publisher.close();
+            });
+        };
+    }
+
 }
@@ -0,0 +1,139 @@
+package com.sdl.lt.lc.json.streaming.numbers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sdl.lt.lc.json.streaming.CancellationToken;
+import com.sdl.lt.lc.json.streaming.JsonProcessorBuilder;
+import com.sdl.lt.lc.json.streaming.JsonVisitor;
+import com.sdl.lt.lc.json.streaming.ProcessingLimitExceededException;
+import com.sdl.lt.lc.json.streaming.ProcessingLimits;
+import com.sdl.lt.lc.json.streaming.ReadJsonProcessor;
+import com.sdl.lt.lc.json.streaming.VisitJsonProcessor;
+import com.sdl.lt.lc.json.streaming.matchers.PathMatcher;
+import com.sdl.lt.lc.json.streaming.matchers.PathMatcherBuilder;
+import com.sdl.lt.lc.json.streaming.numbers.model.MyNumbers;
+import com.sdl.lt.lc.json.streaming.utils.TestUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.sdl.lt.lc.json.streaming.numbers.NumbersLibraryTest.getNumbersFile;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author anegruti
+ * @since 11/16/2022
+ */
+class NumbersLimitsTest {
+
+    private static final PathMatcher NUMBERS_ARRAY_PATH = PathMatcherBuilder.builder()
+            .field("numbers").startArray()
+            .build();
+
+    @Test
+    void shouldVisitWithinLimits() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ProcessingLimits limits = ProcessingLimits.builder()
+                .maxDepth(2)
+                .maxTokens(100)
+                .maxElementBytes(100)
+                .build();
+        JsonProcessorBuilder builder = JsonProcessorBuilder.initBuilder(getNumbersFile(), outputStream, new ObjectMapper(), limits);
+
+        try (VisitJsonProcessor visitingProcessor = builder.build()) {
+            visitingProcessor.visit(JsonVisitor.withTransformers(List.of()));
+        }
+
+        assertThat(TestUtils.deserialize(outputStream, MyNumbers.class).getNumbers(), hasSize(10));
+    }
+
+    @Test
+    void shouldFailWhenDepthIsExceeded() {
+        ProcessingLimits limits = ProcessingLimits.builder().maxDepth(1).build();
+
+        ProcessingLimitExceededException exception = assertThrows(ProcessingLimitExceededException.class, () -> {
+            try (ReadJsonProcessor readingProcessor = JsonProcessorBuilder.initProcessor(getNumbersFile(), new ObjectMapper(), limits)) {
+                readingProcessor.aggregate(List.of());
+            }
+        });
+
+        assertThat(exception.getLimit(), is(ProcessingLimits.Limit.DEPTH));
+        assertThat(exception.getDepth(), is(2));
+    }
+
+    @Test
+    void shouldCountTokensConsumedWhileBinding() {
+        ProcessingLimits limits = ProcessingLimits.builder().maxTokens(20).build();
+
+        ProcessingLimitExceededException exception = assertThrows(ProcessingLimitExceededException.class, () -> {
+            try (Stream<Integer> numbers = JsonProcessorBuilder.initProcessor(getNumbersFile(), new ObjectMapper(), limits)
+                    .streamValues(NUMBERS_ARRAY_PATH, Integer.class)) {
+                numbers.forEach(nr -> {
+                });
+            }
+        });
+
+        assertThat(exception.getLimit(), is(ProcessingLimits.Limit.TOKENS));
+        assertThat(exception.getLocation().getByteOffset(), greaterThan(0L));
+    }
+
+    @Test
+    void shouldFailWhenElementIsTooLarge() {
+        ProcessingLimits limits = ProcessingLimits.builder().maxElementBytes(5).build();
+
+        ProcessingLimitExceededException exception = assertThrows(ProcessingLimitExceededException.class, () -> {
+            try (ReadJsonProcessor readingProcessor = JsonProcessorBuilder.initProcessor(getNumbersFile(), new ObjectMapper(), limits)) {
+                readingProcessor.aggregate(List.of());
+            }
+        });
+
+        assertThat(exception.getLimit(), is(ProcessingLimits.Limit.ELEMENT_SIZE));
+    }
+
+    @Test
+    void shouldCountOnlyTheBytesParsedSoFar() {
+        ProcessingLimits limits = ProcessingLimits.builder().maxBytes(100).build();
+
+        ProcessingLimitExceededException exception = assertThrows(ProcessingLimitExceededException.class, () -> {
+            try (ReadJsonProcessor readingProcessor = JsonProcessorBuilder.initProcessor(getNumbersFile(), new ObjectMapper(), limits)) {
+                readingProcessor.aggregate(List.of());
+            }
+        });
+
+        assertThat(exception.getLimit(), is(ProcessingLimits.Limit.BYTES));
+        assertThat(exception.getByteCount(), allOf(greaterThan(100L), lessThan(225L)));
+        assertThat(exception.getTokenCount(), greaterThan(5L));
+    }
+
+    @Test
+    void shouldStopWhenCancelled() {
+        CancellationToken cancellationToken = new CancellationToken();
+        cancellationToken.cancel();
+        ProcessingLimits limits = ProcessingLimits.builder().cancellationToken(cancellationToken).build();
+
+        ProcessingLimitExceededException exception = assertThrows(ProcessingLimitExceededException.class, () -> {
+            try (ReadJsonProcessor readingProcessor = JsonProcessorBuilder.initProcessor(largeNumbers(), new ObjectMapper(), limits)) {
+                readingProcessor.aggregate(List.of());
+            }
+        });
+
+        assertThat(exception.getLimit(), is(ProcessingLimits.Limit.CANCELLED));
+    }
+
+    private static InputStream largeNumbers() {
+        StringBuilder json = new StringBuilder("{\"numbers\":[0");
+        for (int i = 1; i < 5000; i++) {
+            json.append(',').append(i);
+        }
+        json.append("]}");
+
+        return new ByteArrayInputStream(json.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+}
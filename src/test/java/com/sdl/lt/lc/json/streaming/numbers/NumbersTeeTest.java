@@ -0,0 +1,120 @@
+package com.sdl.lt.lc.json.streaming.numbers;
+
+import com.sdl.lt.lc.json.streaming.JsonProcessorBuilder;
+import com.sdl.lt.lc.json.streaming.JsonVisitor;
+import com.sdl.lt.lc.json.streaming.TeeJsonProcessor;
+import com.sdl.lt.lc.json.streaming.matchers.PathMatcher;
+import com.sdl.lt.lc.json.streaming.matchers.PathMatcherBuilder;
+import com.sdl.lt.lc.json.streaming.numbers.model.MyNumbers;
+import com.sdl.lt.lc.json.streaming.numbers.model.NumbersOwner;
+import com.sdl.lt.lc.json.streaming.utils.TestUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.sdl.lt.lc.json.streaming.numbers.NumbersLibraryTest.getNumbersFile;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author anegruti
+ * @since 11/14/2022
+ */
+class NumbersTeeTest {
+
+    private static final PathMatcher REQUESTER_PATH = PathMatcherBuilder.builder()
+            .field("requester")
+            .build();
+
+    private static final PathMatcher USERNAME_PATH = PathMatcherBuilder.builder()
+            .field("requester").field("username")
+            .build();
+
+    private static final PathMatcher NUMBERS_ARRAY_PATH = PathMatcherBuilder.builder()
+            .field("numbers").startArray()
+            .build();
+
+    @Test
+    void shouldWriteDifferentlyTransformedOutputsFromOneParse() throws Exception {
+        ByteArrayOutputStream redacted = new ByteArrayOutputStream();
+        ByteArrayOutputStream incremented = new ByteArrayOutputStream();
+        ByteArrayOutputStream trimmed = new ByteArrayOutputStream();
+        ByteArrayOutputStream copy = new ByteArrayOutputStream();
+        AtomicReference<NumbersOwner> requester = new AtomicReference<>();
+
+        try (TeeJsonProcessor teeProcessor = JsonProcessorBuilder.initTee(getNumbersFile())
+                .branch(redacted, b -> JsonVisitor.withTransformer(b.replace(USERNAME_PATH, "redacted")))
+                .branch(incremented, b -> JsonVisitor.withTransformer(b.mapEach(NUMBERS_ARRAY_PATH, Integer.class, nr -> nr + 1)))
+                .branch(trimmed, b -> JsonVisitor.withTransformers(List.of(
+                        b.consume(REQUESTER_PATH, NumbersOwner.class, r -> requester.set(r.getElement())),
+                        b.filterEach(NUMBERS_ARRAY_PATH, Integer.class, nr -> nr < 1000)
+                )))
+                .branch(copy, b -> JsonVisitor.withTransformers(List.of()))
+                .build()) {
+            teeProcessor.visit();
+        }
+
+        MyNumbers redactedNumbers = TestUtils.deserialize(redacted, MyNumbers.class);
+        MyNumbers incrementedNumbers = TestUtils.deserialize(incremented, MyNumbers.class);
+        MyNumbers trimmedNumbers = TestUtils.deserialize(trimmed, MyNumbers.class);
+        MyNumbers copiedNumbers = TestUtils.deserialize(copy, MyNumbers.class);
+
+        assertThat(redactedNumbers.getRequester().getUsername(), is("redacted"));
+        assertThat(redactedNumbers.getNumbers(), is(copiedNumbers.getNumbers()));
+        assertThat(incrementedNumbers.getNumbers(), contains(321313, 43235, 3243, 13, 1925, 236, 326, 42343, 484244, 103132));
+        assertThat(incrementedNumbers.getRequester().getUsername(), is("admin"));
+        assertThat(trimmedNumbers.getRequester(), nullValue());
+        assertThat(trimmedNumbers.getNumbers(), contains(12, 235, 325));
+        assertThat(requester.get().getUsername(), is("admin"));
+        assertThat(copiedNumbers.getId(), is("73d8e4b4-e54d-4dd3-a5a7-ec867a08629a"));
+    }
+
+
+    @Test
+    void shouldStreamLongArraysToEveryBranchElementByElement() throws Exception {
+        String numbers = IntStream.range(0, 1000).mapToObj(String::valueOf).collect(Collectors.joining(","));
+        byte[] document = ("{\"id\": \"long\", \"numbers\": [" + numbers + "]}").getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream incremented = new ByteArrayOutputStream();
+        ByteArrayOutputStream even = new ByteArrayOutputStream();
+        ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+        try (TeeJsonProcessor teeProcessor = JsonProcessorBuilder.initTee(new ByteArrayInputStream(document))
+                .branch(incremented, b -> JsonVisitor.withTransformer(b.mapEach(NUMBERS_ARRAY_PATH, Integer.class, nr -> nr + 1)))
+                .branch(even, b -> JsonVisitor.withTransformer(b.filterEach(NUMBERS_ARRAY_PATH, Integer.class, nr -> nr % 2 == 0)))
+                .branch(copy, b -> JsonVisitor.withTransformers(List.of()))
+                .build()) {
+            teeProcessor.visit();
+        }
+
+        List<Integer> incrementedNumbers = TestUtils.deserialize(incremented, MyNumbers.class).getNumbers();
+        List<Integer> evenNumbers = TestUtils.deserialize(even, MyNumbers.class).getNumbers();
+
+        assertThat(incrementedNumbers, hasSize(1000));
+        assertThat(incrementedNumbers.get(999), is(1000));
+        assertThat(evenNumbers, hasSize(500));
+        assertThat(evenNumbers.get(499), is(998));
+        assertThat(TestUtils.deserialize(copy, MyNumbers.class).getNumbers(), hasSize(1000));
+    }
+
+    @Test
+    void shouldFailTheVisitWhenABranchFailsWhileStreamingAnArray() throws Exception {
+        try (TeeJsonProcessor teeProcessor = JsonProcessorBuilder.initTee(getNumbersFile())
+                .branch(new ByteArrayOutputStream(), b -> JsonVisitor.withTransformer(b.mapEach(NUMBERS_ARRAY_PATH, Integer.class, nr -> {
+                    throw new IllegalArgumentException("Rejected " + nr);
+                })))
+                .branch(new ByteArrayOutputStream(), b -> JsonVisitor.withTransformers(List.of()))
+                .build()) {
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, teeProcessor::visit);
+
+            assertThat(exception.getMessage(), startsWith("Rejected"));
+        }
+    }
+
+}
@@ -4,7 +4,11 @@ import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sdl.lt.lc.json.streaming.AggregationSummary;
+import com.sdl.lt.lc.json.streaming.Checkpoint;
 import com.sdl.lt.lc.json.streaming.JsonProcessorBuilder;
+import com.sdl.lt.lc.json.streaming.NumericAggregation;
+import com.sdl.lt.lc.json.streaming.NumericStatistics;
 import com.sdl.lt.lc.json.streaming.ReadJsonProcessor;
 import com.sdl.lt.lc.json.streaming.matchers.PathMatcher;
 import com.sdl.lt.lc.json.streaming.matchers.PathMatcherBuilder;
@@ -12,11 +16,22 @@ import com.sdl.lt.lc.json.streaming.numbers.model.MyNumbers;
 import com.sdl.lt.lc.json.streaming.utils.TestUtils;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * @author anegruti
@@ -43,6 +58,150 @@ class SumNumbersTest {
         assertEquals(1_000_000L, total);
     }
 
+    @Test
+    void shouldSumUpNumbersWithStream() {
+        PathMatcher pathMatcher = PathMatcherBuilder.builder()
+                .field("numbers").startArray()
+                .build();
+
+        long total;
+        try (Stream<Integer> numbers = JsonProcessorBuilder.initProcessor(getNumbersFile()).streamValues(pathMatcher, Integer.class)) {
+            total = numbers.mapToLong(Integer::longValue).sum();
+        }
+
+        assertEquals(1_000_000L, total);
+    }
+
+    @Test
+    void shouldResumeSumFromLastCheckpoint() {
+        PathMatcher pathMatcher = PathMatcherBuilder.builder()
+                .field("numbers").startArray()
+                .build();
+        AtomicReference<Checkpoint> lastCheckpoint = new AtomicReference<>();
+        AtomicReference<Long> sumAtCheckpoint = new AtomicReference<>(0L);
+        long[] runningSum = {0};
+
+        try (Stream<Integer> numbers = JsonProcessorBuilder.initProcessor(getNumbersFile())
+                .streamValues(pathMatcher, Integer.class, 3, checkpoint -> {
+                    lastCheckpoint.set(checkpoint);
+                    sumAtCheckpoint.set(runningSum[0]);
+                })) {
+            numbers.limit(8).forEach(nr -> runningSum[0] += nr);
+        }
+
+        long total;
+        try (Stream<Integer> numbers = JsonProcessorBuilder.resumeProcessor(TestUtils.getPathFromResources("numbers.json"), lastCheckpoint.get())
+                .streamValues(pathMatcher, Integer.class)) {
+            total = sumAtCheckpoint.get() + numbers.mapToLong(Integer::longValue).sum();
+        }
+
+        assertEquals(6, lastCheckpoint.get().getElementIndex());
+        assertEquals(1_000_000L, total);
+    }
+
+    @Test
+    void shouldStopAtFirstMatchAndReleaseInput() {
+        AtomicBoolean closed = new AtomicBoolean();
+        InputStream numbersFile = new FilterInputStream(getNumbersFile()) {
+            @Override
+            public void close() throws IOException {
+                closed.set(true);
+                super.close();
+            }
+        };
+        PathMatcher pathMatcher = PathMatcherBuilder.builder()
+                .field("numbers").startArray()
+                .build();
+
+        Optional<Integer> firstSmall;
+        try (Stream<Integer> numbers = JsonProcessorBuilder.initProcessor(numbersFile).streamValues(pathMatcher, Integer.class)) {
+            firstSmall = numbers.filter(nr -> nr < 100).findFirst();
+        }
+
+        assertEquals(12, firstSmall.orElseThrow());
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void shouldSumUpNumbersWithAggregation() {
+        InputStream numbersFile = getNumbersFile();
+
+        ReadJsonProcessor readingProcessor = JsonProcessorBuilder.initProcessor(numbersFile);
+        PathMatcher pathMatcher = PathMatcherBuilder.builder()
+                .field("numbers").startArray()
+                .build();
+
+        AggregationSummary summary = readingProcessor.aggregate(List.of(
+                NumericAggregation.builder("numbers", pathMatcher).topK(3).histogram(0, 500_000, 5).build()
+        ));
+        NumericStatistics numbers = summary.get("numbers");
+
+        assertEquals(1_000_000L, (long) numbers.getSum());
+        assertEquals(10, numbers.getCount());
+        assertEquals(12, numbers.getMin());
+        assertEquals(484243, numbers.getMax());
+        assertEquals(100_000, numbers.getAverage());
+        assertArrayEquals(new double[]{484243, 321312, 103131}, numbers.getTopK());
+        assertArrayEquals(new long[]{7, 1, 0, 1, 1}, numbers.getHistogram().getCounts());
+    }
+
+    @Test
+    void shouldKeepSummingWhenTheIntegralSumOverflows() {
+        InputStream numbersFile = new ByteArrayInputStream(
+                ("{\"numbers\": [" + Long.MAX_VALUE + ", " + Long.MAX_VALUE + ", 2]}").getBytes(StandardCharsets.UTF_8)
+        );
+
+        ReadJsonProcessor readingProcessor = JsonProcessorBuilder.initProcessor(numbersFile);
+        PathMatcher pathMatcher = PathMatcherBuilder.builder()
+                .field("numbers").startArray()
+                .build();
+
+        AggregationSummary summary = readingProcessor.aggregate(List.of(
+                NumericAggregation.builder("numbers", pathMatcher).build()
+        ));
+
+        assertEquals(2.0 * Long.MAX_VALUE, summary.get("numbers").getSum());
+    }
+
+    @Test
+    void shouldComputeFreshStatisticsForEveryDocument() {
+        PathMatcher pathMatcher = PathMatcherBuilder.builder()
+                .field("numbers").startArray()
+                .build();
+        List<NumericAggregation> aggregations = List.of(
+                NumericAggregation.builder("numbers", pathMatcher).histogram(0, 500_000, 5).build()
+        );
+
+        AggregationSummary first = JsonProcessorBuilder.initProcessor(getNumbersFile()).aggregate(aggregations);
+        AggregationSummary second = JsonProcessorBuilder.initProcessor(getNumbersFile()).aggregate(aggregations);
+
+        assertEquals(10, first.get("numbers").getCount());
+        assertEquals(10, second.get("numbers").getCount());
+        assertArrayEquals(new long[]{7, 1, 0, 1, 1}, first.get("numbers").getHistogram().getCounts());
+        assertArrayEquals(new long[]{7, 1, 0, 1, 1}, second.get("numbers").getHistogram().getCounts());
+    }
+
+    @Test
+    void shouldRejectAggregationsWithTheSameName() {
+        PathMatcher pathMatcher = PathMatcherBuilder.builder()
+                .field("numbers").startArray()
+                .build();
+        ReadJsonProcessor readingProcessor = JsonProcessorBuilder.initProcessor(getNumbersFile());
+        List<NumericAggregation> aggregations = List.of(
+                NumericAggregation.builder("numbers", pathMatcher).build(),
+                NumericAggregation.builder("numbers", pathMatcher).topK(3).build()
+        );
+
+        assertThrows(IllegalArgumentException.class, () -> readingProcessor.aggregate(aggregations));
+    }
+
+    @Test
+    void shouldRejectNegativeTopK() {
+        NumericAggregation.Builder builder = NumericAggregation.builder("numbers", PathMatcherBuilder.builder().build());
+
+        assertThrows(IllegalArgumentException.class, () -> builder.topK(-1));
+    }
+
     @Test
     void shouldSumUpNumbersJacksonOnly() throws IOException {
         InputStream numbersFile = getNumbersFile();
@@ -0,0 +1,119 @@
+package com.sdl.lt.lc.json.streaming.records;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sdl.lt.lc.json.streaming.CheckpointStore;
+import com.sdl.lt.lc.json.streaming.FollowJsonProcessor;
+import com.sdl.lt.lc.json.streaming.JsonProcessorBuilder;
+import com.sdl.lt.lc.json.streaming.matchers.PathMatcher;
+import com.sdl.lt.lc.json.streaming.matchers.PathMatcherBuilder;
+import com.sdl.lt.lc.json.streaming.records.model.MyRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+
+/**
+ * @author anegruti
+ * @since 11/21/2022
+ */
+class RecordsFollowTest {
+
+    private static final PathMatcher RECORDS_ARRAY_PATH = PathMatcherBuilder.builder()
+            .field("records").startArray()
+            .build();
+
+    private final BlockingQueue<String> published = new LinkedBlockingQueue<>();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldFollowAppendedLinesAndContinueFromCommittedOffset() throws Exception {
+        Path log = directory.resolve("records.ndjson");
+        CheckpointStore store = CheckpointStore.file(directory.resolve("records.checkpoint"));
+        append(log, record("r1") + "\n" + record("r2") + "\n");
+
+        List<String> firstRun = follow(log, store, 3, follower -> follower.followValues(MyRecord.class, this::publish),
+                () -> append(log, record("r3") + "\n"));
+        append(log, record("r4") + "\n");
+        List<String> secondRun = follow(log, store, 1, follower -> follower.followValues(MyRecord.class, this::publish),
+                () -> {});
+
+        assertThat(firstRun, contains("r1", "r2", "r3"));
+        assertThat(secondRun, contains("r4"));
+    }
+
+    @Test
+    void shouldFollowElementsAppendedToOpenArray() throws Exception {
+        Path log = directory.resolve("records.json");
+        CheckpointStore store = CheckpointStore.file(directory.resolve("records.checkpoint"));
+        append(log, "{\"owner\": {\"username\": \"admin\"}, \"records\": [" + record("r1"));
+
+        List<String> firstRun = follow(log, store, 2, follower -> follower.followValues(RECORDS_ARRAY_PATH, MyRecord.class, this::publish),
+                () -> append(log, ", " + record("r2")));
+        append(log, ",\n" + record("r3") + ", " + record("r4"));
+        List<String> secondRun = follow(log, store, 2, follower -> follower.followValues(RECORDS_ARRAY_PATH, MyRecord.class, this::publish),
+                () -> {});
+
+        assertThat(firstRun, contains("r1", "r2"));
+        assertThat(secondRun, contains("r3", "r4"));
+    }
+
+    private void publish(MyRecord record) {
+        published.add(record.getId());
+    }
+
+    /**
+     * Follows the file on another thread until the expected number of records was published, running the provided
+     * action once the first record was received
+     */
+    private List<String> follow(Path log, CheckpointStore store, int expected, Consumer<FollowJsonProcessor> following,
+                                Runnable afterFirst) throws Exception {
+        List<String> received = new ArrayList<>();
+        FollowJsonProcessor follower = JsonProcessorBuilder.initFollower(log, store, Duration.ofMillis(10), 1, new ObjectMapper());
+        CompletableFuture<Void> run = CompletableFuture.runAsync(() -> following.accept(follower));
+
+        while (received.size() < expected) {
+            String id = published.poll(5, TimeUnit.SECONDS);
+            if (id == null) {
+                break;
+            }
+            received.add(id);
+            if (received.size() == 1) {
+                afterFirst.run();
+            }
+        }
+
+        follower.close();
+        run.get(5, TimeUnit.SECONDS);
+
+        return received;
+    }
+
+    private static String record(String id) {
+        return "{\"id\": \"" + id + "\", \"category\": \"logs\", \"score\": 1, \"price\": 1.0}";
+    }
+
+    private static void append(Path log, String content) {
+        try {
+            Files.writeString(log, content, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -0,0 +1,668 @@
+package com.sdl.lt.lc.json.streaming.records;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sdl.lt.lc.json.streaming.ArrayJoiner;
+import com.sdl.lt.lc.json.streaming.ArraySorter;
+import com.sdl.lt.lc.json.streaming.AsyncOutputStream;
+import com.sdl.lt.lc.json.streaming.ContentFingerprinter;
+import com.sdl.lt.lc.json.streaming.ArraySplitter;
+import com.sdl.lt.lc.json.streaming.Deduplicator;
+import com.sdl.lt.lc.json.streaming.DirectBufferOutputStream;
+import com.sdl.lt.lc.json.streaming.JoinIndex;
+import com.sdl.lt.lc.json.streaming.JsonProcessorBuilder;
+import com.sdl.lt.lc.json.streaming.JsonVisitor;
+import com.sdl.lt.lc.json.streaming.MappingCache;
+import com.sdl.lt.lc.json.streaming.MultiSourceJsonProcessor;
+import com.sdl.lt.lc.json.streaming.OutputSinks;
+import com.sdl.lt.lc.json.streaming.PathReader;
+import com.sdl.lt.lc.json.streaming.ReadJsonProcessor;
+import com.sdl.lt.lc.json.streaming.TransformerTemplate;
+import com.sdl.lt.lc.json.streaming.VisitJsonProcessor;
+import com.sdl.lt.lc.json.streaming.VisitorTemplate;
+import com.sdl.lt.lc.json.streaming.matchers.PathMatcher;
+import com.sdl.lt.lc.json.streaming.matchers.PathMatcherBuilder;
+import com.sdl.lt.lc.json.streaming.records.model.MyRecord;
+import com.sdl.lt.lc.json.streaming.records.model.MyRecords;
+import com.sdl.lt.lc.json.streaming.utils.TestUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.Pipe;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author anegruti
+ * @since 11/7/2022
+ */
+class RecordsLibraryTest {
+
+    private static final PathMatcher RECORDS_ARRAY_PATH = PathMatcherBuilder.builder()
+            .field("records").startArray()
+            .build();
+    private static final PathMatcher CATEGORIES_ARRAY_PATH = PathMatcherBuilder.builder()
+            .field("categories").startArray()
+            .build();
+    private static final String CATEGORIES = "{\"categories\": ["
+            + "{\"name\": \"books\", \"label\": \"Books\", \"score\": 0},"
+            + "{\"label\": \"No name\"},"
+            + "{\"name\": \"books\", \"label\": \"Duplicate\"},"
+            + "{\"name\": \"music\", \"label\": \"Music\"}"
+            + "]}";
+
+    @Test
+    void shouldKeepOnlyRecordsMatchingPredicate() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        JsonProcessorBuilder builder = JsonProcessorBuilder.initBuilder(getRecordsFile(), outputStream);
+
+        try (VisitJsonProcessor visitingProcessor = builder.build()) {
+            visitingProcessor.visit(
+                    JsonVisitor.withTransformer(builder.filterEach(RECORDS_ARRAY_PATH, MyRecord.class, r -> r.getScore() > 10))
+            );
+        }
+
+        MyRecords records = TestUtils.deserialize(outputStream, MyRecords.class);
+
+        assertThat(ids(records), contains("r1", "r3", "r1", "r4"));
+        assertThat(records.getOwner().getUsername(), is("admin"));
+    }
+
+    @Test
+    void shouldApplyOneTemplateFromSeveralThreads() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        VisitorTemplate template = VisitorTemplate.builder()
+                .transformer(TransformerTemplate.filterEach(RECORDS_ARRAY_PATH, MyRecord.class, r -> r.getScore() > 10))
+                .transformer(TransformerTemplate.replace(PathMatcherBuilder.builder().field("id").build(), "filtered"))
+                .build();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            List<Future<MyRecords>> results = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                results.add(executor.submit(() -> {
+                    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                    template.apply(getRecordsFile(), outputStream, mapper);
+                    return TestUtils.deserialize(outputStream, MyRecords.class);
+                }));
+            }
+
+            for (Future<MyRecords> result : results) {
+                assertThat(ids(result.get()), contains("r1", "r3", "r1", "r4"));
+                assertThat(result.get().getId(), is("filtered"));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void shouldWriteThroughAsyncOutputWithSlowSink() throws Exception {
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        JsonProcessorBuilder synchronousBuilder = JsonProcessorBuilder.initBuilder(getRecordsFile(), expected);
+        try (VisitJsonProcessor visitingProcessor = synchronousBuilder.build()) {
+            visitingProcessor.visit(JsonVisitor.withTransformer(
+                    synchronousBuilder.filterEach(RECORDS_ARRAY_PATH, MyRecord.class, r -> r.getScore() > 10)
+            ));
+        }
+
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        OutputStream slowSink = new FilterOutputStream(written) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                LockSupport.parkNanos(1_000_000);
+                out.write(b, off, len);
+            }
+        };
+        AsyncOutputStream output = AsyncOutputStream.builder(slowSink).bufferSize(16).bufferCount(2).build();
+        JsonProcessorBuilder builder = JsonProcessorBuilder.initBuilder(getRecordsFile(), output);
+        try (VisitJsonProcessor visitingProcessor = builder.build()) {
+            visitingProcessor.visit(JsonVisitor.withTransformer(
+                    builder.filterEach(RECORDS_ARRAY_PATH, MyRecord.class, r -> r.getScore() > 10)
+            ));
+        }
+
+        assertThat(written.toString(StandardCharsets.UTF_8), is(expected.toString(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void shouldWriteToNioSinks(@TempDir Path directory) throws Exception {
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        filterRecords(expected);
+
+        Path channelFile = directory.resolve("channel.json");
+        filterRecords(OutputSinks.channel(FileChannel.open(channelFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)));
+
+        Path mappedFile = directory.resolve("mapped.json");
+        filterRecords(OutputSinks.mappedFile(mappedFile, 64));
+
+        ByteArrayOutputStream buffered = new ByteArrayOutputStream();
+        AtomicReference<DirectBufferOutputStream> sink = new AtomicReference<>();
+        sink.set(OutputSinks.directBuffers(32, 2, buffer -> {
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            buffered.writeBytes(bytes);
+            sink.get().release(buffer);
+        }));
+        filterRecords(sink.get());
+
+        assertThat(Files.readAllBytes(channelFile), is(expected.toByteArray()));
+        assertThat(Files.readAllBytes(mappedFile), is(expected.toByteArray()));
+        assertThat(buffered.toByteArray(), is(expected.toByteArray()));
+    }
+
+    @Test
+    void shouldWaitForNonBlockingChannelsToBecomeWritable() throws Exception {
+        byte[] content = new byte[1 << 20];
+        Arrays.fill(content, (byte) 'x');
+        Pipe pipe = Pipe.open();
+        pipe.sink().configureBlocking(false);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<byte[]> read = executor.submit(() -> {
+                try (InputStream source = Channels.newInputStream(pipe.source())) {
+                    return source.readAllBytes();
+                }
+            });
+            try (OutputStream sink = OutputSinks.channel(pipe.sink())) {
+                sink.write(content);
+            }
+
+            assertThat(read.get(), is(content));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldReportAsyncOutputFailureOnClose() {
+        OutputStream failingSink = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("disk full");
+            }
+        };
+
+        IOException failure = assertThrows(IOException.class, () -> {
+            JsonProcessorBuilder builder = JsonProcessorBuilder.initBuilder(getRecordsFile(), AsyncOutputStream.wrap(failingSink));
+            try (VisitJsonProcessor visitingProcessor = builder.build()) {
+                visitingProcessor.visit(JsonVisitor.withTransformers(List.of()));
+            }
+        });
+
+        assertThat(failure.getCause().getMessage(), is("disk full"));
+    }
+
+    @Test
+    void shouldSkipRecordsWhoseContentIsUnchanged() throws Exception {
+        Map<String, Long> yesterday = new HashMap<>();
+        try (ReadJsonProcessor readingProcessor = JsonProcessorBuilder.initProcessor(getRecordsFile())) {
+            readingProcessor.read(List.of(PathReader.fingerprints(RECORDS_ARRAY_PATH,
+                    ContentFingerprinter.builder(List.of("id")).build(),
+                    fingerprint -> yesterday.put(fingerprint.getKey(), fingerprint.getFingerprint()))));
+        }
+        String today = new String(getRecordsFile().readAllBytes(), StandardCharsets.UTF_8)
+                .replace("\"score\": 88", "\"score\": 89");
+        List<String> reported = new ArrayList<>();
+        ContentFingerprinter fingerprinter = ContentFingerprinter.builder(List.of("id"))
+                .known(Set.copyOf(yesterday.values()))
+                .onFingerprint(fingerprint -> reported.add(fingerprint.getKey()))
+                .build();
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        JsonProcessorBuilder builder = JsonProcessorBuilder.initBuilder(
+                new ByteArrayInputStream(today.getBytes(StandardCharsets.UTF_8)), outputStream);
+        try (VisitJsonProcessor visitingProcessor = builder.build()) {
+            visitingProcessor.visit(JsonVisitor.withTransformer(builder.skipUnchanged(RECORDS_ARRAY_PATH, fingerprinter)));
+        }
+
+        MyRecords records = TestUtils.deserialize(outputStream, MyRecords.class);
+
+        assertThat(ids(records), contains("r4"));
+        assertThat(records.getRecords().get(0).getScore(), is(89));
+        assertThat(reported, contains("r1", "r2", "r3", "r1", "r4", "r5", "r2"));
+    }
+
+    @Test
+    void shouldKeepOnlyRecordsMatchingProjectedPredicate() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        JsonProcessorBuilder builder = JsonProcessorBuilder.initBuilder(getRecordsFile(), outputStream);
+
+        try (VisitJsonProcessor visitingProcessor = builder.build()) {
+            visitingProcessor.visit(
+                    JsonVisitor.withTransformer(builder.filterEach(RECORDS_ARRAY_PATH, Set.of("category"),
+                            r -> r.path("category").asText().equals("music")))
+            );
+        }
+
+        MyRecords records = TestUtils.deserialize(outputStream, MyRecords.class);
+
+        assertThat(ids(records), contains("r2", "r5", "r2"));
+        assertThat(records.getRecords().get(1).getPrice(), is(0.99));
+    }
+
+    @Test
+    void shouldMapRepeatedRecordsOnlyOnce() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        JsonProcessorBuilder builder = JsonProcessorBuilder.initBuilder(getRecordsFile(), outputStream);
+        MappingCache<String, String> cache = MappingCache.ofMaximumSize(100);
+        AtomicInteger mapperCalls = new AtomicInteger();
+
+        try (VisitJsonProcessor visitingProcessor = builder.build()) {
+            visitingProcessor.visit(
+                    JsonVisitor.withTransformer(builder.mapEachCached(RECORDS_ARRAY_PATH, MyRecord.class, MyRecord::getId, r -> {
+                        mapperCalls.incrementAndGet();
+                        return r.getCategory() + ":" + r.getId();
+                    }, cache))
+            );
+        }
+
+        JsonNode records = TestUtils.deserialize(outputStream, JsonNode.class).get("records");
+
+        assertThat(records.get(3).asText(), is("books:r1"));
+        assertThat(records.get(6).asText(), is("music:r2"));
+        assertThat(mapperCalls.get(), is(5));
+        assertThat(cache.getHitCount(), is(2L));
+        assertThat(cache.getMissCount(), is(5L));
+    }
+
+    @Test
+    void shouldKeepCacheWithinBound() throws Exception {
+        MappingCache<MyRecord, Integer> cache = MappingCache.ofMaximumSize(2);
+        JsonProcessorBuilder builder = JsonProcessorBuilder.initBuilder(getRecordsFile(), OutputStream.nullOutputStream());
+
+        try (VisitJsonProcessor visitingProcessor = builder.build()) {
+            visitingProcessor.visit(
+                    JsonVisitor.withTransformer(builder.mapEachCached(RECORDS_ARRAY_PATH, MyRecord.class, MyRecord::getScore, cache))
+            );
+        }
+
+        assertThat(cache.size(), lessThanOrEqualTo(2L));
+        assertThat(cache.getEvictionCount(), is(cache.getMissCount() - cache.size()));
+    }
+
+    @Test
+    void shouldKeepCacheWithinBoundsThatAreNotPowersOfTwo() {
+        MappingCache<Integer, Integer> small = MappingCache.ofMaximumSize(10);
+        MappingCache<Integer, Integer> large = MappingCache.ofMaximumSize(1000);
+
+        for (int i = 0; i < 5000; i++) {
+            small.get(i, Function.identity());
+            large.get(i, Function.identity());
+        }
+
+        assertThat(small.size(), is(10L));
+        assertThat(large.size(), lessThanOrEqualTo(1000L));
+        assertThat(large.size(), greaterThan(900L));
+    }
+
+    @Test
+    void shouldKeepEntriesHeavierThanASegmentShare() {
+        MappingCache<String, String> cache = MappingCache.ofMaximumWeight(1000, (key, value) -> 100);
+
+        cache.get("heavy", key -> key + "-value");
+        cache.get("heavy", key -> key + "-value");
+
+        assertThat(cache.size(), is(1L));
+        assertThat(cache.getEvictionCount(), is(0L));
+        assertThat(cache.getHitCount(), is(1L));
+    }
+
+    @Test
+    void shouldMapNullKeysWithoutCaching() {
+        MappingCache<String, String> cache = MappingCache.ofMaximumSize(10);
+
+        assertThat(cache.get(null, key -> "unkeyed"), is("unkeyed"));
+        assertThat(cache.get(null, key -> "unkeyed"), is("unkeyed"));
+        assertThat(cache.size(), is(0L));
+        assertThat(cache.getMissCount(), is(2L));
+    }
+
+    @Test
+    void shouldDropRepeatedRecordsKeepingOrder() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        JsonProcessorBuilder builder = JsonProcessorBuilder.initBuilder(getRecordsFile(), outputStream);
+        Deduplicator deduplicator = Deduplicator.builder(List.of("id")).build();
+
+        try (VisitJsonProcessor visitingProcessor = builder.build()) {
+            visitingProcessor.visit(
+                    JsonVisitor.withTransformer(builder.dedupEach(RECORDS_ARRAY_PATH, deduplicator))
+            );
+        }
+
+        MyRecords records = TestUtils.deserialize(outputStream, MyRecords.class);
+
+        assertThat(ids(records), contains("r1", "r2", "r3", "r4", "r5"));
+        assertThat(deduplicator.getDuplicateCount(), is(2L));
+    }
+
+    @Test
+    void shouldSpillKeysBeyondMemoryBudget(@TempDir Path spillDirectory) throws Exception {
+        String elements = IntStream.range(0, 40_000)
+                .mapToObj(i -> "{\"id\": " + i % 20_000 + "}")
+                .collect(Collectors.joining(",", "{\"records\": [", "]}"));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        JsonProcessorBuilder builder = JsonProcessorBuilder.initBuilder(
+                new ByteArrayInputStream(elements.getBytes(StandardCharsets.UTF_8)), outputStream);
+        Deduplicator deduplicator = Deduplicator.builder(List.of("id"))
+                .memoryBudget(16 * 1024)
+                .spillDirectory(spillDirectory)
+                .build();
+
+        try (VisitJsonProcessor visitingProcessor = builder.build()) {
+            visitingProcessor.visit(
+                    JsonVisitor.withTransformer(builder.dedupEach(RECORDS_ARRAY_PATH, deduplicator))
+            );
+        }
+
+        JsonNode records = TestUtils.deserialize(outputStream, JsonNode.class).get("records");
+
+        assertThat(records.size(), is(20_000));
+        assertThat(records.get(19_999).get("id").asInt(), is(19_999));
+        assertThat(deduplicator.getDuplicateCount(), is(20_000L));
+    }
+
+    @Test
+    void shouldSortRecordsInMemory() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        JsonProcessorBuilder builder = JsonProcessorBuilder.initBuilder(getRecordsFile(), outputStream);
+        ArraySorter sorter = ArraySorter.builder(List.of("price")).descending().build();
+
+        try (VisitJsonProcessor visitingProcessor = builder.build()) {
+            visitingProcessor.visit(
+                    JsonVisitor.withTransformer(builder.sortEach(RECORDS_ARRAY_PATH, sorter))
+            );
+        }
+
+        MyRecords records = TestUtils.deserialize(outputStream, MyRecords.class);
+
+        assertThat(ids(records), contains("r4", "r1", "r1", "r3", "r2", "r2", "r5"));
+        assertThat(sorter.getSpilledRunCount(), is(0));
+    }
+
+    @Test
+    void shouldKeepMissingKeysLastWhenSortingDescending() throws Exception {
+        String elements = "{\"records\": [{\"id\": \"a\"}, {\"id\": \"b\", \"price\": 1}, {\"id\": \"c\", \"price\": \"x\"}, {\"id\": \"d\", \"price\": 2}]}";
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        JsonProcessorBuilder builder = JsonProcessorBuilder.initBuilder(
+                new ByteArrayInputStream(elements.getBytes(StandardCharsets.UTF_8)), outputStream);
+        ArraySorter sorter = ArraySorter.builder(List.of("price")).descending().build();
+
+        try (VisitJsonProcessor visitingProcessor = builder.build()) {
+            visitingProcessor.visit(
+                    JsonVisitor.withTransformer(builder.sortEach(RECORDS_ARRAY_PATH, sorter))
+            );
+        }
+
+        JsonNode records = TestUtils.deserialize(outputStream, JsonNode.class).get("records");
+
+        assertThat(records.findValuesAsText("id"), contains("d", "b", "c", "a"));
+    }
+
+    @Test
+    void shouldSortRecordsThroughSpilledRunsKeepingOrderOfEqualKeys(@TempDir Path tempDirectory) throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        JsonProcessorBuilder builder = JsonProcessorBuilder.initBuilder(getRecordsFile(), outputStream);
+        ArraySorter sorter = ArraySorter.builder(List.of("category"))
+                .memoryBudget(300)
+                .tempDirectory(tempDirectory)
+                .build();
+
+        try (VisitJsonProcessor visitingProcessor = builder.build()) {
+            visitingProcessor.visit(
+                    JsonVisitor.withTransformer(builder.sortEach(RECORDS_ARRAY_PATH, sorter))
+            );
+        }
+
+        MyRecords records = TestUtils.deserialize(outputStream, MyRecords.class);
+
+        assertThat(ids(records), contains("r1", "r3", "r1", "r4", "r2", "r5", "r2"));
+        assertThat(records.getOwner().getUsername(), is("admin"));
+        assertThat(sorter.getSpilledRunCount(), greaterThan(1));
+        try (Stream<Path> leftovers = Files.list(tempDirectory)) {
+            assertThat(leftovers.count(), is(0L));
+        }
+    }
+
+    @Test
+    void shouldSplitRecordsIntoShards() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        JsonProcessorBuilder builder = JsonProcessorBuilder.initBuilder(getRecordsFile(), outputStream);
+
+        Map<String, ByteArrayOutputStream> shards = new ConcurrentHashMap<>();
+        ArraySplitter splitter = ArraySplitter.builder((partition, shard) -> shardStream(shards, partition, shard))
+                .maxElements(3)
+                .build();
+
+        try (VisitJsonProcessor visitingProcessor = builder.build()) {
+            visitingProcessor.visit(
+                    JsonVisitor.withTransformer(builder.splitEach(RECORDS_ARRAY_PATH, splitter))
+            );
+        }
+
+        MyRecords records = TestUtils.deserialize(outputStream, MyRecords.class);
+
+        assertThat(records.getRecords(), empty());
+        assertThat(splitter.getShardCount(), is(3));
+        assertThat(TestUtils.deserialize(shards.get("0-0"), MyRecord[].class), arrayWithSize(3));
+        assertThat(TestUtils.deserialize(shards.get("0-2"), MyRecord[].class)[0].getId(), is("r2"));
+    }
+
+    @Test
+    void shouldPartitionRecordsByCategory() throws Exception {
+        Map<String, ByteArrayOutputStream> shards = new ConcurrentHashMap<>();
+        ArraySplitter splitter = ArraySplitter.builder((partition, shard) -> shardStream(shards, partition, shard))
+                .partitionBy(List.of("category"), 4)
+                .build();
+
+        try (ReadJsonProcessor readingProcessor = JsonProcessorBuilder.initProcessor(getRecordsFile())) {
+            readingProcessor.read(List.of(PathReader.split(RECORDS_ARRAY_PATH, splitter)));
+        }
+
+        Map<String, Set<String>> shardsPerCategory = new HashMap<>();
+        shards.forEach((shard, content) -> Arrays.stream(TestUtils.deserialize(content, MyRecord[].class))
+                .forEach(r -> shardsPerCategory.computeIfAbsent(r.getCategory(), k -> new HashSet<>()).add(shard)));
+
+        assertThat(splitter.getElementCount(), is(7L));
+        assertThat(shardsPerCategory.keySet(), containsInAnyOrder("books", "music", "games"));
+        shardsPerCategory.values().forEach(s -> assertThat(s, hasSize(1)));
+    }
+
+    @Test
+    void shouldConcatenateRecordsOfSeveralSourcesInEnvelopeOfFirst() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        JsonProcessorBuilder.initMultiSource(RECORDS_ARRAY_PATH)
+                .source(getRecordsFile())
+                .source(() -> shard("{\"records\": [{\"id\": \"s1\"}, {\"id\": \"s2\"}, {\"id\": \"s3\"}]}"))
+                .source(() -> shard("{\"owner\": {\"username\": \"other\"}}"))
+                .source(() -> shard("{\"id\": \"x\", \"records\": [{\"id\": \"s4\", \"score\": 1}]}"))
+                .batchSize(2)
+                .prefetch(1)
+                .build()
+                .process(outputStream);
+
+        MyRecords records = TestUtils.deserialize(outputStream, MyRecords.class);
+
+        assertThat(ids(records), contains("r1", "r2", "r3", "r1", "r4", "r5", "r2", "s1", "s2", "s3", "s4"));
+        assertThat(records.getOwner().getUsername(), is("admin"));
+    }
+
+    @Test
+    void shouldFailWhenFirstSourceHasNoArrayToCombineInto() {
+        MultiSourceJsonProcessor processor = JsonProcessorBuilder.initMultiSource(RECORDS_ARRAY_PATH)
+                .source(() -> shard("{\"owner\": {\"username\": \"other\"}}"))
+                .source(() -> shard("{\"records\": [{\"id\": \"s1\"}]}"))
+                .build();
+
+        assertThrows(IllegalStateException.class, () -> processor.process(OutputStream.nullOutputStream()));
+    }
+
+    @Test
+    void shouldMergeSortedRecordsOfSeveralSourcesByKey() throws Exception {
+        ByteArrayOutputStream sortedRecords = new ByteArrayOutputStream();
+        JsonProcessorBuilder builder = JsonProcessorBuilder.initBuilder(getRecordsFile(), sortedRecords);
+        try (VisitJsonProcessor visitingProcessor = builder.build()) {
+            visitingProcessor.visit(
+                    JsonVisitor.withTransformer(builder.sortEach(RECORDS_ARRAY_PATH, ArraySorter.builder(List.of("score")).build()))
+            );
+        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            JsonProcessorBuilder.initMultiSource(RECORDS_ARRAY_PATH)
+                    .source(new ByteArrayInputStream(sortedRecords.toByteArray()))
+                    .source(() -> shard("{\"records\": [{\"id\": \"s1\", \"score\": 1}, {\"id\": \"s2\", \"score\": 19}, {\"id\": \"s3\"}]}"))
+                    .source(() -> shard("{\"records\": [{\"id\": \"s4\", \"score\": 7}, {\"id\": \"s5\", \"score\": 100}]}"))
+                    .mergeBy(List.of("score"))
+                    .batchSize(1)
+                    .executor(executor)
+                    .build()
+                    .process(outputStream);
+        } finally {
+            executor.shutdown();
+        }
+
+        MyRecords records = TestUtils.deserialize(outputStream, MyRecords.class);
+
+        assertThat(ids(records), contains("s1", "r5", "r2", "r2", "s4", "r3", "s2", "r1", "r1", "r4", "s5", "s3"));
+    }
+
+    @Test
+    void shouldEnrichRecordsWithIndexedCategoriesKeepingUnmatched() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        JsonProcessorBuilder builder = JsonProcessorBuilder.initBuilder(getRecordsFile(), outputStream);
+
+        try (JoinIndex index = JoinIndex.builder(CATEGORIES_ARRAY_PATH, List.of("name"))
+                .fields(List.of("label"))
+                .build(shard(CATEGORIES));
+             VisitJsonProcessor visitingProcessor = builder.build()) {
+            ArrayJoiner joiner = ArrayJoiner.builder(List.of("category"), index).into("details").build();
+
+            visitingProcessor.visit(JsonVisitor.withTransformer(builder.joinEach(RECORDS_ARRAY_PATH, joiner)));
+
+            assertThat(index.size(), is(2));
+            assertThat(index.getDuplicateCount(), is(1L));
+            assertThat(joiner.getMatchedCount(), is(6L));
+            assertThat(joiner.getUnmatchedCount(), is(1L));
+        }
+
+        JsonNode records = TestUtils.deserialize(outputStream, JsonNode.class).get("records");
+
+        assertThat(records.size(), is(7));
+        assertThat(records.get(0).get("details").toString(), is("{\"label\":\"Books\"}"));
+        assertThat(records.get(1).get("details").get("label").asText(), is("Music"));
+        assertThat(records.get(4).has("details"), is(false));
+        assertThat(records.get(4).get("id").asText(), is("r4"));
+    }
+
+    @Test
+    void shouldMergeFieldsOfSpilledIndexLeavingOutUnmatched(@TempDir Path spillDirectory) throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        JsonProcessorBuilder builder = JsonProcessorBuilder.initBuilder(getRecordsFile(), outputStream);
+
+        try (JoinIndex index = JoinIndex.builder(CATEGORIES_ARRAY_PATH, List.of("name"))
+                .memoryBudget(16 * 1024 + 70)
+                .spillDirectory(spillDirectory)
+                .build(shard(CATEGORIES));
+             VisitJsonProcessor visitingProcessor = builder.build()) {
+            ArrayJoiner joiner = ArrayJoiner.builder(List.of("category"), index).inner().build();
+
+            visitingProcessor.visit(JsonVisitor.withTransformer(builder.joinEach(RECORDS_ARRAY_PATH, joiner)));
+
+            assertThat(index.isSpilled(), is(true));
+        }
+
+        JsonNode records = TestUtils.deserialize(outputStream, JsonNode.class).get("records");
+        List<String> ids = new ArrayList<>();
+        records.forEach(record -> ids.add(record.get("id").asText()));
+
+        assertThat(ids, contains("r1", "r2", "r3", "r1", "r5", "r2"));
+        assertThat(records.get(0).get("label").asText(), is("Books"));
+        assertThat(records.get(0).get("score").asInt(), is(0));
+        assertThat(records.get(1).get("label").asText(), is("Music"));
+        assertThat(records.get(1).get("score").asInt(), is(7));
+        try (Stream<Path> leftovers = Files.list(spillDirectory)) {
+            assertThat(leftovers.count(), is(0L));
+        }
+    }
+
+    @Test
+    void shouldChargeTheSlotsOfTheIndexToTheMemoryBudget(@TempDir Path spillDirectory) throws Exception {
+        StringBuilder categories = new StringBuilder("{\"categories\": [");
+        for (int i = 0; i < 600; i++) {
+            categories.append(i == 0 ? "" : ",").append("{\"name\": \"c").append(i).append("\"}");
+        }
+        categories.append("]}");
+
+        try (JoinIndex index = JoinIndex.builder(CATEGORIES_ARRAY_PATH, List.of("name"))
+                .memoryBudget(24 * 1024)
+                .spillDirectory(spillDirectory)
+                .build(shard(categories.toString()))) {
+            assertThat(index.isSpilled(), is(true));
+        }
+    }
+
+    private static void filterRecords(OutputStream outputStream) throws Exception {
+        JsonProcessorBuilder builder = JsonProcessorBuilder.initBuilder(getRecordsFile(), outputStream);
+
+        try (VisitJsonProcessor visitingProcessor = builder.build()) {
+            visitingProcessor.visit(
+                    JsonVisitor.withTransformer(builder.filterEach(RECORDS_ARRAY_PATH, MyRecord.class, r -> r.getScore() > 10))
+            );
+        }
+    }
+
+    public static InputStream getRecordsFile() {
+        return TestUtils.getFileFromResources("records.json");
+    }
+
+    private static InputStream shard(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static OutputStream shardStream(Map<String, ByteArrayOutputStream> shards, int partition, int shard) {
+        return shards.computeIfAbsent(partition + "-" + shard, k -> new ByteArrayOutputStream());
+    }
+
+    private static List<String> ids(MyRecords records) {
+        return records.getRecords().stream()
+                .map(MyRecord::getId)
+                .collect(Collectors.toList());
+    }
+
+}
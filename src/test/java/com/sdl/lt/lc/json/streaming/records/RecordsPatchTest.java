@@ -0,0 +1,86 @@
+package com.sdl.lt.lc.json.streaming.records;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sdl.lt.lc.json.streaming.JsonPatch;
+import com.sdl.lt.lc.json.streaming.utils.TestUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author anegruti
+ * @since 11/28/2022
+ */
+class RecordsPatchTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    void shouldApplyJsonPatchWhileStreaming() throws Exception {
+        JsonPatch patch = JsonPatch.fromJsonPatch(MAPPER.readTree("[" +
+                "{\"op\": \"replace\", \"path\": \"/owner/username\", \"value\": \"root\"}," +
+                "{\"op\": \"remove\", \"path\": \"/id\"}," +
+                "{\"op\": \"add\", \"path\": \"/owner/role\", \"value\": \"admin\"}," +
+                "{\"op\": \"add\", \"path\": \"/records/-\", \"value\": {\"id\": \"r6\"}}," +
+                "{\"op\": \"add\", \"path\": \"/records/-\", \"value\": {\"id\": \"r7\"}}" +
+                "]"));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        patch.apply(TestUtils.getFileFromResources("records.json"), outputStream);
+
+        JsonNode written = TestUtils.deserialize(outputStream, JsonNode.class);
+        JsonNode records = written.get("records");
+
+        assertThat(written.has("id"), is(false));
+        assertThat(written.get("owner").get("username").asText(), is("root"));
+        assertThat(written.get("owner").get("role").asText(), is("admin"));
+        assertThat(records.size(), is(9));
+        assertThat(records.get(7).get("id").asText(), is("r6"));
+        assertThat(records.get(8).get("id").asText(), is("r7"));
+    }
+
+    @Test
+    void shouldApplyMergePatchWhileStreaming() throws Exception {
+        JsonPatch patch = JsonPatch.fromMergePatch(MAPPER.readTree("{" +
+                "\"id\": null," +
+                "\"owner\": {\"username\": \"root\", \"id\": null, \"groups\": {\"main\": \"staff\", \"old\": null}}," +
+                "\"records\": {\"total\": 8}," +
+                "\"version\": 2" +
+                "}"));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        patch.apply(TestUtils.getFileFromResources("records.json"), outputStream);
+
+        JsonNode written = TestUtils.deserialize(outputStream, JsonNode.class);
+
+        assertThat(written, is(MAPPER.readTree("{" +
+                "\"owner\": {\"username\": \"root\", \"groups\": {\"main\": \"staff\"}}," +
+                "\"records\": {\"total\": 8}," +
+                "\"version\": 2" +
+                "}")));
+    }
+
+    @Test
+    void shouldRejectPatchesThatCanNotBeStreamed() throws Exception {
+        JsonPatch missingTarget = JsonPatch.fromJsonPatch(MAPPER.readTree(
+                "[{\"op\": \"remove\", \"path\": \"/owner/email\"}]"
+        ));
+        ByteArrayInputStream document = new ByteArrayInputStream("{\"owner\": {}}".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(UnsupportedOperationException.class, () -> JsonPatch.fromJsonPatch(MAPPER.readTree(
+                "[{\"op\": \"move\", \"from\": \"/id\", \"path\": \"/key\"}]"
+        )));
+        assertThrows(IllegalArgumentException.class, () -> JsonPatch.fromJsonPatch(MAPPER.readTree(
+                "[{\"op\": \"remove\", \"path\": \"/owner\"}, {\"op\": \"add\", \"path\": \"/owner/id\", \"value\": 1}]"
+        )));
+        assertThrows(IllegalStateException.class, () -> missingTarget.apply(document, new ByteArrayOutputStream()));
+    }
+
+}
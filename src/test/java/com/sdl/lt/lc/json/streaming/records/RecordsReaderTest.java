@@ -0,0 +1,308 @@
+package com.sdl.lt.lc.json.streaming.records;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sdl.lt.lc.json.streaming.AggregationSummary;
+import com.sdl.lt.lc.json.streaming.ArrayExporter;
+import com.sdl.lt.lc.json.streaming.Checkpoint;
+import com.sdl.lt.lc.json.streaming.ContentFingerprinter;
+import com.sdl.lt.lc.json.streaming.Deduplicator;
+import com.sdl.lt.lc.json.streaming.DocumentProfile;
+import com.sdl.lt.lc.json.streaming.ElementFingerprint;
+import com.sdl.lt.lc.json.streaming.JsonProcessorBuilder;
+import com.sdl.lt.lc.json.streaming.NumericAggregation;
+import com.sdl.lt.lc.json.streaming.PathProfile;
+import com.sdl.lt.lc.json.streaming.PathReader;
+import com.sdl.lt.lc.json.streaming.ReadJsonProcessor;
+import com.sdl.lt.lc.json.streaming.Sampler;
+import com.sdl.lt.lc.json.streaming.matchers.PathMatcher;
+import com.sdl.lt.lc.json.streaming.matchers.PathMatcherBuilder;
+import com.sdl.lt.lc.json.streaming.records.model.MyRecord;
+import com.sdl.lt.lc.json.streaming.records.model.RecordsOwner;
+import com.sdl.lt.lc.json.streaming.utils.TestUtils;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.sdl.lt.lc.json.streaming.records.RecordsLibraryTest.getRecordsFile;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * @author anegruti
+ * @since 11/9/2022
+ */
+class RecordsReaderTest {
+
+    private static final PathMatcher RECORDS_ARRAY_PATH = PathMatcherBuilder.builder()
+            .field("records").startArray()
+            .build();
+
+    private static final PathMatcher OWNER_PATH = PathMatcherBuilder.builder()
+            .field("owner")
+            .build();
+
+    @Test
+    void shouldResumeStreamFromPersistedCheckpoint() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        List<String> checkpoints = new ArrayList<>();
+        List<String> firstRunIds;
+
+        try (Stream<MyRecord> records = JsonProcessorBuilder.initProcessor(getRecordsFile())
+                .streamValues(RECORDS_ARRAY_PATH, MyRecord.class, 2, c -> checkpoints.add(write(mapper, c)))) {
+            firstRunIds = records.limit(5).map(MyRecord::getId).collect(Collectors.toList());
+        }
+
+        assertThat(firstRunIds, contains("r1", "r2", "r3", "r1", "r4"));
+        assertThat(checkpoints, hasSize(2));
+
+        Checkpoint checkpoint = mapper.readValue(checkpoints.get(1), Checkpoint.class);
+        List<String> resumedIds;
+        try (Stream<MyRecord> records = JsonProcessorBuilder.resumeProcessor(TestUtils.getPathFromResources("records.json"), checkpoint)
+                .streamValues(RECORDS_ARRAY_PATH, MyRecord.class, 2, c -> checkpoints.add(write(mapper, c)))) {
+            resumedIds = records.map(MyRecord::getId).collect(Collectors.toList());
+        }
+
+        assertThat(checkpoint.getElementIndex(), is(4L));
+        assertThat(resumedIds, contains("r4", "r5", "r2"));
+        assertThat(checkpoints, hasSize(3));
+    }
+
+    @Test
+    void shouldReadDistinctRecordsWithBloomFilter() throws Exception {
+        List<String> ids = new ArrayList<>();
+        Deduplicator deduplicator = Deduplicator.builder(List.of("id"))
+                .probabilistic(1000, 0.001)
+                .build();
+
+        try (ReadJsonProcessor readingProcessor = JsonProcessorBuilder.initProcessor(getRecordsFile())) {
+            readingProcessor.read(List.of(
+                    PathReader.forEachDistinct(RECORDS_ARRAY_PATH, MyRecord.class, deduplicator, r -> ids.add(r.getId()))
+            ));
+        }
+
+        assertThat(ids, contains("r1", "r2", "r3", "r4", "r5"));
+        assertThat(deduplicator.getDistinctCount(), is(5L));
+    }
+
+    @Test
+    void shouldAggregateSeveralFieldsInOnePass() throws Exception {
+        PathMatcher scorePath = PathMatcherBuilder.builder().field("records").startArray().field("score").build();
+        PathMatcher pricePath = PathMatcherBuilder.builder().field("records").startArray().field("price").build();
+
+        AggregationSummary summary;
+        try (ReadJsonProcessor readingProcessor = JsonProcessorBuilder.initProcessor(getRecordsFile())) {
+            summary = readingProcessor.aggregate(List.of(
+                    NumericAggregation.builder("score", scorePath).topK(2).build(),
+                    NumericAggregation.builder("price", pricePath).build()
+            ));
+        }
+
+        assertThat(summary.get("score").getCount(), is(7L));
+        assertThat(summary.get("score").getSum(), is(208.0));
+        assertThat(summary.get("score").getTopK()[1], is(42.0));
+        assertThat(summary.get("price").getMin(), is(0.99));
+        assertThat(summary.get("price").getMax(), is(59.99));
+    }
+
+    @Test
+    void shouldFingerprintElementsRegardlessOfFieldOrderAndNumberFormat() throws Exception {
+        String document = "{\"items\": [" +
+                "{\"id\": \"a\", \"v\": 1.0, \"o\": {\"x\": 10, \"y\": [1, 2]}}," +
+                "{\"o\": {\"y\": [1, 2], \"x\": 1e1}, \"v\": 1, \"id\": \"a\"}," +
+                "{\"id\": \"b\", \"v\": 1, \"o\": {\"x\": 10, \"y\": [2, 1]}}" +
+                "]}";
+        List<ElementFingerprint> fingerprints = new ArrayList<>();
+        ContentFingerprinter fingerprinter = ContentFingerprinter.builder(List.of("id")).build();
+
+        try (ReadJsonProcessor readingProcessor = JsonProcessorBuilder.initProcessor(
+                new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8)))) {
+            readingProcessor.read(List.of(
+                    PathReader.fingerprints(PathMatcherBuilder.builder().field("items").startArray().build(),
+                            fingerprinter, fingerprints::add)
+            ));
+        }
+
+        assertThat(fingerprints.stream().map(ElementFingerprint::getKey).collect(Collectors.toList()), contains("a", "a", "b"));
+        assertThat(fingerprints.get(0).getFingerprint(), is(fingerprints.get(1).getFingerprint()));
+        assertThat(fingerprints.get(2).getFingerprint(), is(not(fingerprints.get(0).getFingerprint())));
+    }
+
+    @Test
+    void shouldFingerprintWholeNumbersBeyondLongRangeAlike() throws Exception {
+        String document = "{\"items\": [" +
+                "{\"id\": \"a\", \"v\": 100000000000000000000}," +
+                "{\"id\": \"a\", \"v\": 1e20}," +
+                "{\"id\": \"a\", \"v\": 100000000000000000000.0}," +
+                "{\"id\": \"a\", \"v\": 100000000000000000000000}," +
+                "{\"id\": \"a\", \"v\": 1e23}," +
+                "{\"id\": \"a\", \"v\": 9007199254740993}," +
+                "{\"id\": \"a\", \"v\": 9007199254740993.0}" +
+                "]}";
+        List<ElementFingerprint> fingerprints = new ArrayList<>();
+        ContentFingerprinter fingerprinter = ContentFingerprinter.builder(List.of("id")).build();
+
+        try (ReadJsonProcessor readingProcessor = JsonProcessorBuilder.initProcessor(
+                new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8)))) {
+            readingProcessor.read(List.of(
+                    PathReader.fingerprints(PathMatcherBuilder.builder().field("items").startArray().build(),
+                            fingerprinter, fingerprints::add)
+            ));
+        }
+
+        assertThat(fingerprints.get(1).getFingerprint(), is(fingerprints.get(0).getFingerprint()));
+        assertThat(fingerprints.get(2).getFingerprint(), is(fingerprints.get(0).getFingerprint()));
+        assertThat(fingerprints.get(4).getFingerprint(), is(fingerprints.get(3).getFingerprint()));
+        assertThat(fingerprints.get(3).getFingerprint(), is(not(fingerprints.get(0).getFingerprint())));
+        assertThat(fingerprints.get(6).getFingerprint(), is(fingerprints.get(5).getFingerprint()));
+    }
+
+    @Test
+    void shouldSampleRecordsWithoutBindingTheOthers() throws Exception {
+        List<String> allIds = sampleIds(Sampler.bernoulli(1));
+
+        assertThat(sampleIds(Sampler.everyNth(2)), contains("r1", "r3", "r4", "r2"));
+        assertThat(sampleIds(Sampler.bernoulli(0)), is(empty()));
+        assertThat(allIds, contains("r1", "r2", "r3", "r1", "r4", "r5", "r2"));
+        assertThat(sampleIds(Sampler.reservoir(3, 42L)), hasSize(3));
+        assertThat(sampleIds(Sampler.reservoir(3, 42L)), is(sampleIds(Sampler.reservoir(3, 42L))));
+        assertThat(sampleIds(Sampler.reservoir(10)), is(allIds));
+    }
+
+    @Test
+    void shouldExportRecordsAsCsv() throws Exception {
+        String document = "{\"items\": [" +
+                "{\"id\": \"a\", \"score\": 1.50, \"owner\": {\"name\": \"Smith, J\"}, \"tags\": [1, 2]}," +
+                "{\"id\": \"b\", \"extra\": {\"x\": [true]}, \"owner\": null, \"score\": 1e3}," +
+                "{\"id\": \"say \\\"hi\\\"\", \"active\": false}" +
+                "]}";
+        StringWriter csv = new StringWriter();
+        ArrayExporter exporter = ArrayExporter.builder(List.of("id", "score", "owner.name", "tags", "active"))
+                .csv(csv)
+                .build();
+
+        try (ReadJsonProcessor readingProcessor = JsonProcessorBuilder.initProcessor(
+                new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8)))) {
+            readingProcessor.read(List.of(
+                    PathReader.export(PathMatcherBuilder.builder().field("items").startArray().build(), exporter)
+            ));
+        }
+
+        assertThat(csv.toString(), is("id,score,owner.name,tags,active\r\n" +
+                "a,1.50,\"Smith, J\",\"[1,2]\",\r\n" +
+                "b,1e3,,,\r\n" +
+                "\"say \"\"hi\"\"\",,,,false\r\n"));
+        assertThat(exporter.getRowCount(), is(3L));
+    }
+
+    @Test
+    void shouldExportRecordsColumnByColumnInBlocks() throws Exception {
+        Map<String, ByteArrayOutputStream> columns = new ConcurrentHashMap<>();
+        ArrayExporter exporter = ArrayExporter.builder(List.of("id", "score", "price"))
+                .columnar(column -> columns.computeIfAbsent(column, c -> new ByteArrayOutputStream()))
+                .blockSize(4)
+                .parallelism(2)
+                .build();
+
+        try (ReadJsonProcessor readingProcessor = JsonProcessorBuilder.initProcessor(getRecordsFile())) {
+            readingProcessor.read(List.of(PathReader.export(RECORDS_ARRAY_PATH, exporter)));
+        }
+
+        DataInputStream ids = new DataInputStream(new ByteArrayInputStream(columns.get("id").toByteArray()));
+        assertThat(ids.readInt(), is(4));
+        assertThat(ids.readNBytes(4), is(new byte[]{ArrayExporter.STRING, ArrayExporter.STRING, ArrayExporter.STRING, ArrayExporter.STRING}));
+        assertThat(new String(ids.readNBytes(ids.readInt()), StandardCharsets.UTF_8), is("r1"));
+
+        DataInputStream scores = new DataInputStream(new ByteArrayInputStream(columns.get("score").toByteArray()));
+        scores.skipNBytes(4 + 4 + 4 * 8);
+        assertThat(scores.readInt(), is(3));
+        assertThat(scores.readNBytes(3), is(new byte[]{ArrayExporter.LONG, ArrayExporter.LONG, ArrayExporter.LONG}));
+        assertThat(scores.readLong(), is(88L));
+
+        DataInputStream prices = new DataInputStream(new ByteArrayInputStream(columns.get("price").toByteArray()));
+        prices.skipNBytes(4 + 4);
+        assertThat(prices.readDouble(), is(12.5));
+        assertThat(exporter.getRowCount(), is(7L));
+    }
+
+    @Test
+    void shouldProfileDocumentShapeInOnePass() throws Exception {
+        DocumentProfile profile;
+        try (ReadJsonProcessor readingProcessor = JsonProcessorBuilder.initProcessor(getRecordsFile())) {
+            profile = readingProcessor.profile();
+        }
+
+        PathProfile records = profile.get("$.records").orElseThrow();
+        PathProfile prices = profile.get("$.records[].price").orElseThrow();
+        PathProfile username = profile.get("$.owner.username").orElseThrow();
+
+        assertThat(profile.getPaths().size(), is(11));
+        assertThat(profile.getMaxDepth(), is(3));
+        assertThat(records.getArrayCount(), is(1L));
+        assertThat(records.getMaxLength(), is(7L));
+        assertThat(records.getLengthHistogram(), is(Map.of(4L, 1L)));
+        assertThat(prices.getCount(), is(7L));
+        assertThat(prices.getDepth(), is(3));
+        assertThat(prices.getTypes(), is(Map.of(PathProfile.ValueType.FLOAT, 7L)));
+        assertThat(username.getMinBytes(), is(7L));
+        assertThat(profile.get("$").orElseThrow().getTypes(), is(Map.of(PathProfile.ValueType.OBJECT, 1L)));
+    }
+
+    @Test
+    void shouldStopTrackingPathsOnceTheLimitIsReached() throws Exception {
+        DocumentProfile profile;
+        try (ReadJsonProcessor readingProcessor = JsonProcessorBuilder.initProcessor(getRecordsFile())) {
+            profile = readingProcessor.profile(3);
+        }
+
+        assertThat(profile.getPaths().stream().map(PathProfile::getPath).collect(Collectors.toList()),
+                contains("$", "$.id", "$.owner"));
+        assertThat(profile.isTruncated(), is(true));
+        assertThat(profile.getUntrackedCount(), is(38L));
+    }
+
+    @Test
+    void shouldReadAllPathsInOnePassRegardlessOfOrder() throws Exception {
+        List<MyRecord> records = new ArrayList<>();
+        AtomicReference<RecordsOwner> owner = new AtomicReference<>();
+
+        try (ReadJsonProcessor readingProcessor = JsonProcessorBuilder.initProcessor(getRecordsFile())) {
+            readingProcessor.read(List.of(
+                    PathReader.forEach(RECORDS_ARRAY_PATH, MyRecord.class, records::add),
+                    PathReader.value(OWNER_PATH, RecordsOwner.class, owner::set)
+            ));
+
+            assertThat(readingProcessor.hasNext(), is(false));
+        }
+
+        assertThat(records, hasSize(7));
+        assertThat(records.get(4).getId(), is("r4"));
+        assertThat(owner.get().getUsername(), is("admin"));
+    }
+
+    @SneakyThrows
+    private static List<String> sampleIds(Sampler sampler) {
+        try (ReadJsonProcessor readingProcessor = JsonProcessorBuilder.initProcessor(getRecordsFile())) {
+            return readingProcessor.sample(RECORDS_ARRAY_PATH, MyRecord.class, sampler).stream()
+                    .map(MyRecord::getId)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    @SneakyThrows
+    private static String write(ObjectMapper mapper, Checkpoint checkpoint) {
+        return mapper.writeValueAsString(checkpoint);
+    }
+
+}
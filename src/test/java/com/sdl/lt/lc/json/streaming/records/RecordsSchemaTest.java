@@ -0,0 +1,110 @@
+package com.sdl.lt.lc.json.streaming.records;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sdl.lt.lc.json.streaming.JsonProcessorBuilder;
+import com.sdl.lt.lc.json.streaming.JsonSchema;
+import com.sdl.lt.lc.json.streaming.JsonVisitor;
+import com.sdl.lt.lc.json.streaming.ReadJsonProcessor;
+import com.sdl.lt.lc.json.streaming.SchemaValidation;
+import com.sdl.lt.lc.json.streaming.SchemaValidationException;
+import com.sdl.lt.lc.json.streaming.SchemaViolation;
+import com.sdl.lt.lc.json.streaming.VisitJsonProcessor;
+import com.sdl.lt.lc.json.streaming.matchers.PathMatcher;
+import com.sdl.lt.lc.json.streaming.matchers.PathMatcherBuilder;
+import com.sdl.lt.lc.json.streaming.records.model.MyRecord;
+import com.sdl.lt.lc.json.streaming.records.model.MyRecords;
+import com.sdl.lt.lc.json.streaming.utils.TestUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Iterator;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author anegruti
+ * @since 12/9/2022
+ */
+class RecordsSchemaTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final PathMatcher RECORDS_ARRAY_PATH = PathMatcherBuilder.builder()
+            .field("records").startArray()
+            .build();
+
+    @Test
+    void shouldCollectViolationsWhileVisiting() throws Exception {
+        JsonSchema schema = JsonSchema.compile(MAPPER.readTree("{" +
+                "\"type\": \"object\"," +
+                "\"required\": [\"id\", \"owner\", \"version\"]," +
+                "\"properties\": {" +
+                "  \"id\": {\"type\": \"string\", \"pattern\": \"^[0-9a-f-]{36}$\"}," +
+                "  \"owner\": {\"type\": \"object\", \"properties\": {\"username\": {\"minLength\": 6}}}," +
+                "  \"records\": {\"type\": \"array\", \"maxItems\": 10, \"items\": {" +
+                "    \"required\": [\"id\", \"score\"]," +
+                "    \"additionalProperties\": {\"type\": [\"string\", \"number\"]}," +
+                "    \"properties\": {" +
+                "      \"category\": {\"enum\": [\"books\", \"music\"]}," +
+                "      \"score\": {\"type\": \"integer\", \"minimum\": 0}," +
+                "      \"price\": {\"type\": \"number\", \"exclusiveMaximum\": 50}" +
+                "    }" +
+                "  }}" +
+                "}" +
+                "}"));
+        SchemaValidation validation = schema.collectErrors();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        JsonProcessorBuilder builder = JsonProcessorBuilder.initBuilder(
+                TestUtils.getFileFromResources("records.json"), outputStream, MAPPER, validation
+        );
+
+        try (VisitJsonProcessor visitingProcessor = builder.build()) {
+            visitingProcessor.visit(JsonVisitor.withTransformer(
+                    builder.filterEach(RECORDS_ARRAY_PATH, MyRecord.class, r -> r.getScore() > 10)
+            ));
+        }
+
+        assertThat(validation.isValid(), is(false));
+        assertThat(validation.getViolations().stream().map(v -> v.getPointer() + " " + v.getKeyword()).collect(Collectors.toList()),
+                contains("/owner/username minLength", "/records/4/category enum", "/records/4/price exclusiveMaximum", " required"));
+        assertThat(TestUtils.deserialize(outputStream, MyRecords.class).getRecords(), hasSize(4));
+    }
+
+    @Test
+    void shouldFailFastWhileReading() throws Exception {
+        JsonSchema schema = JsonSchema.compile(MAPPER.readTree("{\"properties\": {\"records\": {\"items\": {" +
+                "\"properties\": {\"score\": {\"maximum\": 40}}" +
+                "}}}}"));
+
+        try (ReadJsonProcessor readingProcessor = JsonProcessorBuilder.initProcessor(
+                TestUtils.getFileFromResources("records.json"), MAPPER, schema.failFast())) {
+            Iterator<MyRecord> records = readingProcessor.readValues(RECORDS_ARRAY_PATH, MyRecord.class);
+
+            SchemaValidationException exception = assertThrows(SchemaValidationException.class, () -> {
+                while (records.hasNext()) {
+                    records.next();
+                }
+            });
+            SchemaViolation violation = exception.getViolation();
+
+            assertThat(violation.getPointer(), is("/records/0/score"));
+            assertThat(violation.getKeyword(), is("maximum"));
+        }
+    }
+
+    @Test
+    void shouldRejectUnsupportedKeywords() {
+        assertThrows(UnsupportedOperationException.class, () -> JsonSchema.compile(MAPPER.readTree(
+                "{\"properties\": {\"owner\": {\"$ref\": \"#/definitions/owner\"}}}"
+        )));
+        assertThrows(UnsupportedOperationException.class, () -> JsonSchema.compile(MAPPER.readTree(
+                "{\"enum\": [{\"id\": 1}]}"
+        )));
+        assertThrows(IllegalArgumentException.class, () -> JsonSchema.compile(MAPPER.readTree(
+                "{\"type\": \"date\"}"
+        )));
+    }
+
+}
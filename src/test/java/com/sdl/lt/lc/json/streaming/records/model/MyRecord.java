@@ -0,0 +1,17 @@
+package com.sdl.lt.lc.json.streaming.records.model;
+
+import lombok.Data;
+
+/**
+ * @author anegruti
+ * @since 11/7/2022
+ */
+@Data
+public class MyRecord {
+
+    private String id;
+    private String category;
+    private Integer score;
+    private Double price;
+
+}
@@ -0,0 +1,18 @@
+package com.sdl.lt.lc.json.streaming.records.model;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * @author anegruti
+ * @since 11/7/2022
+ */
+@Data
+public class MyRecords {
+
+    private String id;
+    private RecordsOwner owner;
+    private List<MyRecord> records;
+
+}
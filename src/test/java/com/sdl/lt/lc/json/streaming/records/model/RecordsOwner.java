@@ -0,0 +1,15 @@
+package com.sdl.lt.lc.json.streaming.records.model;
+
+import lombok.Data;
+
+/**
+ * @author anegruti
+ * @since 11/7/2022
+ */
+@Data
+public class RecordsOwner {
+
+    private String id;
+    private String username;
+
+}
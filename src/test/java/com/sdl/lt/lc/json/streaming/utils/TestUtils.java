@@ -7,6 +7,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.InputStream;
 import java.nio.file.Files;
+import java.nio.file.Path;
 
 /**
  * @author anegruti
@@ -23,6 +24,10 @@ public class TestUtils {
         return Files.newInputStream(initialFile.toPath());
     }
 
+    public static Path getPathFromResources(String fileName) {
+        return Path.of(RESOURCES_PATH + fileName);
+    }
+
     @SneakyThrows
     public static <T> T deserialize(ByteArrayOutputStream stream, Class<T> clazz) {
         return MAPPER.readValue(stream.toByteArray(), clazz);